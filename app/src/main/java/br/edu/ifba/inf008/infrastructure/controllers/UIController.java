@@ -11,6 +11,7 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import javafx.application.Application;
 import javafx.geometry.Insets;
@@ -32,6 +33,7 @@ public class UIController extends Application implements IUIController {
     private static UIController uiController = new UIController();
 
     private final Map<String, Supplier<Node>> lazyTabContents = new HashMap<>();
+    private final Map<String, Image> iconImages = new ConcurrentHashMap<>();
 
     private SidebarComponent sidebar;
     private VBox centerContent;
@@ -109,35 +111,53 @@ public class UIController extends Application implements IUIController {
         }
     }
 
+    /**
+     * Loads an icon as a 16x16 image view. The image of each icon is decoded once and shared by
+     * the views created afterwards, so icons requested repeatedly, such as those of table actions,
+     * are not read from the class path again.
+     *
+     * @param path the path of the icon
+     * @return a new image view of the icon, or of the fallback icon if it was not found
+     */
     @Override
     public ImageView loadIcon(String path) {
-        ImageView fallbackIcon = createIconFromPath(Icons.HOUSE, getClass().getClassLoader());
+        ImageView view = new ImageView(iconImages.computeIfAbsent(path, this::loadIconImage));
+        view.setFitWidth(16);
+        view.setFitHeight(16);
+        view.setPreserveRatio(true);
+        view.setSmooth(true);
 
-        if (fallbackIcon == null) {
-            throw new RuntimeException("Fallback icon not found: " + Icons.HOUSE);
-        }
+        return view;
+    }
 
-        ImageView icon = createIconFromPath(path, getClass().getClassLoader());
+    private Image loadIconImage(String path) {
+        Image image = loadImageFromPath(path, getClass().getClassLoader());
 
-        if (icon != null) {
-            return icon;
+        if (image != null) {
+            return image;
         }
 
         for (ClassLoader pluginClassLoader : Core.getInstance().getPluginController()
                 .getPluginClassLoaders()) {
-            icon = createIconFromPath(path, pluginClassLoader);
+            image = loadImageFromPath(path, pluginClassLoader);
 
-            if (icon != null) {
-                return icon;
+            if (image != null) {
+                return image;
             }
         }
 
         System.err.println("Failed to load icon from all classloaders: " + path);
 
-        return fallbackIcon;
+        Image fallbackImage = loadImageFromPath(Icons.HOUSE, getClass().getClassLoader());
+
+        if (fallbackImage == null) {
+            throw new RuntimeException("Fallback icon not found: " + Icons.HOUSE);
+        }
+
+        return fallbackImage;
     }
 
-    private ImageView createIconFromPath(String path, ClassLoader loader) {
+    private Image loadImageFromPath(String path, ClassLoader loader) {
         String correctedPath = correctClassLoaderPath(path);
 
         try (InputStream iconStream = loader.getResourceAsStream(correctedPath)) {
@@ -145,14 +165,7 @@ public class UIController extends Application implements IUIController {
                 return null;
             }
 
-            Image image = new Image(iconStream, 0, 0, true, true);
-            ImageView view = new ImageView(image);
-            view.setFitWidth(16);
-            view.setFitHeight(16);
-            view.setPreserveRatio(true);
-            view.setSmooth(true);
-
-            return view;
+            return new Image(iconStream, 0, 0, true, true);
         } catch (Exception e) {
             System.err.println("[" + loader.getClass().getSimpleName() + "] Error loading icon: "
                     + correctedPath + " - " + e.getMessage());
@@ -0,0 +1,96 @@
+package br.edu.ifba.inf008.infrastructure.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import br.edu.ifba.inf008.core.ui.Icons;
+import com.sun.management.ThreadMXBean;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the bytes allocated by the current thread while loading icons, so that the decoded
+ * images keep being shared between the views returned for the same icon. Decoding images needs
+ * the JavaFX toolkit, so these tests are skipped where it cannot be started.
+ */
+public class UIControllerAllocationTest {
+
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int ITERATIONS = 1_000;
+
+    private static final ThreadMXBean THREAD_MX_BEAN =
+            (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Object sink;
+
+    @BeforeAll
+    static void startToolkit() {
+        try {
+            Platform.startup(() -> {
+            });
+        } catch (IllegalStateException e) {
+            // The toolkit was already started by another test.
+        } catch (RuntimeException e) {
+            assumeTrue(false, "JavaFX toolkit is not available: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void loadIcon_ShouldShareDecodedImageBetweenViews() {
+        UIController controller = new UIController();
+
+        ImageView first = controller.loadIcon(Icons.HOUSE);
+        ImageView second = controller.loadIcon(Icons.HOUSE);
+
+        assertThat(first).isNotSameAs(second);
+        assertThat(second.getImage()).isSameAs(first.getImage());
+    }
+
+    @Test
+    void loadIcon_ShouldAllocateLessThanDecodingTheIcon() {
+        UIController controller = new UIController();
+
+        long loadIcon = allocatedBytesPerCall(() -> controller.loadIcon(Icons.HOUSE));
+        long decodeIcon = allocatedBytesPerCall(() -> decode(Icons.HOUSE));
+
+        assertThat(loadIcon).isLessThan(decodeIcon);
+    }
+
+    private static Image decode(String path) {
+        try (InputStream stream = UIControllerAllocationTest.class.getResourceAsStream(path)) {
+            return new Image(stream, 0, 0, true, true);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read icon " + path, e);
+        }
+    }
+
+    /**
+     * Calls the given action repeatedly after a warmup, keeping its results reachable so that they
+     * are not optimized away.
+     *
+     * @param action the action to measure
+     * @return the average number of bytes allocated by a call
+     */
+    private long allocatedBytesPerCall(Supplier<?> action) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = action.get();
+        }
+
+        long threadId = Thread.currentThread().threadId();
+        long before = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = action.get();
+        }
+
+        return (THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+
+}
@@ -0,0 +1,71 @@
+package br.edu.ifba.inf008.core.domain.models;
+
+import java.util.List;
+
+/**
+ * Represents the outcome of a batch operation. This record holds one item per submitted request, in
+ * the order they were submitted; failed items do not prevent the others from being applied.
+ *
+ * @param items The outcome of every request of the batch.
+ * @param <I>   The type of the requests.
+ * @param <R>   The type of the results of successful requests.
+ */
+public record BatchResult<I, R>(List<Item<I, R>> items) {
+
+    public BatchResult {
+        items = List.copyOf(items);
+    }
+
+    /**
+     * Gets the results of the requests that succeeded.
+     *
+     * @return the results, in submission order
+     */
+    public List<R> succeeded() {
+        return items.stream().filter(Item::isSuccess).map(Item::result).toList();
+    }
+
+    /**
+     * Gets the items of the requests that failed.
+     *
+     * @return the failed items, in submission order
+     */
+    public List<Item<I, R>> failed() {
+        return items.stream().filter(item -> !item.isSuccess()).toList();
+    }
+
+    /**
+     * Checks whether any request of the batch failed.
+     *
+     * @return true if at least one request failed, false otherwise
+     */
+    public boolean hasFailures() {
+        return items.stream().anyMatch(item -> !item.isSuccess());
+    }
+
+    /**
+     * Represents the outcome of a single request of a batch.
+     *
+     * @param request The submitted request.
+     * @param result  The result of the request, or null if it failed.
+     * @param error   The reason the request failed, or null if it succeeded.
+     * @param <I>     The type of the request.
+     * @param <R>     The type of the result.
+     */
+    public record Item<I, R>(I request, R result, Exception error) {
+
+        public static <I, R> Item<I, R> success(I request, R result) {
+            return new Item<>(request, result, null);
+        }
+
+        public static <I, R> Item<I, R> failure(I request, Exception error) {
+            return new Item<>(request, null, error);
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+    }
+
+}
@@ -0,0 +1,27 @@
+package br.edu.ifba.inf008.core.domain.models;
+
+/**
+ * Represents a snapshot of a second-level cache region. This record holds the number of hits,
+ * misses and puts recorded for the region, as well as the number of entries it currently holds.
+ *
+ * @param region        The name of the cache region.
+ * @param hitCount      The number of lookups served by the region.
+ * @param missCount     The number of lookups that had to go to the database.
+ * @param putCount      The number of entries put into the region.
+ * @param elementCount  The number of entries currently held by the region, or -1 if unknown.
+ */
+public record CacheStatistics(String region, long hitCount, long missCount, long putCount,
+                              long elementCount) {
+
+    /**
+     * Computes the fraction of lookups served by the region.
+     *
+     * @return A value between 0 and 1 representing the hit ratio.
+     */
+    public double hitRatio() {
+        long lookups = hitCount + missCount;
+
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+}
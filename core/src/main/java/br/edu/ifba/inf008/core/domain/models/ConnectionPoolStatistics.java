@@ -0,0 +1,27 @@
+package br.edu.ifba.inf008.core.domain.models;
+
+/**
+ * Represents a snapshot of the JDBC connection pool state. This record holds the number of active,
+ * idle and total connections, as well as the number of threads waiting for a connection.
+ *
+ * @param activeConnections  The number of connections currently in use.
+ * @param idleConnections    The number of connections idle in the pool.
+ * @param totalConnections   The total number of connections in the pool.
+ * @param awaitingThreads    The number of threads waiting for a connection.
+ * @param minimumIdle        The configured minimum number of idle connections.
+ * @param maximumPoolSize    The configured maximum size of the pool.
+ */
+public record ConnectionPoolStatistics(int activeConnections, int idleConnections,
+                                       int totalConnections, int awaitingThreads,
+                                       int minimumIdle, int maximumPoolSize) {
+
+    /**
+     * Computes the pool utilization as the fraction of the maximum pool size currently in use.
+     *
+     * @return A value between 0 and 1 representing the pool utilization.
+     */
+    public double utilization() {
+        return maximumPoolSize == 0 ? 0 : (double) activeConnections / maximumPoolSize;
+    }
+
+}
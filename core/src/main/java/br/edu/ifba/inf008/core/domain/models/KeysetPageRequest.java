@@ -0,0 +1,116 @@
+package br.edu.ifba.inf008.core.domain.models;
+
+/**
+ * Represents a request for keyset (seek) paginated data. Instead of skipping a number of rows, the
+ * page is located by the key of the last (or first) element already seen, so deep pages cost the
+ * same as the first one.
+ * <p>
+ * Unsorted requests are ordered by identifier and their cursors are identifiers. Sorted requests
+ * are ordered by the sort property and then by identifier, and their cursors are {@link Cursor}
+ * instances holding both values. Elements whose sort property is null come before the others in
+ * ascending order, and after them in descending order.
+ * <p>
+ * Counting the matching elements costs as much as a full scan of them, so callers that already know
+ * the total, typically from the first page, pass it along and the following pages skip the count.
+ * Like {@link PageRequest}, a request can ask for its queries to use the query cache.
+ *
+ * @param cursor     The key to seek from, or null to start at the first page.
+ * @param backward   Whether to read the page preceding the cursor instead of the following one.
+ * @param limit      The maximum number of items to return per page.
+ * @param sort       The ordering to apply, or null to order by identifier.
+ * @param knownTotal The total number of elements reported with a previous page, returned as is
+ *                   instead of being counted again, or a negative value when it is not known.
+ * @param cacheable  Whether the queries reading the page may be served from and stored in the
+ *                   query cache region of the repository.
+ */
+public record KeysetPageRequest(Object cursor, boolean backward, int limit, Sort sort,
+                                long knownTotal, boolean cacheable) {
+
+    public KeysetPageRequest(Object cursor, boolean backward, int limit) {
+        this(cursor, backward, limit, null);
+    }
+
+    public KeysetPageRequest(Object cursor, boolean backward, int limit, Sort sort) {
+        this(cursor, backward, limit, sort, -1);
+    }
+
+    public KeysetPageRequest(Object cursor, boolean backward, int limit, Sort sort,
+            long knownTotal) {
+        this(cursor, backward, limit, sort, knownTotal, false);
+    }
+
+    /**
+     * Creates a request for the first page.
+     *
+     * @param limit The maximum number of items to return per page.
+     * @return A new KeysetPageRequest instance.
+     */
+    public static KeysetPageRequest first(int limit) {
+        return new KeysetPageRequest(null, false, limit);
+    }
+
+    /**
+     * Creates a request for the page following the given cursor.
+     *
+     * @param cursor The key of the last element of the current page.
+     * @param limit  The maximum number of items to return per page.
+     * @return A new KeysetPageRequest instance.
+     */
+    public static KeysetPageRequest after(Object cursor, int limit) {
+        return new KeysetPageRequest(cursor, false, limit);
+    }
+
+    /**
+     * Creates a request for the page preceding the given cursor.
+     *
+     * @param cursor The key of the first element of the current page.
+     * @param limit  The maximum number of items to return per page.
+     * @return A new KeysetPageRequest instance.
+     */
+    public static KeysetPageRequest before(Object cursor, int limit) {
+        return new KeysetPageRequest(cursor, true, limit);
+    }
+
+    /**
+     * Creates a copy of this request using the given ordering.
+     *
+     * @param sort The ordering to apply, or null to order by identifier.
+     * @return A new KeysetPageRequest instance.
+     */
+    public KeysetPageRequest withSort(Sort sort) {
+        return new KeysetPageRequest(cursor, backward, limit, sort, knownTotal, cacheable);
+    }
+
+    /**
+     * Creates a copy of this request carrying the total number of elements already known, so that
+     * the page is read without counting them again.
+     *
+     * @param knownTotal The known total number of elements, or a negative value to count them.
+     * @return A new KeysetPageRequest instance.
+     */
+    public KeysetPageRequest withKnownTotal(long knownTotal) {
+        return new KeysetPageRequest(cursor, backward, limit, sort, knownTotal, cacheable);
+    }
+
+    /**
+     * Creates a copy of this request whose queries may be served from the query cache.
+     *
+     * @param cacheable Whether the queries reading the page may use the query cache.
+     * @return A new KeysetPageRequest instance.
+     */
+    public KeysetPageRequest withCacheable(boolean cacheable) {
+        return new KeysetPageRequest(cursor, backward, limit, sort, knownTotal, cacheable);
+    }
+
+    /**
+     * Key of an element in a sorted keyset page, made of the value of the sort property and the
+     * identifier used to break ties.
+     *
+     * @param value The value of the sort property.
+     * @param id    The identifier of the element.
+     */
+    public record Cursor(Object value, Object id) {
+
+    }
+
+}
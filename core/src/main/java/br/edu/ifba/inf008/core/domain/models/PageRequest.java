@@ -1,13 +1,40 @@
 package br.edu.ifba.inf008.core.domain.models;
 
+import java.util.List;
+
 /**
- * Represents a request for paginated data. This record holds the page number and the limit of items
- * per page.
+ * Represents a request for paginated data. This record holds the page number, the limit of items
+ * per page and the orderings applied before paging. Callers that already know the total number of
+ * elements, for instance from the page on screen, can pass it along so it is not counted again.
+ * Callers reading pages that are displayed repeatedly can ask for them to be kept in the query
+ * cache of the repository.
  *
- * @param page  The page number to retrieve (0-based index).
- * @param limit The maximum number of items to return per page.
+ * @param page       The page number to retrieve (0-based index).
+ * @param limit      The maximum number of items to return per page.
+ * @param sort       The orderings to apply, in priority order. Empty for the natural order.
+ * @param knownTotal The total number of elements reported with a previous page, returned as is
+ *                   instead of being counted again, or a negative value when it is not known.
+ * @param cacheable  Whether the queries reading the page may be served from and stored in the
+ *                   query cache region of the repository.
  */
-public record PageRequest(int page, int limit) {
+public record PageRequest(int page, int limit, List<Sort> sort, long knownTotal,
+                          boolean cacheable) {
+
+    public PageRequest {
+        sort = sort == null ? List.of() : List.copyOf(sort);
+    }
+
+    public PageRequest(int page, int limit) {
+        this(page, limit, List.of());
+    }
+
+    public PageRequest(int page, int limit, List<Sort> sort) {
+        this(page, limit, sort, -1);
+    }
+
+    public PageRequest(int page, int limit, List<Sort> sort, long knownTotal) {
+        this(page, limit, sort, knownTotal, false);
+    }
 
     /**
      * Creates a new PageRequest instance.
@@ -20,4 +47,37 @@ public record PageRequest(int page, int limit) {
         return new PageRequest(page, limit);
     }
 
+    /**
+     * Creates a new sorted PageRequest instance.
+     *
+     * @param page  The page number to retrieve (0-based index).
+     * @param limit The maximum number of items to return per page.
+     * @param sort  The orderings to apply, in priority order.
+     * @return A new PageRequest instance.
+     */
+    public static PageRequest of(int page, int limit, List<Sort> sort) {
+        return new PageRequest(page, limit, sort);
+    }
+
+    /**
+     * Creates a copy of this request carrying the total number of elements already known, so that
+     * the page is read without counting them again.
+     *
+     * @param knownTotal The known total number of elements, or a negative value to count them.
+     * @return A new PageRequest instance.
+     */
+    public PageRequest withKnownTotal(long knownTotal) {
+        return new PageRequest(page, limit, sort, knownTotal, cacheable);
+    }
+
+    /**
+     * Creates a copy of this request whose queries may be served from the query cache.
+     *
+     * @param cacheable Whether the queries reading the page may use the query cache.
+     * @return A new PageRequest instance.
+     */
+    public PageRequest withCacheable(boolean cacheable) {
+        return new PageRequest(page, limit, sort, knownTotal, cacheable);
+    }
+
 }
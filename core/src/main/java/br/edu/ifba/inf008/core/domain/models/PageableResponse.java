@@ -5,7 +5,7 @@ import java.util.Collection;
 /**
  * Represents a paginated response containing a collection of items. This class encapsulates the
  * pagination details such as page number, size, total elements, and the content of the current
- * page.
+ * page. Keyset paginated responses also carry the cursors of the previous and next pages.
  *
  * @param <T> The type of items in the paginated response.
  */
@@ -15,12 +15,21 @@ public class PageableResponse<T> {
     private final int size;
     private final long totalElements;
     private final Collection<T> content;
+    private final Object previousCursor;
+    private final Object nextCursor;
 
     public PageableResponse(int page, int size, long totalElements, Collection<T> content) {
+        this(page, size, totalElements, content, null, null);
+    }
+
+    public PageableResponse(int page, int size, long totalElements, Collection<T> content,
+            Object previousCursor, Object nextCursor) {
         this.page = page;
         this.size = size;
         this.totalElements = totalElements;
         this.content = content;
+        this.previousCursor = previousCursor;
+        this.nextCursor = nextCursor;
     }
 
     public int getPage() {
@@ -39,6 +48,24 @@ public class PageableResponse<T> {
         return content;
     }
 
+    /**
+     * Gets the cursor to request the previous page with keyset pagination.
+     *
+     * @return the cursor of the previous page, or null if there is no previous page
+     */
+    public Object getPreviousCursor() {
+        return previousCursor;
+    }
+
+    /**
+     * Gets the cursor to request the next page with keyset pagination.
+     *
+     * @return the cursor of the next page, or null if there is no next page
+     */
+    public Object getNextCursor() {
+        return nextCursor;
+    }
+
 
     @Override
     public String toString() {
@@ -47,6 +74,8 @@ public class PageableResponse<T> {
                 ", size=" + size +
                 ", totalElements=" + totalElements +
                 ", content=" + content +
+                ", previousCursor=" + previousCursor +
+                ", nextCursor=" + nextCursor +
                 '}';
     }
 }
@@ -0,0 +1,39 @@
+package br.edu.ifba.inf008.core.domain.models;
+
+/**
+ * Represents an ordering applied to a query. This record holds the name of the property to sort by
+ * and the direction of the ordering.
+ *
+ * @param property  The name of the property to sort by.
+ * @param direction The direction of the ordering.
+ */
+public record Sort(String property, Direction direction) {
+
+    /**
+     * Creates a new ascending Sort instance.
+     *
+     * @param property The name of the property to sort by.
+     * @return A new ascending Sort instance.
+     */
+    public static Sort asc(String property) {
+        return new Sort(property, Direction.ASC);
+    }
+
+    /**
+     * Creates a new descending Sort instance.
+     *
+     * @param property The name of the property to sort by.
+     * @return A new descending Sort instance.
+     */
+    public static Sort desc(String property) {
+        return new Sort(property, Direction.DESC);
+    }
+
+    /**
+     * Directions in which a property can be sorted.
+     */
+    public enum Direction {
+        ASC, DESC
+    }
+
+}
@@ -0,0 +1,52 @@
+package br.edu.ifba.inf008.core.infrastructure.components;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * ChangeNotifierComponent keeps the listeners interested in the writes of a service, such as the
+ * tables caching the pages it returned, and notifies them once a write has been committed.
+ * Listeners are run on the thread that committed the write, so they must be thread-safe.
+ */
+public class ChangeNotifierComponent {
+
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Adds a listener to be notified of every committed write.
+     *
+     * @param listener the listener to add
+     * @throws IllegalArgumentException if the listener is null
+     */
+    public void addListener(Runnable listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener previously added.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Notifies every listener of a committed write. A failing listener does not prevent the others
+     * from being notified.
+     */
+    public void notifyListeners() {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                System.err.println("Error notifying change listener: " + e.getMessage());
+            }
+        }
+    }
+
+}
@@ -1,16 +1,32 @@
 package br.edu.ifba.inf008.core.infrastructure.managers;
 
 import br.edu.ifba.inf008.core.ICore;
+import br.edu.ifba.inf008.core.domain.models.CacheStatistics;
+import br.edu.ifba.inf008.core.domain.models.ConnectionPoolStatistics;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 import org.hibernate.boot.MetadataBuilder;
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
 import org.hibernate.boot.registry.classloading.internal.AggregatedClassLoader;
 import org.hibernate.boot.registry.classloading.internal.TcclLookupPrecedence;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 
 /**
  * HibernateManager is responsible for managing the Hibernate SessionFactory and providing methods
@@ -18,15 +34,29 @@ import org.hibernate.boot.registry.classloading.internal.TcclLookupPrecedence;
  */
 public class HibernateManager {
 
+    /**
+     * Prefixes of the settings that may be overridden per deployment. System properties with one
+     * of these prefixes override the values declared in hibernate.cfg.xml.
+     */
+    private static final List<String> OVERRIDABLE_SETTINGS_PREFIXES = List.of(
+            "hibernate.hikari.", "hibernate.cache.", "hibernate.javax.cache.");
+
     private static final List<Class<?>> entityClasses = new ArrayList<>();
-    private static SessionFactory sessionFactory;
+    private static final Map<String, Object> settings = new HashMap<>();
+    private static final List<Runnable> sessionFactoryCallbacks = new ArrayList<>();
+    private static volatile SessionFactory sessionFactory;
 
     /**
      * Builds the Hibernate SessionFactory using the registered entity classes. This method should
      * be called before obtaining any sessions.
      */
     public static void buildSessionFactory() {
-        StandardServiceRegistry registry = new StandardServiceRegistryBuilder().configure().build();
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder().configure()
+                .applySettings(settings)
+                .applySettings(getSettingsOverrides())
+                .build();
+
+        migrateSchema(registry);
 
         MetadataSources metadataSources = new MetadataSources(registry);
 
@@ -45,7 +75,59 @@ public class HibernateManager {
             System.out.println("Registered entity class: " + entity.getName());
         }
 
-        sessionFactory = metadataBuilder.build().buildSessionFactory();
+        List<Runnable> callbacks;
+
+        synchronized (sessionFactoryCallbacks) {
+            sessionFactory = metadataBuilder.build().buildSessionFactory();
+
+            callbacks = List.copyOf(sessionFactoryCallbacks);
+            sessionFactoryCallbacks.clear();
+        }
+
+        callbacks.forEach(Runnable::run);
+    }
+
+    /**
+     * Runs the given callback once the session factory is built, or right away if it already is.
+     * Plugins are initialized before the session factory is built, so work that reads the database
+     * when a plugin starts, such as warming a cache or scheduling a job, is registered here.
+     *
+     * @param callback the callback to run with the session factory available
+     */
+    public static void whenSessionFactoryBuilt(Runnable callback) {
+        synchronized (sessionFactoryCallbacks) {
+            if (sessionFactory == null) {
+                sessionFactoryCallbacks.add(callback);
+
+                return;
+            }
+        }
+
+        callback.run();
+    }
+
+    /**
+     * Applies the pending schema migrations using a connection of the given registry, before
+     * Hibernate validates the schema.
+     *
+     * @param registry the service registry providing the connections
+     */
+    private static void migrateSchema(StandardServiceRegistry registry) {
+        ConnectionProvider connectionProvider = registry.getService(ConnectionProvider.class);
+
+        try {
+            Connection connection = connectionProvider.getConnection();
+
+            try {
+                MigrationManager.migrate(connection);
+            } finally {
+                connectionProvider.closeConnection(connection);
+            }
+        } catch (SQLException e) {
+            StandardServiceRegistryBuilder.destroy(registry);
+
+            throw new IllegalStateException("Could not migrate the database schema.", e);
+        }
     }
 
     /**
@@ -60,6 +142,16 @@ public class HibernateManager {
         }
     }
 
+    /**
+     * Enables or disables the second-level entity cache. This method must be called before the
+     * session factory is built; system properties still take precedence over it.
+     *
+     * @param enabled whether cacheable entities should be kept in the second-level cache
+     */
+    public static void setSecondLevelCacheEnabled(boolean enabled) {
+        settings.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+    }
+
     /**
      * Shuts down the Hibernate SessionFactory, releasing all resources. This method should be
      * called when the application is shutting down.
@@ -85,6 +177,136 @@ public class HibernateManager {
         return sessionFactory.openSession();
     }
 
+    /**
+     * Obtains a new Hibernate stateless session from the SessionFactory. Stateless sessions keep no
+     * persistence context, so they are suited to reading large result sets in constant memory.
+     *
+     * @return a new Hibernate StatelessSession
+     */
+    public static StatelessSession getStatelessSession() {
+        if (sessionFactory == null) {
+            throw new IllegalStateException(
+                    "SessionFactory has not been built. Call buildSessionFactory() first.");
+        }
+
+        return sessionFactory.openStatelessSession();
+    }
+
+    /**
+     * Begins a unit of work bound to the current thread, or joins the one already open. Every
+     * repository call made while it is open shares its session and transaction.
+     *
+     * @return the unit of work to be committed and closed by the caller
+     */
+    public static UnitOfWork beginUnitOfWork() {
+        return UnitOfWork.begin(HibernateManager::getSession);
+    }
+
+    /**
+     * Runs the given work inside a single session and transaction. The transaction is committed
+     * when the work completes and rolled back if it throws.
+     *
+     * @param work the work to run with the shared session
+     * @param <R>  the type of the result
+     * @return the result of the work
+     */
+    public static <R> R inTransaction(Function<Session, R> work) {
+        try (UnitOfWork unitOfWork = beginUnitOfWork()) {
+            R result = work.apply(unitOfWork.getSession());
+
+            unitOfWork.commit();
+
+            return result;
+        }
+    }
+
+    /**
+     * Gets a snapshot of the JDBC connection pool state. Statistics are only available when the
+     * session factory is built with the HikariCP connection provider.
+     *
+     * @return an Optional containing the pool statistics, or empty if no pool is available
+     */
+    public static Optional<ConnectionPoolStatistics> getConnectionPoolStatistics() {
+        if (sessionFactory == null) {
+            return Optional.empty();
+        }
+
+        ConnectionProvider connectionProvider = sessionFactory.unwrap(
+                SessionFactoryImplementor.class).getServiceRegistry().getService(
+                ConnectionProvider.class);
+
+        if (connectionProvider == null || !connectionProvider.isUnwrappableAs(
+                HikariDataSource.class)) {
+            return Optional.empty();
+        }
+
+        HikariDataSource dataSource = connectionProvider.unwrap(HikariDataSource.class);
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+
+        if (pool == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new ConnectionPoolStatistics(
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getTotalConnections(),
+                pool.getThreadsAwaitingConnection(),
+                dataSource.getMinimumIdle(),
+                dataSource.getMaximumPoolSize()
+        ));
+    }
+
+    /**
+     * Gets a snapshot of every second-level cache region. Statistics are only collected when
+     * {@code hibernate.generate_statistics} is enabled.
+     *
+     * @return the statistics of each cache region, or an empty list if none are available
+     */
+    public static List<CacheStatistics> getCacheStatistics() {
+        if (sessionFactory == null || !sessionFactory.getStatistics().isStatisticsEnabled()) {
+            return List.of();
+        }
+
+        Statistics statistics = sessionFactory.getStatistics();
+        List<CacheStatistics> regions = new ArrayList<>();
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(
+                    region);
+
+            regions.add(new CacheStatistics(
+                    region,
+                    regionStatistics.getHitCount(),
+                    regionStatistics.getMissCount(),
+                    regionStatistics.getPutCount(),
+                    regionStatistics.getElementCountInMemory()
+            ));
+        }
+
+        return regions;
+    }
+
+    /**
+     * Collects the overridable settings declared as system properties (for example
+     * {@code -Dhibernate.hikari.maximumPoolSize=20} or
+     * {@code -Dhibernate.cache.use_second_level_cache=false}), so the pool and the cache can be
+     * tuned per deployment without rebuilding the application.
+     *
+     * @return a map of settings overriding the ones in hibernate.cfg.xml
+     */
+    private static Map<String, Object> getSettingsOverrides() {
+        Map<String, Object> overrides = new HashMap<>();
+
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (OVERRIDABLE_SETTINGS_PREFIXES.stream().anyMatch(name::startsWith)) {
+                overrides.put(name, System.getProperty(name));
+            }
+        }
+
+        return overrides;
+    }
+
     /**
      * Gets the current Hibernate SessionFactory. This method can be used to access the
      * SessionFactory directly.
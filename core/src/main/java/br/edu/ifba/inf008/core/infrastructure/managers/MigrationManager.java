@@ -0,0 +1,148 @@
+package br.edu.ifba.inf008.core.infrastructure.managers;
+
+import br.edu.ifba.inf008.core.infrastructure.migrations.Migration;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * MigrationManager applies the versioned schema migrations registered by the modules. Applied
+ * migrations are recorded in the {@code schema_migrations} table, so starting the application
+ * against an up-to-date database runs nothing.
+ * <p>
+ * Migrations are applied before the session factory is built, so the schema is already up to date
+ * when Hibernate validates it.
+ */
+public class MigrationManager {
+
+    private static final String HISTORY_TABLE = "schema_migrations";
+
+    private static final List<Migration> migrations = new ArrayList<>();
+
+    /**
+     * Registers the migrations of a module, read from {@code migrations/<module>/V<n>.sql} on the
+     * given class loader. Modules are migrated in the order they are registered.
+     *
+     * @param module      the name of the module
+     * @param classLoader the class loader used to find the migration scripts
+     */
+    public static void registerMigrations(String module, ClassLoader classLoader) {
+        migrations.removeIf(migration -> migration.module().equals(module));
+        migrations.addAll(Migration.load(module, classLoader));
+    }
+
+    /**
+     * Applies the registered migrations that were not applied yet.
+     *
+     * @param connection the connection to the database to migrate
+     * @return the migrations applied by this call
+     * @throws SQLException if a migration fails; the failing migration is rolled back where the
+     *                      database supports transactional DDL
+     */
+    public static List<Migration> migrate(Connection connection) throws SQLException {
+        return migrate(connection, migrations);
+    }
+
+    /**
+     * Applies the given migrations that were not applied yet. Each migration is committed together
+     * with its record in the history table.
+     *
+     * @param connection the connection to the database to migrate
+     * @param migrations the migrations to apply, in order
+     * @return the migrations applied by this call
+     * @throws SQLException if a migration fails; the failing migration is rolled back where the
+     *                      database supports transactional DDL
+     */
+    public static List<Migration> migrate(Connection connection, List<Migration> migrations)
+            throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        List<Migration> applied = new ArrayList<>();
+
+        connection.setAutoCommit(false);
+
+        try {
+            createHistoryTable(connection);
+
+            Set<String> appliedVersions = findAppliedVersions(connection);
+
+            for (Migration migration : migrations) {
+                if (appliedVersions.contains(key(migration.module(), migration.version()))) {
+                    continue;
+                }
+
+                apply(connection, migration);
+                applied.add(migration);
+
+                System.out.println("Applied migration " + migration.module() + " V"
+                        + migration.version() + ": " + migration.description());
+            }
+
+            return applied;
+        } catch (SQLException e) {
+            connection.rollback();
+
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void createHistoryTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + HISTORY_TABLE + " ("
+                    + "module VARCHAR(100) NOT NULL, "
+                    + "version INT NOT NULL, "
+                    + "description VARCHAR(255), "
+                    + "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
+                    + "PRIMARY KEY (module, version))");
+        }
+
+        connection.commit();
+    }
+
+    private static Set<String> findAppliedVersions(Connection connection) throws SQLException {
+        Set<String> appliedVersions = new HashSet<>();
+
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(
+                        "SELECT module, version FROM " + HISTORY_TABLE)) {
+            while (resultSet.next()) {
+                appliedVersions.add(key(resultSet.getString(1), resultSet.getInt(2)));
+            }
+        }
+
+        return appliedVersions;
+    }
+
+    private static void apply(Connection connection, Migration migration) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : migration.statements()) {
+                statement.execute(sql);
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Migration " + migration.module() + " V" + migration.version()
+                    + " failed: " + e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + HISTORY_TABLE
+                + " (module, version, description) VALUES (?, ?, ?)")) {
+            insert.setString(1, migration.module());
+            insert.setInt(2, migration.version());
+            insert.setString(3, migration.description());
+            insert.executeUpdate();
+        }
+
+        connection.commit();
+    }
+
+    private static String key(String module, int version) {
+        return module + ":" + version;
+    }
+
+}
@@ -0,0 +1,180 @@
+package br.edu.ifba.inf008.core.infrastructure.managers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+/**
+ * UnitOfWork binds a single Hibernate session and transaction to the current thread, so that every
+ * repository call made while it is open joins the same session instead of opening its own. Units of
+ * work may be nested; only the outermost one commits, rolls back and closes the session.
+ * <p>
+ * Intended usage:
+ * <pre>{@code
+ * try (UnitOfWork unitOfWork = HibernateManager.beginUnitOfWork()) {
+ *     // repository calls...
+ *     unitOfWork.commit();
+ * }
+ * }</pre>
+ * Closing a unit of work that was not committed rolls the whole transaction back.
+ * <p>
+ * Sharing a transaction makes the writes of a unit of work commit or roll back together, but it
+ * does not make a check followed by a write atomic: under the default isolation level, two units
+ * of work may both read a row before either of them writes it. Checks that must hold until the
+ * commit, such as the available copies of a book, lock the rows they read with
+ * {@code findByIdForUpdate} first.
+ */
+public class UnitOfWork implements AutoCloseable {
+
+    private static final ThreadLocal<UnitOfWork> current = new ThreadLocal<>();
+
+    private final Session session;
+    private final Transaction transaction;
+    private final boolean owner;
+    private final List<Runnable> afterCommitCallbacks;
+
+    private boolean committed = false;
+
+    private UnitOfWork(Session session, Transaction transaction, boolean owner,
+            List<Runnable> afterCommitCallbacks) {
+        this.session = session;
+        this.transaction = transaction;
+        this.owner = owner;
+        this.afterCommitCallbacks = afterCommitCallbacks;
+    }
+
+    /**
+     * Begins a new unit of work, or joins the one already bound to the current thread.
+     *
+     * @param sessionSupplier the supplier used to open the session when no unit of work is bound
+     * @return the unit of work to be committed and closed by the caller
+     */
+    public static UnitOfWork begin(Supplier<Session> sessionSupplier) {
+        UnitOfWork active = current.get();
+
+        if (active != null) {
+            return new UnitOfWork(active.session, active.transaction, false,
+                    active.afterCommitCallbacks);
+        }
+
+        Session session = sessionSupplier.get();
+
+        try {
+            Transaction transaction = session.beginTransaction();
+            UnitOfWork unitOfWork = new UnitOfWork(session, transaction, true,
+                    new ArrayList<>());
+
+            current.set(unitOfWork);
+
+            return unitOfWork;
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the session bound to the current thread, if any.
+     *
+     * @return an Optional containing the bound session, or empty if no unit of work is open
+     */
+    public static Optional<Session> currentSession() {
+        UnitOfWork active = current.get();
+
+        return active == null ? Optional.empty() : Optional.of(active.session);
+    }
+
+    /**
+     * Gets the unit of work bound to the current thread, if any.
+     *
+     * @return an Optional containing the outermost unit of work, or empty if none is open
+     */
+    public static Optional<UnitOfWork> currentUnitOfWork() {
+        return Optional.ofNullable(current.get());
+    }
+
+    /**
+     * Checks whether a unit of work is open on the current thread.
+     *
+     * @return true if a unit of work is bound, false otherwise
+     */
+    public static boolean isActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * Gets the session of this unit of work.
+     *
+     * @return the Hibernate session shared by this unit of work
+     */
+    public Session getSession() {
+        return session;
+    }
+
+    /**
+     * Registers a callback to run once the transaction of this unit of work is committed. The
+     * callback is discarded if the transaction is rolled back, which makes it suitable to update
+     * in-memory state derived from the written data.
+     *
+     * @param callback the callback to run after the commit
+     */
+    public void afterCommit(Runnable callback) {
+        afterCommitCallbacks.add(callback);
+    }
+
+    /**
+     * Commits the unit of work. For nested units of work this only marks the inner scope as
+     * successful; the transaction is committed by the outermost one, which then runs the
+     * callbacks registered with {@link #afterCommit(Runnable)}.
+     */
+    public void commit() {
+        if (!owner) {
+            committed = true;
+
+            return;
+        }
+
+        if (transaction.getRollbackOnly()) {
+            throw new IllegalStateException(
+                    "Unit of work was marked as rollback-only by a nested scope.");
+        }
+
+        transaction.commit();
+        committed = true;
+
+        for (Runnable callback : afterCommitCallbacks) {
+            callback.run();
+        }
+    }
+
+    /**
+     * Closes the unit of work. If it was not committed, the transaction is rolled back (or marked
+     * as rollback-only for nested scopes). The outermost unit of work also closes the session and
+     * unbinds it from the current thread.
+     */
+    @Override
+    public void close() {
+        if (!owner) {
+            if (!committed && transaction.isActive()) {
+                transaction.setRollbackOnly();
+            }
+
+            return;
+        }
+
+        try {
+            if (!committed && transaction.isActive()) {
+                transaction.rollback();
+            }
+        } catch (Exception ignored) {
+        } finally {
+            afterCommitCallbacks.clear();
+            current.remove();
+            session.close();
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package br.edu.ifba.inf008.core.infrastructure.migrations;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a versioned schema migration owned by a module. Migrations of a module are applied in
+ * version order and recorded, so each of them runs exactly once per database.
+ * <p>
+ * Migrations are read from the classpath at {@code migrations/<module>/V<version>.sql}, starting
+ * at version 1 and stopping at the first missing version. The first line of a script may be a
+ * {@code --} comment, used as the description of the migration. Statements are separated by a
+ * semicolon at the end of a line.
+ *
+ * @param module      The name of the module owning the migration.
+ * @param version     The version of the migration within its module.
+ * @param description A short description of the migration.
+ * @param statements  The SQL statements to execute, in order.
+ */
+public record Migration(String module, int version, String description,
+                        List<String> statements) {
+
+    public Migration {
+        statements = List.copyOf(statements);
+    }
+
+    /**
+     * Loads every migration of a module from the classpath.
+     *
+     * @param module      the name of the module
+     * @param classLoader the class loader used to find the migration scripts
+     * @return the migrations of the module, in version order
+     */
+    public static List<Migration> load(String module, ClassLoader classLoader) {
+        List<Migration> migrations = new ArrayList<>();
+
+        for (int version = 1; ; version++) {
+            String path = "migrations/" + module + "/V" + version + ".sql";
+
+            try (InputStream stream = classLoader.getResourceAsStream(path)) {
+                if (stream == null) {
+                    return migrations;
+                }
+
+                migrations.add(parse(module, version,
+                        new String(stream.readAllBytes(), StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read migration " + path, e);
+            }
+        }
+    }
+
+    /**
+     * Parses a migration script into its description and statements.
+     *
+     * @param module  the name of the module
+     * @param version the version of the migration
+     * @param script  the contents of the migration script
+     * @return the parsed migration
+     */
+    static Migration parse(String module, int version, String script) {
+        String description = "";
+        List<String> statements = new ArrayList<>();
+        StringBuilder statement = new StringBuilder();
+
+        for (String line : script.lines().toList()) {
+            String trimmed = line.strip();
+
+            if (trimmed.startsWith("--")) {
+                if (description.isEmpty() && statements.isEmpty() && statement.isEmpty()) {
+                    description = trimmed.substring(2).strip();
+                }
+
+                continue;
+            }
+
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+
+            if (trimmed.endsWith(";")) {
+                statement.append(trimmed, 0, trimmed.length() - 1);
+                statements.add(statement.toString().strip());
+                statement.setLength(0);
+            } else {
+                statement.append(trimmed).append(' ');
+            }
+        }
+
+        if (!statement.isEmpty()) {
+            statements.add(statement.toString().strip());
+        }
+
+        return new Migration(module, version, description, statements);
+    }
+
+}
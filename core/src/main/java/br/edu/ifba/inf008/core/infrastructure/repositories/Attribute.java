@@ -0,0 +1,117 @@
+package br.edu.ifba.inf008.core.infrastructure.repositories;
+
+import br.edu.ifba.inf008.core.domain.models.Sort;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Typed reference to a persistent attribute of an entity, used to build specifications without
+ * scattering attribute names as plain strings. Nested attributes may be referenced with a dotted
+ * path, such as {@code book.bookId}.
+ * <p>
+ * The path is checked against the fields of the entity when the attribute is created, and the
+ * type of the field it names must be assignable to the value type, so a misspelled or mistyped
+ * attribute fails where it is declared instead of when a query is run.
+ *
+ * @param entityType the type of the entity declaring the attribute
+ * @param name       the name (or dotted path) of the attribute
+ * @param valueType  the type of the attribute value
+ * @param <T>        the type of the entity declaring the attribute
+ * @param <V>        the type of the attribute value
+ */
+public record Attribute<T, V>(Class<T> entityType, String name, Class<V> valueType) {
+
+    /**
+     * Creates a new Attribute instance, checking that the path names a field of the entity whose
+     * type is assignable to the value type.
+     *
+     * @throws IllegalArgumentException if the path does not name a field of the entity, or if its
+     *                                  type is not assignable to the value type
+     */
+    public Attribute {
+        if (entityType == null || name == null || valueType == null) {
+            throw new IllegalArgumentException("Entity type, name and value type are required");
+        }
+
+        Class<?> fieldType = fieldType(entityType, name);
+
+        if (!wrap(valueType).isAssignableFrom(wrap(fieldType))) {
+            throw new IllegalArgumentException("Attribute '" + name + "' of "
+                    + entityType.getSimpleName() + " is a " + fieldType.getSimpleName()
+                    + ", not a " + valueType.getSimpleName());
+        }
+    }
+
+    /**
+     * Creates a new Attribute instance.
+     *
+     * @param entityType the type of the entity declaring the attribute
+     * @param name       the name (or dotted path) of the attribute
+     * @param valueType  the type of the attribute value
+     * @param <T>        the type of the entity declaring the attribute
+     * @param <V>        the type of the attribute value
+     * @return a new Attribute instance
+     * @throws IllegalArgumentException if the path does not name a field of the entity, or if its
+     *                                  type is not assignable to the value type
+     */
+    public static <T, V> Attribute<T, V> of(Class<T> entityType, String name,
+            Class<V> valueType) {
+        return new Attribute<>(entityType, name, valueType);
+    }
+
+    /**
+     * Creates an ascending ordering by this attribute.
+     *
+     * @return a new ascending Sort instance
+     */
+    public Sort asc() {
+        return Sort.asc(name);
+    }
+
+    /**
+     * Creates a descending ordering by this attribute.
+     *
+     * @return a new descending Sort instance
+     */
+    public Sort desc() {
+        return Sort.desc(name);
+    }
+
+    /**
+     * Resolves the type of the field named by the given path, following the types of the fields
+     * along a dotted path.
+     *
+     * @param entityType the type of the entity the path starts from
+     * @param path       the name (or dotted path) of the attribute
+     * @return the type of the last field of the path
+     * @throws IllegalArgumentException if a name of the path is not a field of its type
+     */
+    private static Class<?> fieldType(Class<?> entityType, String path) {
+        Class<?> type = entityType;
+
+        for (String fieldName : path.split("\\.", -1)) {
+            type = findField(type, fieldName, path, entityType).getType();
+        }
+
+        return type;
+    }
+
+    private static Field findField(Class<?> type, String fieldName, String path,
+            Class<?> entityType) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException e) {
+                // Keep looking in the superclass.
+            }
+        }
+
+        throw new IllegalArgumentException(
+                "Unknown attribute '" + path + "' of " + entityType.getSimpleName());
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+}
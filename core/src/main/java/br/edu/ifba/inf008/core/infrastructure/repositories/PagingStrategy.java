@@ -0,0 +1,26 @@
+package br.edu.ifba.inf008.core.infrastructure.repositories;
+
+/**
+ * Strategies used by repositories to compute the total number of elements of a paged query.
+ */
+public enum PagingStrategy {
+
+    /**
+     * Runs a separate {@code COUNT} query after selecting the page.
+     */
+    COUNT_QUERY,
+
+    /**
+     * Selects the page and the total in a single round trip using {@code COUNT(*) OVER ()}. Falls
+     * back to a count query only when the requested page is past the last one.
+     */
+    WINDOW_COUNT,
+
+    /**
+     * Caches the total per filter and reuses it across page flips. The cache is invalidated once
+     * every write made through the same repository is committed, so it should only be used for
+     * data that is not modified by other processes. Counts read inside a unit of work are not
+     * cached.
+     */
+    CACHED_COUNT
+}
@@ -0,0 +1,19 @@
+package br.edu.ifba.inf008.core.infrastructure.repositories;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to specify the entity attribute a component of a projection is selected from, when it
+ * differs from the component name. Nested attributes may be referenced with a dotted path, such as
+ * {@code user.name}.
+ */
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.RECORD_COMPONENT})
+public @interface ProjectedFrom {
+
+    String value();
+}
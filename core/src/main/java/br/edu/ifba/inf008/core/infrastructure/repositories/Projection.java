@@ -0,0 +1,137 @@
+package br.edu.ifba.inf008.core.infrastructure.repositories;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Describes how the rows of a projection query are turned into instances of a lightweight row
+ * type, so that only the selected columns are read instead of whole entities. The row type is a
+ * record, or a class with a constructor taking its instance fields in declaration order. Each
+ * component selects the entity attribute of the same name, or the one given by
+ * {@link ProjectedFrom}, and must have the type of that attribute. Projections are resolved once
+ * per row type and cached.
+ *
+ * @param <R> the type of the rows
+ */
+public final class Projection<R> {
+
+    private static final Map<Class<?>, Projection<?>> PROJECTIONS = new ConcurrentHashMap<>();
+
+    private final List<String> paths;
+    private final Constructor<R> constructor;
+
+    private Projection(List<String> paths, Constructor<R> constructor) {
+        this.paths = paths;
+        this.constructor = constructor;
+    }
+
+    /**
+     * Gets the projection of the given row type.
+     *
+     * @param type the record or class the rows are instantiated as
+     * @param <R>  the type of the rows
+     * @return the cached projection of the type
+     * @throws IllegalArgumentException if the type has no constructor matching its components
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> Projection<R> of(Class<R> type) {
+        return (Projection<R>) PROJECTIONS.computeIfAbsent(type, Projection::resolve);
+    }
+
+    /**
+     * Gets the attribute paths selected by this projection, in constructor order.
+     *
+     * @return the selected attribute paths
+     */
+    public List<String> paths() {
+        return paths;
+    }
+
+    /**
+     * Renders the HQL selection of this projection on the given entity alias.
+     *
+     * @param alias the alias of the entity, such as {@code e}
+     * @return the comma-separated selected attributes
+     */
+    public String select(String alias) {
+        StringJoiner selection = new StringJoiner(", ");
+
+        for (String path : paths) {
+            selection.add(alias + "." + path);
+        }
+
+        return selection.toString();
+    }
+
+    /**
+     * Creates a row from the values selected by a projection query. Values past the attributes of
+     * this projection are ignored.
+     *
+     * @param values the selected values, starting with the attributes of this projection
+     * @return the new row
+     */
+    public R instantiate(Object[] values) {
+        Object[] arguments = values.length == paths.size()
+                ? values
+                : Arrays.copyOf(values, paths.size());
+
+        try {
+            return constructor.newInstance(arguments);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                    "Could not instantiate " + constructor.getDeclaringClass().getName(), e);
+        }
+    }
+
+    /**
+     * Resolves the selected attribute paths and the constructor of a row type.
+     *
+     * @param type the record or class the rows are instantiated as
+     * @param <R>  the type of the rows
+     * @return the projection of the type
+     */
+    private static <R> Projection<R> resolve(Class<R> type) {
+        List<String> paths = new ArrayList<>();
+        List<Class<?>> parameterTypes = new ArrayList<>();
+
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                ProjectedFrom projectedFrom = component.getAnnotation(ProjectedFrom.class);
+
+                paths.add(projectedFrom != null ? projectedFrom.value() : component.getName());
+                parameterTypes.add(component.getType());
+            }
+        } else {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+
+                ProjectedFrom projectedFrom = field.getAnnotation(ProjectedFrom.class);
+
+                paths.add(projectedFrom != null ? projectedFrom.value() : field.getName());
+                parameterTypes.add(field.getType());
+            }
+        }
+
+        try {
+            Constructor<R> constructor = type.getDeclaredConstructor(
+                    parameterTypes.toArray(Class<?>[]::new));
+            constructor.setAccessible(true);
+
+            return new Projection<>(List.copyOf(paths), constructor);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(
+                    type.getName() + " has no constructor taking its fields in order", e);
+        }
+    }
+
+}
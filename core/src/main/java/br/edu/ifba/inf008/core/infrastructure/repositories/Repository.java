@@ -1,9 +1,14 @@
 package br.edu.ifba.inf008.core.infrastructure.repositories;
 
+import br.edu.ifba.inf008.core.domain.models.KeysetPageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageableResponse;
+import br.edu.ifba.inf008.core.domain.models.Sort;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Generic repository interface for CRUD operations.
@@ -17,15 +22,50 @@ public interface Repository<T, ID> {
 
     Optional<T> findOne(String fieldName, Object value);
 
+    Optional<T> findOne(Specification<T> specification);
+
     List<T> findAll();
 
     List<T> findAll(String fieldName, Object value);
 
+    List<T> findAll(Specification<T> specification, Sort... sort);
+
+    <V> List<V> findValues(Specification<T> specification, Attribute<T, V> projection,
+            Sort... sort);
+
+    long count(Specification<T> specification);
+
     PageableResponse<T> findAll(PageRequest pageRequest);
 
     PageableResponse<T> findAll(PageRequest pageRequest, String fieldName, Object value);
 
+    PageableResponse<T> findAll(PageRequest pageRequest, Specification<T> specification);
+
+    PageableResponse<T> findAll(KeysetPageRequest pageRequest);
+
+    PageableResponse<T> findAll(KeysetPageRequest pageRequest, String fieldName, Object value);
+
+    PageableResponse<T> findAll(KeysetPageRequest pageRequest, Specification<T> specification);
+
+    <R> PageableResponse<R> findProjections(PageRequest pageRequest,
+            Specification<T> specification, Class<R> projection);
+
+    <R> PageableResponse<R> findProjections(KeysetPageRequest pageRequest,
+            Specification<T> specification, Class<R> projection);
+
+    Stream<T> stream();
+
+    Stream<T> stream(String fieldName, Object value);
+
+    Stream<T> stream(Specification<T> specification);
+
+    void forEach(Consumer<T> action);
+
     T save(T entity);
 
+    List<T> saveAll(Collection<T> entities);
+
     void delete(T entity);
+
+    void deleteAll(Collection<T> entities);
 }
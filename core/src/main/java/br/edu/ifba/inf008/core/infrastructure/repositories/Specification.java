@@ -0,0 +1,264 @@
+package br.edu.ifba.inf008.core.infrastructure.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+
+/**
+ * Typed, composable filter over an entity, rendered by repositories into an HQL condition on the
+ * entity aliased as {@code e}. Values are always bound as ordinal parameters, so every
+ * specification of the same shape renders to the same HQL string and reuses the query plan cached
+ * by Hibernate instead of being translated again.
+ * <p>
+ * Specifications can only be created by the factory methods of this interface and combined with
+ * each other, so the HQL they render is always made of checked {@link Attribute} paths, fixed
+ * operators and parameters, and never of text given by callers.
+ *
+ * @param <T> the type of the entity being filtered
+ */
+public sealed interface Specification<T> permits Specification.Condition {
+
+    /**
+     * Appends the HQL condition of this specification to the given builder, adding the values it
+     * binds to the parameter list. Parameters are referenced by their 1-based position in the
+     * list.
+     *
+     * @param condition  the builder receiving the HQL condition
+     * @param parameters the values bound by the condition, in ordinal order
+     */
+    void render(StringBuilder condition, List<Object> parameters);
+
+    /**
+     * Combines this specification with another one, matching entities satisfying both.
+     *
+     * @param other the specification to combine with
+     * @return a new specification
+     */
+    default Specification<T> and(Specification<T> other) {
+        return combine(this, "AND", other);
+    }
+
+    /**
+     * Combines this specification with another one, matching entities satisfying either.
+     *
+     * @param other the specification to combine with
+     * @return a new specification
+     */
+    default Specification<T> or(Specification<T> other) {
+        return combine(this, "OR", other);
+    }
+
+    /**
+     * Negates this specification.
+     *
+     * @return a new specification matching entities not satisfying this one
+     */
+    default Specification<T> negate() {
+        return new Condition<>((condition, parameters) -> {
+            condition.append("NOT (");
+            render(condition, parameters);
+            condition.append(')');
+        });
+    }
+
+    /**
+     * Matches entities whose attribute equals the given value, or is null when the value is null.
+     *
+     * @param attribute the attribute to compare
+     * @param value     the value to compare with
+     * @param <T>       the type of the entity
+     * @param <V>       the type of the attribute
+     * @return a new specification
+     */
+    static <T, V> Specification<T> equal(Attribute<T, V> attribute, V value) {
+        return value == null ? isNull(attribute) : compare(attribute, "=", value);
+    }
+
+    /**
+     * Matches entities whose attribute differs from the given value, or is not null when the
+     * value is null.
+     *
+     * @param attribute the attribute to compare
+     * @param value     the value to compare with
+     * @param <T>       the type of the entity
+     * @param <V>       the type of the attribute
+     * @return a new specification
+     */
+    static <T, V> Specification<T> notEqual(Attribute<T, V> attribute, V value) {
+        return value == null ? isNotNull(attribute) : compare(attribute, "<>", value);
+    }
+
+    /**
+     * Matches entities whose attribute is null.
+     *
+     * @param attribute the attribute to check
+     * @param <T>       the type of the entity
+     * @return a new specification
+     */
+    static <T> Specification<T> isNull(Attribute<T, ?> attribute) {
+        return new Condition<>((condition, parameters) -> condition.append("e.")
+                .append(attribute.name()).append(" IS NULL"));
+    }
+
+    /**
+     * Matches entities whose attribute is not null.
+     *
+     * @param attribute the attribute to check
+     * @param <T>       the type of the entity
+     * @return a new specification
+     */
+    static <T> Specification<T> isNotNull(Attribute<T, ?> attribute) {
+        return new Condition<>((condition, parameters) -> condition.append("e.")
+                .append(attribute.name()).append(" IS NOT NULL"));
+    }
+
+    /**
+     * Matches entities whose attribute is one of the given values. The values are bound as a
+     * single list parameter.
+     *
+     * @param attribute the attribute to compare
+     * @param values    the accepted values
+     * @param <T>       the type of the entity
+     * @param <V>       the type of the attribute
+     * @return a new specification
+     * @throws IllegalArgumentException if the values are null
+     */
+    static <T, V> Specification<T> in(Attribute<T, V> attribute, Collection<? extends V> values) {
+        if (values == null) {
+            throw new IllegalArgumentException("The accepted values are required");
+        }
+
+        return compare(attribute, "IN", new ListParameter(values));
+    }
+
+    /**
+     * Matches entities whose attribute matches the given pattern, ignoring case.
+     *
+     * @param attribute the attribute to compare
+     * @param pattern   the pattern, using {@code %} and {@code _} as wildcards
+     * @param <T>       the type of the entity
+     * @return a new specification
+     * @throws IllegalArgumentException if the pattern is null
+     */
+    static <T> Specification<T> likeIgnoreCase(Attribute<T, String> attribute, String pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("The pattern is required");
+        }
+
+        String lowerCasePattern = pattern.toLowerCase(Locale.ROOT);
+
+        return new Condition<>((condition, parameters) -> {
+            parameters.add(lowerCasePattern);
+            condition.append("LOWER(e.").append(attribute.name()).append(") LIKE ?")
+                    .append(parameters.size());
+        });
+    }
+
+    /**
+     * Matches entities whose attribute is greater than the given value.
+     *
+     * @param attribute the attribute to compare
+     * @param value     the value to compare with
+     * @param <T>       the type of the entity
+     * @param <V>       the type of the attribute
+     * @return a new specification
+     */
+    static <T, V extends Comparable<? super V>> Specification<T> greaterThan(
+            Attribute<T, V> attribute, V value) {
+        return compare(attribute, ">", value);
+    }
+
+    /**
+     * Matches entities whose attribute is greater than or equal to the given value.
+     *
+     * @param attribute the attribute to compare
+     * @param value     the value to compare with
+     * @param <T>       the type of the entity
+     * @param <V>       the type of the attribute
+     * @return a new specification
+     */
+    static <T, V extends Comparable<? super V>> Specification<T> greaterThanOrEqualTo(
+            Attribute<T, V> attribute, V value) {
+        return compare(attribute, ">=", value);
+    }
+
+    /**
+     * Matches entities whose attribute is less than the given value.
+     *
+     * @param attribute the attribute to compare
+     * @param value     the value to compare with
+     * @param <T>       the type of the entity
+     * @param <V>       the type of the attribute
+     * @return a new specification
+     */
+    static <T, V extends Comparable<? super V>> Specification<T> lessThan(
+            Attribute<T, V> attribute, V value) {
+        return compare(attribute, "<", value);
+    }
+
+    /**
+     * Matches entities whose attribute is less than or equal to the given value.
+     *
+     * @param attribute the attribute to compare
+     * @param value     the value to compare with
+     * @param <T>       the type of the entity
+     * @param <V>       the type of the attribute
+     * @return a new specification
+     */
+    static <T, V extends Comparable<? super V>> Specification<T> lessThanOrEqualTo(
+            Attribute<T, V> attribute, V value) {
+        return compare(attribute, "<=", value);
+    }
+
+    private static <T> Specification<T> compare(Attribute<T, ?> attribute, String operator,
+            Object value) {
+        return new Condition<>((condition, parameters) -> {
+            parameters.add(value);
+            condition.append("e.").append(attribute.name()).append(' ').append(operator)
+                    .append(" ?").append(parameters.size());
+        });
+    }
+
+    private static <T> Specification<T> combine(Specification<T> left, String operator,
+            Specification<T> right) {
+        return new Condition<>((condition, parameters) -> {
+            condition.append('(');
+            left.render(condition, parameters);
+            condition.append(' ').append(operator).append(' ');
+            right.render(condition, parameters);
+            condition.append(')');
+        });
+    }
+
+    /**
+     * The only implementation of {@link Specification}, wrapping the renderer built by one of its
+     * factory methods. It cannot be created outside of this interface.
+     *
+     * @param <T> the type of the entity being filtered
+     */
+    final class Condition<T> implements Specification<T> {
+
+        private final BiConsumer<StringBuilder, List<Object>> renderer;
+
+        private Condition(BiConsumer<StringBuilder, List<Object>> renderer) {
+            this.renderer = renderer;
+        }
+
+        @Override
+        public void render(StringBuilder condition, List<Object> parameters) {
+            renderer.accept(condition, parameters);
+        }
+
+    }
+
+    /**
+     * A parameter holding the values of an {@code IN} condition, which repositories bind as a list
+     * parameter. Any other parameter is bound as a single value, even when it is a collection.
+     *
+     * @param values the values of the parameter
+     */
+    record ListParameter(Collection<?> values) {
+    }
+
+}
@@ -1,29 +1,76 @@
 package br.edu.ifba.inf008.core.infrastructure.repositories.impl;
 
+import br.edu.ifba.inf008.core.domain.models.KeysetPageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageableResponse;
+import br.edu.ifba.inf008.core.domain.models.Sort;
 import br.edu.ifba.inf008.core.infrastructure.managers.HibernateManager;
+import br.edu.ifba.inf008.core.infrastructure.managers.UnitOfWork;
+import br.edu.ifba.inf008.core.infrastructure.repositories.Attribute;
+import br.edu.ifba.inf008.core.infrastructure.repositories.PagingStrategy;
+import br.edu.ifba.inf008.core.infrastructure.repositories.Projection;
 import br.edu.ifba.inf008.core.infrastructure.repositories.Repository;
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.Root;
+import br.edu.ifba.inf008.core.infrastructure.repositories.Specification;
+import jakarta.persistence.AttributeNode;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.Subgraph;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.SingularAttribute;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.hibernate.LockMode;
 import org.hibernate.Session;
+import org.hibernate.SharedSessionContract;
+import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.Query;
+import org.hibernate.query.SelectionQuery;
 
 /**
- * Generic repository implementation using Hibernate for CRUD operations.
+ * Generic repository implementation using Hibernate for CRUD operations. When a {@link UnitOfWork}
+ * is open on the current thread, every method joins its session and transaction instead of opening
+ * its own. Queries are built as HQL strings with ordinal parameters from {@link Specification}s, so
+ * queries of the same shape share the plan cached by Hibernate.
  *
  * @param <T>  the type of the entity
  * @param <ID> the type of the entity's identifier
  */
 public class HibernateRepository<T, ID extends Serializable> implements Repository<T, ID> {
 
+    /**
+     * Number of entities written between flushes when the JDBC batch size is not configured.
+     */
+    private static final int DEFAULT_BATCH_SIZE = 50;
+
+    /**
+     * Number of rows fetched from the database per round trip when streaming.
+     */
+    private static final int STREAM_FETCH_SIZE = 500;
+
     private final Class<T> entityClass;
 
+    private volatile Map<String, Long> countCache = new ConcurrentHashMap<>();
+    private final Map<String, String> fetchJoinsCache = new ConcurrentHashMap<>();
+    private volatile ManagedType<T> managedType;
+    private PagingStrategy pagingStrategy = PagingStrategy.WINDOW_COUNT;
+    private String queryCacheRegion;
+
     public HibernateRepository(Class<T> entityClass) {
         this.entityClass = entityClass;
     }
@@ -36,11 +83,61 @@ public class HibernateRepository<T, ID extends Serializable> implements Reposito
      */
     @Override
     public Optional<T> findById(ID id) {
-        try (Session session = getSession()) {
-            T entity = session.get(entityClass, id);
+        return withSession(session -> Optional.ofNullable(session.get(entityClass, id)));
+    }
+
+    /**
+     * Finds an entity by its identifier and locks its row with {@code SELECT ... FOR UPDATE} until
+     * the current transaction ends, bypassing the second-level cache. Concurrent transactions
+     * locking the same entity wait for it, while other entities remain unaffected. This method
+     * must be called inside a {@link UnitOfWork}, otherwise the lock is released immediately.
+     *
+     * @param id the identifier of the entity
+     * @return an Optional containing the locked entity if found, or empty if not found
+     */
+    public Optional<T> findByIdForUpdate(ID id) {
+        return withSession(session -> Optional.ofNullable(
+                session.get(entityClass, id, LockMode.PESSIMISTIC_WRITE)));
+    }
 
-            return Optional.ofNullable(entity);
+    /**
+     * Finds several entities by their identifiers in a single query.
+     *
+     * @param ids the identifiers of the entities
+     * @return the entities found, in no particular order
+     */
+    public List<T> findAllById(Collection<ID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return withSession(session -> session.createSelectionQuery(
+                        "SELECT e FROM " + entityClass.getName() + " e WHERE id(e) IN :ids",
+                        entityClass)
+                .setParameter("ids", ids)
+                .getResultList());
+    }
+
+    /**
+     * Finds several entities by their identifiers in a single query and locks their rows until the
+     * current transaction ends. Rows are locked in identifier order, so concurrent batches locking
+     * overlapping entities cannot deadlock each other. This method must be called inside a
+     * {@link UnitOfWork}, otherwise the locks are released immediately.
+     *
+     * @param ids the identifiers of the entities
+     * @return the locked entities found, ordered by identifier
+     */
+    public List<T> findAllByIdForUpdate(Collection<ID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
+
+        return withSession(session -> session.createSelectionQuery(
+                        "SELECT e FROM " + entityClass.getName() + " e WHERE id(e) IN :ids"
+                                + " ORDER BY id(e)", entityClass)
+                .setParameter("ids", ids)
+                .setHibernateLockMode(LockMode.PESSIMISTIC_WRITE)
+                .getResultList());
     }
 
     /**
@@ -52,16 +149,20 @@ public class HibernateRepository<T, ID extends Serializable> implements Reposito
      */
     @Override
     public Optional<T> findOne(String fieldName, Object value) {
-        try (Session session = getSession()) {
-            CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<T> cq = cb.createQuery(entityClass);
-
-            Root<T> root = cq.from(entityClass);
-
-            cq.select(root).where(cb.equal(root.get(fieldName), value));
+        return findOne(fieldEquals(fieldName, value));
+    }
 
-            return session.createQuery(cq).uniqueResultOptional();
-        }
+    /**
+     * Finds the single entity matching a specification.
+     *
+     * @param specification the specification to match
+     * @return an Optional containing the entity if found, or empty if not found
+     */
+    @Override
+    public Optional<T> findOne(Specification<T> specification) {
+        return withSession(session -> createQuery(session,
+                "SELECT e FROM " + entityClass.getName() + " e", specification, entityClass)
+                .uniqueResultOptional());
     }
 
     /**
@@ -71,15 +172,7 @@ public class HibernateRepository<T, ID extends Serializable> implements Reposito
      */
     @Override
     public List<T> findAll() {
-        try (Session session = getSession()) {
-            CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<T> cq = cb.createQuery(entityClass);
-            Root<T> root = cq.from(entityClass);
-
-            cq.select(root);
-
-            return session.createQuery(cq).list();
-        }
+        return findAll((Specification<T>) null);
     }
 
     /**
@@ -91,21 +184,52 @@ public class HibernateRepository<T, ID extends Serializable> implements Reposito
      */
     @Override
     public List<T> findAll(String fieldName, Object value) {
-        try (Session session = getSession()) {
-            CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<T> cq = cb.createQuery(entityClass);
-
-            Root<T> root = cq.from(entityClass);
+        return findAll(fieldEquals(fieldName, value));
+    }
 
-            Predicate predicate = cb.equal(root.get(fieldName), value);
-            if (value == null) {
-                predicate = cb.isNull(root.get(fieldName));
-            }
+    /**
+     * Finds all entities matching a specification, in the given order.
+     *
+     * @param specification the specification to match, or null to select every entity
+     * @param sort          the orderings to apply, in priority order
+     * @return a list of entities matching the specification
+     */
+    @Override
+    public List<T> findAll(Specification<T> specification, Sort... sort) {
+        return withSession(session -> createQuery(session,
+                "SELECT e FROM " + entityClass.getName() + " e", specification,
+                orderBy(Arrays.asList(sort), false), entityClass).list());
+    }
 
-            cq.select(root).where(predicate);
+    /**
+     * Finds the values of a single attribute of the entities matching a specification, without
+     * loading the entities themselves.
+     *
+     * @param specification the specification to match, or null to select every entity
+     * @param projection    the attribute to select
+     * @param sort          the orderings to apply, in priority order
+     * @param <V>           the type of the attribute
+     * @return a list of the attribute values
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> List<V> findValues(Specification<T> specification, Attribute<T, V> projection,
+            Sort... sort) {
+        return withSession(session -> (List<V>) createQuery(session,
+                "SELECT e." + persistentPath(projection.name()) + " FROM " + entityClass.getName()
+                        + " e",
+                specification, orderBy(Arrays.asList(sort), false), Object.class).list());
+    }
 
-            return session.createQuery(cq).list();
-        }
+    /**
+     * Counts the entities matching a specification.
+     *
+     * @param specification the specification to match, or null to count every entity
+     * @return the number of matching entities
+     */
+    @Override
+    public long count(Specification<T> specification) {
+        return withSession(session -> countFiltered(session, specification, false));
     }
 
     /**
@@ -116,30 +240,7 @@ public class HibernateRepository<T, ID extends Serializable> implements Reposito
      */
     @Override
     public PageableResponse<T> findAll(PageRequest pageRequest) {
-        try (Session session = getSession()) {
-            CriteriaBuilder cb = session.getCriteriaBuilder();
-
-            // --- Selection ---
-            CriteriaQuery<T> selectQuery = cb.createQuery(entityClass);
-            Root<T> selectRoot = selectQuery.from(entityClass);
-
-            selectQuery.select(selectRoot);
-
-            List<T> content = session.createQuery(selectQuery)
-                    .setFirstResult(pageRequest.page() * pageRequest.limit())
-                    .setMaxResults(pageRequest.limit())
-                    .list();
-
-            // --- Counting ---
-            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-            Root<T> countRoot = countQuery.from(entityClass);
-
-            countQuery.select(cb.count(countRoot));
-
-            Long count = session.createQuery(countQuery).uniqueResult();
-
-            return new PageableResponse<>(pageRequest.page(), pageRequest.limit(), count, content);
-        }
+        return findPage(pageRequest, null, null, entities());
     }
 
     /**
@@ -152,37 +253,204 @@ public class HibernateRepository<T, ID extends Serializable> implements Reposito
      */
     @Override
     public PageableResponse<T> findAll(PageRequest pageRequest, String fieldName, Object value) {
-        try (Session session = getSession()) {
-            CriteriaBuilder cb = session.getCriteriaBuilder();
+        return findPage(pageRequest, fieldEquals(fieldName, value), null, entities());
+    }
+
+    /**
+     * Finds all entities matching a specification with pagination support.
+     *
+     * @param pageRequest   the pagination request containing page number and size
+     * @param specification the specification to match, or null to select every entity
+     * @return a pageable response containing the entities
+     */
+    @Override
+    public PageableResponse<T> findAll(PageRequest pageRequest, Specification<T> specification) {
+        return findPage(pageRequest, specification, null, entities());
+    }
+
+    /**
+     * Finds all entities matching a specification with pagination support, fetching the
+     * associations of the given named entity graph in the same query. Each association of the graph
+     * is rendered as a fetch join, so the page and its associated entities are read in a single
+     * round trip instead of one extra select per distinct associated entity. Paged graphs should
+     * only hold to-one associations, since fetching collections would make Hibernate paginate in
+     * memory.
+     *
+     * @param pageRequest   the pagination request containing page number and size
+     * @param specification the specification to match, or null to select every entity
+     * @param entityGraph   the name of the entity graph to fetch, or null to fetch nothing extra
+     * @return a pageable response containing the entities
+     */
+    public PageableResponse<T> findAllFetching(PageRequest pageRequest,
+            Specification<T> specification, String entityGraph) {
+        return findPage(pageRequest, specification, entityGraph, entities());
+    }
+
+    /**
+     * Finds a page of entities using keyset pagination, ordered by identifier.
+     *
+     * @param pageRequest the keyset pagination request containing the cursor and size
+     * @return a pageable response containing the entities and the adjacent page cursors
+     */
+    @Override
+    public PageableResponse<T> findAll(KeysetPageRequest pageRequest) {
+        return findKeysetPage(pageRequest, null, null, entities());
+    }
 
-            // --- Selection ---
-            CriteriaQuery<T> selectQuery = cb.createQuery(entityClass);
-            Root<T> selectRoot = selectQuery.from(entityClass);
+    /**
+     * Finds a page of entities with a specific field value using keyset pagination, ordered by
+     * identifier.
+     *
+     * @param pageRequest the keyset pagination request containing the cursor and size
+     * @param fieldName   the name of the field to search by
+     * @param value       the value of the field to search for
+     * @return a pageable response containing the entities and the adjacent page cursors
+     */
+    @Override
+    public PageableResponse<T> findAll(KeysetPageRequest pageRequest, String fieldName,
+            Object value) {
+        return findKeysetPage(pageRequest, fieldEquals(fieldName, value), null, entities());
+    }
 
-            Predicate selectPredicate = value == null
-                    ? cb.isNull(selectRoot.get(fieldName))
-                    : cb.equal(selectRoot.get(fieldName), value);
+    /**
+     * Finds a page of entities matching a specification using keyset pagination, ordered by
+     * identifier.
+     *
+     * @param pageRequest   the keyset pagination request containing the cursor and size
+     * @param specification the specification to match, or null to select every entity
+     * @return a pageable response containing the entities and the adjacent page cursors
+     */
+    @Override
+    public PageableResponse<T> findAll(KeysetPageRequest pageRequest,
+            Specification<T> specification) {
+        return findKeysetPage(pageRequest, specification, null, entities());
+    }
 
-            selectQuery.select(selectRoot).where(selectPredicate);
+    /**
+     * Finds a page of entities matching a specification using keyset pagination, fetching the
+     * associations of the given named entity graph in the same query.
+     *
+     * @param pageRequest   the keyset pagination request containing the cursor and size
+     * @param specification the specification to match, or null to select every entity
+     * @param entityGraph   the name of the entity graph to fetch, or null to fetch nothing extra
+     * @return a pageable response containing the entities and the adjacent page cursors
+     * @see #findAllFetching(PageRequest, Specification, String)
+     */
+    public PageableResponse<T> findAllFetching(KeysetPageRequest pageRequest,
+            Specification<T> specification, String entityGraph) {
+        return findKeysetPage(pageRequest, specification, entityGraph, entities());
+    }
 
-            List<T> content = session.createQuery(selectQuery)
-                    .setFirstResult(pageRequest.page() * pageRequest.limit())
-                    .setMaxResults(pageRequest.limit())
-                    .list();
+    /**
+     * Finds a page of rows projected from the entities matching a specification. Only the
+     * attributes selected by the projection are read, and no entity is hydrated or kept in the
+     * persistence context. Associations referenced by the projection are joined in the same query.
+     *
+     * @param pageRequest   the pagination request containing page number, size and sort
+     * @param specification the specification to match, or null to select every entity
+     * @param projection    the record or class the rows are instantiated as
+     * @param <R>           the type of the rows
+     * @return a pageable response containing the rows
+     * @see Projection
+     */
+    @Override
+    public <R> PageableResponse<R> findProjections(PageRequest pageRequest,
+            Specification<T> specification, Class<R> projection) {
+        return findPage(pageRequest, specification, null, projected(projection));
+    }
+
+    /**
+     * Finds a page of rows projected from the entities matching a specification using keyset
+     * pagination, ordered by identifier unless the request is sorted.
+     *
+     * @param pageRequest   the keyset pagination request containing the cursor and size
+     * @param specification the specification to match, or null to select every entity
+     * @param projection    the record or class the rows are instantiated as
+     * @param <R>           the type of the rows
+     * @return a pageable response containing the rows and the adjacent page cursors
+     * @see #findProjections(PageRequest, Specification, Class)
+     */
+    @Override
+    public <R> PageableResponse<R> findProjections(KeysetPageRequest pageRequest,
+            Specification<T> specification, Class<R> projection) {
+        return findKeysetPage(pageRequest, specification, null, projected(projection));
+    }
 
-            // --- Counting ---
-            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-            Root<T> countRoot = countQuery.from(entityClass);
+    /**
+     * Streams all entities of the specified type. The stream is backed by a database cursor on a
+     * stateless session, so rows are read in fetch-size chunks and never accumulate in memory. The
+     * returned stream must be closed, preferably with try-with-resources.
+     *
+     * @return a stream of all entities
+     */
+    @Override
+    public Stream<T> stream() {
+        return stream((Specification<T>) null);
+    }
 
-            Predicate countPredicate = value == null
-                    ? cb.isNull(countRoot.get(fieldName))
-                    : cb.equal(countRoot.get(fieldName), value);
+    /**
+     * Streams all entities with a specific field value. The stream is backed by a database cursor
+     * on a stateless session and must be closed, preferably with try-with-resources.
+     *
+     * @param fieldName the name of the field to search by
+     * @param value     the value of the field to search for
+     * @return a stream of entities matching the criteria
+     */
+    @Override
+    public Stream<T> stream(String fieldName, Object value) {
+        return stream(fieldEquals(fieldName, value));
+    }
+
+    /**
+     * Streams all entities matching a specification. The stream is backed by a database cursor on
+     * a stateless session and must be closed, preferably with try-with-resources.
+     *
+     * @param specification the specification to match, or null to select every entity
+     * @return a stream of entities matching the specification
+     */
+    @Override
+    public Stream<T> stream(Specification<T> specification) {
+        return streamFetching(specification, null);
+    }
 
-            countQuery.select(cb.count(countRoot)).where(countPredicate);
+    /**
+     * Streams all entities matching a specification, fetching the associations of the given named
+     * entity graph in the same query. A stateless session has no persistence context, so eager
+     * associations left out of the query are selected again for every row, and lazy ones cannot
+     * be loaded at all. The stream must be closed, preferably with try-with-resources.
+     *
+     * @param specification the specification to match, or null to select every entity
+     * @param entityGraph   the name of the entity graph to fetch, or null to fetch nothing extra
+     * @return a stream of entities matching the specification
+     * @see #stream(Specification)
+     */
+    public Stream<T> streamFetching(Specification<T> specification, String entityGraph) {
+        StatelessSession session = getStatelessSession();
 
-            Long count = session.createQuery(countQuery).uniqueResult();
+        try {
+            SelectionQuery<T> query = createQuery(session,
+                    "SELECT e FROM " + entityClass.getName() + " e"
+                            + fetchJoins(session, entityGraph), specification, entityClass)
+                    .setCacheable(false)
+                    .setFetchSize(STREAM_FETCH_SIZE);
 
-            return new PageableResponse<>(pageRequest.page(), pageRequest.limit(), count, content);
+            return query.stream().onClose(session::close);
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Performs the given action for every entity of the specified type, reading them through a
+     * database cursor in constant memory.
+     *
+     * @param action the action to perform for each entity
+     */
+    @Override
+    public void forEach(Consumer<T> action) {
+        try (Stream<T> entities = stream()) {
+            entities.forEach(action);
         }
     }
 
@@ -194,24 +462,11 @@ public class HibernateRepository<T, ID extends Serializable> implements Reposito
      */
     @Override
     public T save(T entity) {
-        Transaction transaction = null;
+        T savedEntity = withTransaction(session -> session.merge(entity));
 
-        try (Session session = getSession()) {
-            transaction = session.beginTransaction();
-            T newEntity = session.merge(entity);
-            transaction.commit();
+        invalidateCountCache();
 
-            return newEntity;
-        } catch (Exception e) {
-            try {
-                if (transaction != null && transaction.isActive()) {
-                    transaction.rollback();
-                }
-            } catch (Exception ignored) {
-            }
-
-            throw e;
-        }
+        return savedEntity;
     }
 
     /**
@@ -221,16 +476,784 @@ public class HibernateRepository<T, ID extends Serializable> implements Reposito
      */
     @Override
     public void delete(T entity) {
+        withTransaction(session -> {
+            session.remove(entity);
+
+            return null;
+        });
+
+        invalidateCountCache();
+    }
+
+    /**
+     * Saves a collection of entities in a single transaction. Writes are sent in JDBC batches and
+     * the session is flushed every batch; when the session is not shared with a unit of work it is
+     * also cleared, so memory stays bounded regardless of the number of entities.
+     *
+     * @param entities the entities to save
+     * @return the saved entities
+     */
+    @Override
+    public List<T> saveAll(Collection<T> entities) {
+        List<T> savedEntities = writeInBatches(entities, Session::merge);
+
+        invalidateCountCache();
+
+        return savedEntities;
+    }
+
+    /**
+     * Inserts a collection of new entities in a single transaction. Unlike {@link #saveAll}, the
+     * entities are persisted directly, skipping the select that merge issues for each of them.
+     *
+     * @param entities the new entities to insert
+     * @return the inserted entities, with their identifiers assigned
+     */
+    public List<T> insertAll(Collection<T> entities) {
+        List<T> insertedEntities = writeInBatches(entities, (session, entity) -> {
+            session.persist(entity);
+
+            return entity;
+        });
+
+        invalidateCountCache();
+
+        return insertedEntities;
+    }
+
+    /**
+     * Deletes a collection of entities in a single transaction, using JDBC batches.
+     *
+     * @param entities the entities to delete
+     */
+    @Override
+    public void deleteAll(Collection<T> entities) {
+        writeInBatches(entities, (session, entity) -> {
+            session.remove(entity);
+
+            return entity;
+        });
+
+        invalidateCountCache();
+    }
+
+    /**
+     * Sets the strategy used to compute the total number of elements of paged queries.
+     *
+     * @param pagingStrategy the paging strategy to use
+     */
+    public void setPagingStrategy(PagingStrategy pagingStrategy) {
+        this.pagingStrategy = pagingStrategy;
+        this.countCache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Sets the region the query results of this repository are cached in. Only the queries that
+     * opt in are cached: the paged and count queries of requests marked as cacheable, and the
+     * queries passed to {@link #cacheable(SelectionQuery)}. Cached results are invalidated by
+     * Hibernate whenever an entity of a table they read from is written. Passing null disables the
+     * query cache.
+     *
+     * @param queryCacheRegion the query cache region to use, or null to disable caching
+     */
+    public void setQueryCacheRegion(String queryCacheRegion) {
+        this.queryCacheRegion = queryCacheRegion;
+    }
+
+    /**
+     * Marks the given query as cacheable in the query cache region of this repository. The query
+     * is returned unchanged when the repository has no query cache region.
+     *
+     * @param query the query to mark as cacheable
+     * @param <Q>   the type of the query
+     * @return the same query, for chaining
+     */
+    protected <Q extends SelectionQuery<?>> Q cacheable(Q query) {
+        if (queryCacheRegion != null) {
+            query.setCacheable(true).setCacheRegion(queryCacheRegion);
+        }
+
+        return query;
+    }
+
+    /**
+     * Marks the given query as cacheable when the caller opted in for it.
+     *
+     * @param cacheable whether the query may be cached
+     * @param query     the query to mark as cacheable
+     * @param <Q>       the type of the query
+     * @return the same query, for chaining
+     */
+    private <Q extends SelectionQuery<?>> Q cacheable(boolean cacheable, Q query) {
+        return cacheable ? cacheable(query) : query;
+    }
+
+    /**
+     * Finds a page of entities, optionally filtered by a specification, computing the total
+     * number of elements according to the configured {@link PagingStrategy} unless the request
+     * already carries it. Pages are always ordered, by the requested sort followed by the
+     * identifier, so that paging is stable. The queries are cached when the request is cacheable.
+     *
+     * @param pageRequest   the pagination request containing page number and size
+     * @param specification the specification to match, or null to select every entity
+     * @param entityGraph   the name of the entity graph to fetch, or null to fetch nothing extra
+     * @param selection     what to select for each matching entity
+     * @param <R>           the type of the page elements
+     * @return a pageable response containing the selected elements
+     */
+    private <R> PageableResponse<R> findPage(PageRequest pageRequest,
+            Specification<T> specification, String entityGraph, Selection<R> selection) {
+        return withSession(session -> {
+            int firstResult = pageRequest.page() * pageRequest.limit();
+            String from = " FROM " + entityClass.getName() + " e"
+                    + fetchJoins(session, entityGraph);
+
+            boolean cacheable = pageRequest.cacheable();
+
+            if (pageRequest.knownTotal() < 0 && pagingStrategy == PagingStrategy.WINDOW_COUNT) {
+                List<Object[]> rows = cacheable(cacheable, createQuery(session,
+                        "SELECT " + selection.columns() + ", COUNT(e) OVER ()" + from,
+                        specification, orderBy(pageRequest.sort(), true), Object[].class))
+                        .setFirstResult(firstResult)
+                        .setMaxResults(pageRequest.limit())
+                        .list();
+
+                List<R> content = new ArrayList<>(rows.size());
+                for (Object[] row : rows) {
+                    content.add(selection.mapper().apply(row));
+                }
+
+                long count = rows.isEmpty()
+                        ? countFiltered(session, specification, cacheable)
+                        : ((Number) rows.getFirst()[selection.width()]).longValue();
+
+                return new PageableResponse<>(pageRequest.page(), pageRequest.limit(), count,
+                        content);
+            }
+
+            List<Object> rows = cacheable(cacheable, createQuery(session,
+                    "SELECT " + selection.columns() + from, specification,
+                    orderBy(pageRequest.sort(), true), Object.class))
+                    .setFirstResult(firstResult)
+                    .setMaxResults(pageRequest.limit())
+                    .list();
+
+            List<R> content = new ArrayList<>(rows.size());
+            for (Object row : rows) {
+                content.add(selection.mapper().apply(
+                        row instanceof Object[] values ? values : new Object[]{row}));
+            }
+
+            long count = pageRequest.knownTotal() >= 0
+                    ? pageRequest.knownTotal()
+                    : countTotal(session, specification, cacheable);
+
+            return new PageableResponse<>(pageRequest.page(), pageRequest.limit(), count, content);
+        });
+    }
+
+    /**
+     * Finds a page of entities by seeking past the key carried by the request cursor, so the cost
+     * of a page does not depend on how deep it is. Pages are ordered by the requested sort
+     * property, with the identifier breaking ties, or by identifier alone. One extra row is
+     * fetched to detect whether a further page exists. The page number of keyset responses is
+     * always 0.
+     * <p>
+     * The total number of elements is only counted when the request does not carry it, and the
+     * count is served from the count cache under {@link PagingStrategy#CACHED_COUNT}, so following
+     * the cursors of a first page does not scan the matching rows again on every page. The queries
+     * are cached when the request is cacheable.
+     *
+     * @param pageRequest   the keyset pagination request containing the cursor and size
+     * @param specification the specification to match, or null to select every entity
+     * @param entityGraph   the name of the entity graph to fetch, or null to fetch nothing extra
+     * @param selection     what to select for each matching entity
+     * @param <R>           the type of the page elements
+     * @return a pageable response containing the selected elements and the adjacent page cursors
+     */
+    private <R> PageableResponse<R> findKeysetPage(KeysetPageRequest pageRequest,
+            Specification<T> specification, String entityGraph, Selection<R> selection) {
+        return withSession(session -> {
+            Object cursor = pageRequest.cursor();
+            boolean backward = pageRequest.backward() && cursor != null;
+            int limit = pageRequest.limit();
+
+            Sort sort = pageRequest.sort();
+            String property = sort == null ? null : "e." + persistentPath(sort.property());
+            boolean descending = (sort != null && sort.direction() == Sort.Direction.DESC)
+                    != backward;
+            String operator = descending ? "<" : ">";
+            String direction = descending ? " DESC" : " ASC";
+            String nullPrecedence = descending ? " NULLS LAST" : " NULLS FIRST";
+
+            BiConsumer<StringBuilder, List<Object>> afterCursor = null;
+
+            if (cursor != null) {
+                afterCursor = sort == null
+                        ? (condition, parameters) -> {
+                            parameters.add(cursor);
+                            condition.append("id(e) ").append(operator).append(" ?")
+                                    .append(parameters.size());
+                        }
+                        : (condition, parameters) -> appendSeek(condition, parameters, property,
+                                operator, (KeysetPageRequest.Cursor) cursor);
+            }
+
+            String select = sort == null
+                    ? "SELECT " + selection.columns() + ", id(e) FROM "
+                    : "SELECT " + selection.columns() + ", " + property + ", id(e) FROM ";
+            String orderBy = sort == null
+                    ? " ORDER BY id(e)" + direction
+                    : " ORDER BY " + property + direction + nullPrecedence + ", id(e)"
+                            + direction;
+
+            Query<Object[]> query = cacheable(pageRequest.cacheable(), createQuery(session,
+                    select + entityClass.getName() + " e" + fetchJoins(session, entityGraph),
+                    specification, afterCursor, orderBy, Object[].class));
+
+            List<Object[]> rows = new ArrayList<>(query.setMaxResults(limit + 1).list());
+            boolean hasMore = rows.size() > limit;
+
+            if (hasMore) {
+                rows.removeLast();
+            }
+
+            if (backward) {
+                Collections.reverse(rows);
+            }
+
+            List<R> content = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                content.add(selection.mapper().apply(row));
+            }
+
+            int keyColumn = selection.width();
+            Object firstId = rows.isEmpty() ? null : keyOf(rows.getFirst(), keyColumn, sort);
+            Object lastId = rows.isEmpty() ? null : keyOf(rows.getLast(), keyColumn, sort);
+
+            Object previousCursor;
+            Object nextCursor;
+
+            if (backward) {
+                previousCursor = hasMore ? firstId : null;
+                nextCursor = content.isEmpty() ? cursor : lastId;
+            } else {
+                previousCursor = cursor == null ? null : content.isEmpty() ? cursor : firstId;
+                nextCursor = hasMore ? lastId : null;
+            }
+
+            long count = pageRequest.knownTotal() >= 0
+                    ? pageRequest.knownTotal()
+                    : countTotal(session, specification, pageRequest.cacheable());
+
+            return new PageableResponse<>(0, limit, count, content, previousCursor, nextCursor);
+        });
+    }
+
+    /**
+     * Appends the condition selecting the rows past a sorted keyset cursor. Null sort values are
+     * ordered before every other value, so ascending pages end with the non-null values and
+     * descending pages with the null ones; the condition seeks across that boundary with explicit
+     * {@code IS NULL} branches, since comparisons with null never match.
+     *
+     * @param condition  the builder the condition is appended to
+     * @param parameters the ordinal parameters of the query, to which the cursor values are added
+     * @param property   the sort property, qualified with the entity alias
+     * @param operator   the comparison seeking in the reading direction, {@code >} or {@code <}
+     * @param cursor     the cursor to seek past
+     */
+    private static void appendSeek(StringBuilder condition, List<Object> parameters,
+            String property, String operator, KeysetPageRequest.Cursor cursor) {
+        boolean ascending = operator.equals(">");
+
+        parameters.add(cursor.id());
+        int id = parameters.size();
+
+        if (cursor.value() == null) {
+            condition.append("((").append(property).append(" IS NULL AND id(e) ").append(operator)
+                    .append(" ?").append(id).append(')');
+
+            if (ascending) {
+                condition.append(" OR ").append(property).append(" IS NOT NULL");
+            }
+
+            condition.append(')');
+
+            return;
+        }
+
+        parameters.add(cursor.value());
+        int value = parameters.size();
+
+        condition.append('(').append(property).append(' ').append(operator).append(" ?")
+                .append(value).append(" OR (").append(property).append(" = ?").append(value)
+                .append(" AND id(e) ").append(operator).append(" ?").append(id).append(')');
+
+        if (!ascending) {
+            condition.append(" OR ").append(property).append(" IS NULL");
+        }
+
+        condition.append(')');
+    }
+
+    /**
+     * Renders the associations of a named entity graph as HQL fetch joins on the entity aliased as
+     * {@code e}, following its subgraphs. Attributes of the graph that are not associations are
+     * skipped, as they are always loaded with their owner.
+     * <p>
+     * The graph is resolved from the session factory of the given session, which may be stateless,
+     * and the clauses are rendered once per graph name.
+     *
+     * @param session     the session whose factory the graph is looked up in
+     * @param entityGraph the name of the entity graph, or null for no fetch joins
+     * @return the fetch join clauses, or an empty string when no graph is given
+     * @throws IllegalArgumentException if no graph of the entity has the given name
+     */
+    private String fetchJoins(SharedSessionContract session, String entityGraph) {
+        if (entityGraph == null) {
+            return "";
+        }
+
+        return fetchJoinsCache.computeIfAbsent(entityGraph, name -> {
+            SessionFactoryImplementor factory =
+                    ((SharedSessionContractImplementor) session).getFactory();
+            EntityGraph<? super T> graph = factory.findEntityGraphsByType(entityClass).stream()
+                    .filter(candidate -> name.equals(candidate.getName()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown entity graph '"
+                            + name + "' of " + entityClass.getSimpleName()));
+
+            StringBuilder joins = new StringBuilder();
+
+            appendFetchJoins(factory.getMetamodel(), joins, "e",
+                    factory.getMetamodel().managedType(entityClass), graph.getAttributeNodes());
+
+            return joins.toString();
+        });
+    }
+
+    /**
+     * Appends a fetch join for every association among the given graph nodes, aliasing each joined
+     * association after its path so nested subgraphs can join from it.
+     *
+     * @param metamodel the metamodel to resolve the managed types with
+     * @param joins     the builder the fetch joins are appended to
+     * @param owner     the alias of the entity owning the attributes
+     * @param type      the managed type of the owner
+     * @param nodes     the graph nodes of the owner
+     */
+    private void appendFetchJoins(Metamodel metamodel, StringBuilder joins, String owner,
+            ManagedType<?> type, List<? extends AttributeNode<?>> nodes) {
+        for (AttributeNode<?> node : nodes) {
+            String name = node.getAttributeName();
+
+            if (!type.getAttribute(name).isAssociation()) {
+                continue;
+            }
+
+            String alias = owner + "_" + name;
+
+            joins.append(" LEFT JOIN FETCH ").append(owner).append('.').append(name)
+                    .append(' ').append(alias);
+
+            for (Subgraph<?> subgraph : node.getSubgraphs().values()) {
+                appendFetchJoins(metamodel, joins, alias,
+                        metamodel.managedType(subgraph.getClassType()),
+                        subgraph.getAttributeNodes());
+            }
+        }
+    }
+
+    /**
+     * Builds the keyset cursor of a row selected by {@link #findKeysetPage}.
+     *
+     * @param row  the selected row, holding the selection, the sort value when sorted, and the id
+     * @param key  the index of the first key column, right after the selection
+     * @param sort the ordering of the page, or null when ordered by identifier
+     * @return the identifier, or a cursor holding the sort value and the identifier
+     */
+    private Object keyOf(Object[] row, int key, Sort sort) {
+        return sort == null ? row[key] : new KeysetPageRequest.Cursor(row[key], row[key + 1]);
+    }
+
+    /**
+     * Selects the whole entity, as the single column of each row.
+     *
+     * @return the selection of the entity
+     */
+    private Selection<T> entities() {
+        return new Selection<>("e", 1, row -> entityClass.cast(row[0]));
+    }
+
+    /**
+     * Selects the attributes of a projection, instantiating a row from them.
+     *
+     * @param type the record or class the rows are instantiated as
+     * @param <R>  the type of the rows
+     * @return the selection of the projection
+     */
+    private <R> Selection<R> projected(Class<R> type) {
+        Projection<R> projection = Projection.of(type);
+
+        return new Selection<>(projection.select("e"), projection.paths().size(),
+                projection::instantiate);
+    }
+
+    /**
+     * Applies the given write to every entity inside one transaction, flushing the session every
+     * JDBC batch. The session is cleared after each flush only when it is not shared with a unit of
+     * work, so entities managed by the caller are never detached.
+     *
+     * @param entities the entities to write
+     * @param write    the write operation, returning the resulting entity
+     * @return the resulting entities
+     */
+    private List<T> writeInBatches(Collection<T> entities, BiFunction<Session, T, T> write) {
+        boolean ownsSession = !UnitOfWork.isActive();
+
+        return withTransaction(session -> {
+            int batchSize = session.getSessionFactory().getSessionFactoryOptions()
+                    .getJdbcBatchSize();
+            int flushInterval = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+
+            List<T> result = new ArrayList<>(entities.size());
+            int written = 0;
+
+            for (T entity : entities) {
+                result.add(write.apply(session, entity));
+
+                if (++written % flushInterval == 0) {
+                    session.flush();
+
+                    if (ownsSession) {
+                        session.clear();
+                    }
+                }
+            }
+
+            return result;
+        });
+    }
+
+    /**
+     * Counts the entities, optionally filtered by a specification.
+     *
+     * @param session       the session to run the query with
+     * @param specification the specification to match, or null to count every entity
+     * @param cacheable     whether the count may be served from the query cache
+     * @return the number of matching entities
+     */
+    private long countFiltered(Session session, Specification<T> specification,
+            boolean cacheable) {
+        return cacheable(cacheable, createQuery(session,
+                "SELECT COUNT(e) FROM " + entityClass.getName() + " e", specification,
+                Long.class)).uniqueResult();
+    }
+
+    /**
+     * Counts the entities matching a specification for the total of a page, reusing the count
+     * cache under {@link PagingStrategy#CACHED_COUNT}.
+     * <p>
+     * The count runs outside of the cache map, so slow counts do not block other keys, and is
+     * stored in the map read before it started: if a write invalidates the cache meanwhile, the
+     * count lands in the discarded map instead of outliving the write. Inside a unit of work the
+     * cache is bypassed, as the count may include writes that are not committed yet.
+     *
+     * @param session       the session to run the query with
+     * @param specification the specification to match, or null to count every entity
+     * @param cacheable     whether the count may be served from the query cache
+     * @return the number of matching entities
+     */
+    private long countTotal(Session session, Specification<T> specification, boolean cacheable) {
+        if (pagingStrategy != PagingStrategy.CACHED_COUNT || UnitOfWork.isActive()) {
+            return countFiltered(session, specification, cacheable);
+        }
+
+        Map<String, Long> counts = countCache;
+        String key = cacheKey(specification);
+        Long cachedCount = counts.get(key);
+
+        if (cachedCount != null) {
+            return cachedCount;
+        }
+
+        long count = countFiltered(session, specification, cacheable);
+
+        counts.put(key, count);
+
+        return count;
+    }
+
+    /**
+     * Discards the cached counts once the current write is committed: right away when no unit of
+     * work is open, since the write committed its own transaction, or after the commit of the
+     * open unit of work otherwise. Counts read before the commit still match the committed data,
+     * and discarding them earlier would let a concurrent count cache the old total again.
+     */
+    private void invalidateCountCache() {
+        UnitOfWork.currentUnitOfWork().ifPresentOrElse(
+                unitOfWork -> unitOfWork.afterCommit(this::resetCountCache),
+                this::resetCountCache);
+    }
+
+    private void resetCountCache() {
+        countCache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates a query from the given select statement, appending the condition rendered from the
+     * specification when one is provided.
+     *
+     * @param session       the session to create the query with
+     * @param select        the select statement, aliasing the entity as {@code e}
+     * @param specification the specification to match, or null for no filter
+     * @param resultType    the type of the query results
+     * @param <R>           the type of the query results
+     * @return the query ready to be paged and executed
+     */
+    private <R> Query<R> createQuery(SharedSessionContract session, String select,
+            Specification<T> specification, Class<R> resultType) {
+        return createQuery(session, select, specification, "", resultType);
+    }
+
+    /**
+     * Creates a query from the given select statement, appending the condition rendered from the
+     * specification followed by the given suffix, and binds the specification parameters.
+     *
+     * @param session       the session to create the query with
+     * @param select        the select statement, aliasing the entity as {@code e}
+     * @param specification the specification to match, or null for no filter
+     * @param suffix        the HQL appended after the condition, such as an ORDER BY clause
+     * @param resultType    the type of the query results
+     * @param <R>           the type of the query results
+     * @return the query ready to be executed
+     */
+    private <R> Query<R> createQuery(SharedSessionContract session, String select,
+            Specification<T> specification, String suffix, Class<R> resultType) {
+        return createQuery(session, select, specification, null, suffix, resultType);
+    }
+
+    /**
+     * Creates a query from the given select statement, appending the condition rendered from the
+     * specification and the given extra condition, followed by the given suffix, and binds the
+     * parameters of both conditions. The extra condition is rendered by the repository itself,
+     * such as the seek condition of a keyset page, so it never comes from callers.
+     *
+     * @param session         the session to create the query with
+     * @param select          the select statement, aliasing the entity as {@code e}
+     * @param specification   the specification to match, or null for no filter
+     * @param extraCondition  the renderer of a condition matched along with the specification, or
+     *                        null for none
+     * @param suffix          the HQL appended after the condition, such as an ORDER BY clause
+     * @param resultType      the type of the query results
+     * @param <R>             the type of the query results
+     * @return the query ready to be executed
+     */
+    private <R> Query<R> createQuery(SharedSessionContract session, String select,
+            Specification<T> specification,
+            BiConsumer<StringBuilder, List<Object>> extraCondition, String suffix,
+            Class<R> resultType) {
+        StringBuilder hql = new StringBuilder(select);
+        List<Object> parameters = new ArrayList<>();
+
+        if (specification != null && extraCondition != null) {
+            hql.append(" WHERE (");
+            specification.render(hql, parameters);
+            hql.append(") AND ");
+            extraCondition.accept(hql, parameters);
+        } else if (specification != null) {
+            hql.append(" WHERE ");
+            specification.render(hql, parameters);
+        } else if (extraCondition != null) {
+            hql.append(" WHERE ");
+            extraCondition.accept(hql, parameters);
+        }
+
+        Query<R> query = session.createQuery(hql.append(suffix).toString(), resultType);
+
+        for (int i = 0; i < parameters.size(); i++) {
+            if (parameters.get(i) instanceof Specification.ListParameter list) {
+                query.setParameterList(i + 1, list.values());
+            } else {
+                query.setParameter(i + 1, parameters.get(i));
+            }
+        }
+
+        return query;
+    }
+
+    /**
+     * Builds the HQL ORDER BY clause for the given orderings. Stable orderings end with the
+     * identifier, so rows with equal sort values keep the same relative order across pages.
+     *
+     * @param sort   the orderings to apply, in priority order
+     * @param stable whether to break ties by identifier
+     * @return the ORDER BY clause, or an empty string when there is no ordering
+     */
+    private String orderBy(List<Sort> sort, boolean stable) {
+        if (sort.isEmpty() && !stable) {
+            return "";
+        }
+
+        StringJoiner clause = new StringJoiner(", ", " ORDER BY ", "");
+
+        for (Sort order : sort) {
+            clause.add("e." + persistentPath(order.property()) + " " + order.direction().name());
+        }
+
+        if (stable) {
+            clause.add("id(e)");
+        }
+
+        return clause.toString();
+    }
+
+    /**
+     * Builds the key under which the total of a specification is kept in the count cache.
+     *
+     * @param specification the specification, or null for every entity
+     * @return the key identifying the condition and its parameters
+     */
+    private String cacheKey(Specification<T> specification) {
+        if (specification == null) {
+            return "";
+        }
+
+        StringBuilder condition = new StringBuilder();
+        List<Object> parameters = new ArrayList<>();
+
+        specification.render(condition, parameters);
+
+        return condition.append(parameters).toString();
+    }
+
+    /**
+     * Adapts the legacy field name and value filter to a specification.
+     *
+     * @param fieldName the name of the field to filter by, or null for no filter
+     * @param value     the value of the field to filter by
+     * @return the equivalent specification, or null when no field is given
+     */
+    private Specification<T> fieldEquals(String fieldName, Object value) {
+        return fieldName == null
+                ? null
+                : Specification.equal(
+                        Attribute.of(entityClass, persistentPath(fieldName), Object.class), value);
+    }
+
+    /**
+     * Checks that the given path names a persistent attribute of the entity, following singular
+     * associations and embedded values for dotted paths. Property names given by callers are
+     * concatenated into HQL, so anything else is rejected before it reaches a query.
+     *
+     * @param path the path of the attribute, relative to the entity
+     * @return the same path
+     * @throws IllegalArgumentException if the path does not name a persistent attribute
+     */
+    private String persistentPath(String path) {
+        ManagedType<?> type = getManagedType();
+        String[] names = path.split("\\.", -1);
+
+        for (int i = 0; i < names.length; i++) {
+            Object attribute;
+
+            try {
+                attribute = type.getAttribute(names[i]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        "Unknown attribute '" + path + "' of " + entityClass.getSimpleName(), e);
+            }
+
+            if (i == names.length - 1) {
+                break;
+            }
+
+            if (!(attribute instanceof SingularAttribute<?, ?> singular)
+                    || !(singular.getType() instanceof ManagedType<?> next)) {
+                throw new IllegalArgumentException(
+                        "Attribute '" + names[i] + "' of " + path + " cannot be navigated");
+            }
+
+            type = next;
+        }
+
+        return path;
+    }
+
+    /**
+     * Gets the metamodel type of the entity, resolving it on first use.
+     *
+     * @return the managed type of the entity
+     */
+    private ManagedType<T> getManagedType() {
+        if (managedType == null) {
+            managedType = withSession(session -> session.getMetamodel().managedType(entityClass));
+        }
+
+        return managedType;
+    }
+
+    /**
+     * Begins a unit of work whose session is opened through {@link #getSession()}, or joins the
+     * one already bound to the current thread.
+     *
+     * @return the unit of work to be committed and closed by the caller
+     */
+    public UnitOfWork beginUnitOfWork() {
+        return UnitOfWork.begin(this::getSession);
+    }
+
+    /**
+     * Runs the given work with the session bound to the current unit of work, or with a new
+     * session that is closed afterwards when no unit of work is open.
+     *
+     * @param work the work to run
+     * @param <R>  the type of the result
+     * @return the result of the work
+     */
+    protected <R> R withSession(Function<Session, R> work) {
+        Optional<Session> boundSession = UnitOfWork.currentSession();
+
+        if (boundSession.isPresent()) {
+            return work.apply(boundSession.get());
+        }
+
+        try (Session session = getSession()) {
+            return work.apply(session);
+        }
+    }
+
+    /**
+     * Runs the given work inside a transaction. When a unit of work is open, the work joins its
+     * transaction and is committed with it; otherwise a short-lived transaction is used.
+     *
+     * @param work the work to run
+     * @param <R>  the type of the result
+     * @return the result of the work
+     */
+    protected <R> R withTransaction(Function<Session, R> work) {
+        Optional<Session> boundSession = UnitOfWork.currentSession();
+
+        if (boundSession.isPresent()) {
+            return work.apply(boundSession.get());
+        }
+
         Transaction transaction = null;
 
         try (Session session = getSession()) {
             transaction = session.beginTransaction();
-            session.remove(entity);
+            R result = work.apply(session);
             transaction.commit();
+
+            return result;
         } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
+            try {
+                if (transaction != null && transaction.isActive()) {
+                    transaction.rollback();
+                }
+            } catch (Exception ignored) {
             }
+
             throw e;
         }
     }
@@ -244,4 +1267,25 @@ public class HibernateRepository<T, ID extends Serializable> implements Reposito
         return HibernateManager.getSession();
     }
 
+    /**
+     * Gets a new Hibernate stateless session, used to stream large result sets.
+     *
+     * @return a new Hibernate stateless session
+     */
+    public StatelessSession getStatelessSession() {
+        return HibernateManager.getStatelessSession();
+    }
+
+    /**
+     * What a paged query selects for each matching entity, aliased as {@code e}.
+     *
+     * @param columns the HQL selection
+     * @param width   the number of selected columns, after which the paging columns follow
+     * @param mapper  the function creating a page element from a selected row
+     * @param <R>     the type of the page elements
+     */
+    private record Selection<R>(String columns, int width, Function<Object[], R> mapper) {
+
+    }
+
 }
@@ -0,0 +1,404 @@
+package br.edu.ifba.inf008.core.ui.components.table;
+
+import br.edu.ifba.inf008.core.domain.models.KeysetPageRequest;
+import br.edu.ifba.inf008.core.domain.models.PageRequest;
+import br.edu.ifba.inf008.core.domain.models.PageableResponse;
+import br.edu.ifba.inf008.core.domain.models.Sort;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.collections.ObservableListBase;
+
+/**
+ * An observable list of table rows that are loaded on demand, in fixed-size blocks, as they are
+ * displayed. Only the most recently displayed blocks are kept in memory, so scrolling through a
+ * large result set uses bounded memory.
+ * <p>
+ * The size of the list is the total number of rows reported with the loaded blocks: the first
+ * block counts the rows, and the following ones pass that total along so that the repository does
+ * not count them again. Rows of blocks that are not loaded yet are read as null, and replaced with
+ * the loaded rows once their block is loaded on a background thread. Like any other JavaFX list
+ * backing a table, it must only be used from the JavaFX application thread.
+ * <p>
+ * Lists given a keyset loader load the blocks next to a loaded block by seeking past its first or
+ * last row, so scrolling deep into the rows costs the same as loading the first block. Blocks
+ * reached without going through their neighbours, for instance by dragging the scroll bar, and
+ * rows sorted by more than one key are loaded by offset.
+ * <p>
+ * Invalidating the list marks the blocks in memory as stale: their rows are still displayed, so
+ * the table neither flickers nor scrolls, but they are loaded again, and counted again, as soon as
+ * they are displayed. Loads started before the list was invalidated are discarded when they end.
+ *
+ * @param <T> The type of the rows.
+ */
+public class LazyRowList<T> extends ObservableListBase<T> {
+
+    private final Function<PageRequest, PageableResponse<T>> loader;
+    private final Function<KeysetPageRequest, PageableResponse<T>> keysetLoader;
+    private final List<Sort> sort;
+    private final int blockSize;
+    private final Executor executor;
+    private final Executor uiExecutor;
+    private final Map<Integer, Block<T>> blocks;
+    private final Set<Integer> loadingBlocks = new HashSet<>();
+    private final Map<Integer, KeysetPageRequest> keysetRequests = new HashMap<>();
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(false);
+
+    private int size = 0;
+    private long knownTotal = -1;
+    private int generation = 0;
+
+    /**
+     * Creates an empty list. Nothing is loaded until {@link #load(int)} is called.
+     *
+     * @param loader    The function loading a block of rows as a page of the block size.
+     * @param sort      The sort keys the rows are loaded with.
+     * @param blockSize The number of rows loaded at once.
+     * @param maxBlocks The maximum number of blocks kept in memory.
+     * @param executor  The executor the blocks are loaded on.
+     */
+    public LazyRowList(Function<PageRequest, PageableResponse<T>> loader, List<Sort> sort,
+            int blockSize, int maxBlocks, Executor executor) {
+        this(loader, null, sort, blockSize, maxBlocks, executor, Platform::runLater);
+    }
+
+    /**
+     * Creates an empty list loading the blocks next to the loaded ones by keyset. Nothing is loaded
+     * until {@link #load(int)} is called.
+     *
+     * @param loader       The function loading a block of rows as a page of the block size.
+     * @param keysetLoader The function loading a block of rows as a keyset page of the block size.
+     * @param sort         The sort keys the rows are loaded with.
+     * @param blockSize    The number of rows loaded at once.
+     * @param maxBlocks    The maximum number of blocks kept in memory.
+     * @param executor     The executor the blocks are loaded on.
+     */
+    public LazyRowList(Function<PageRequest, PageableResponse<T>> loader,
+            Function<KeysetPageRequest, PageableResponse<T>> keysetLoader, List<Sort> sort,
+            int blockSize, int maxBlocks, Executor executor) {
+        this(loader, keysetLoader, sort, blockSize, maxBlocks, executor, Platform::runLater);
+    }
+
+    /**
+     * Creates an empty list whose loaded blocks are handed back on the given executor instead of
+     * the JavaFX application thread.
+     *
+     * @param loader     The function loading a block of rows as a page of the block size.
+     * @param sort       The sort keys the rows are loaded with.
+     * @param blockSize  The number of rows loaded at once.
+     * @param maxBlocks  The maximum number of blocks kept in memory.
+     * @param executor   The executor the blocks are loaded on.
+     * @param uiExecutor The executor the loaded blocks are displayed on.
+     */
+    public LazyRowList(Function<PageRequest, PageableResponse<T>> loader, List<Sort> sort,
+            int blockSize, int maxBlocks, Executor executor, Executor uiExecutor) {
+        this(loader, null, sort, blockSize, maxBlocks, executor, uiExecutor);
+    }
+
+    /**
+     * Creates an empty list loading the blocks next to the loaded ones by keyset, whose loaded
+     * blocks are handed back on the given executor instead of the JavaFX application thread.
+     *
+     * @param loader       The function loading a block of rows as a page of the block size.
+     * @param keysetLoader The function loading a block of rows as a keyset page of the block size,
+     *                     or null to load every block by offset.
+     * @param sort         The sort keys the rows are loaded with.
+     * @param blockSize    The number of rows loaded at once.
+     * @param maxBlocks    The maximum number of blocks kept in memory.
+     * @param executor     The executor the blocks are loaded on.
+     * @param uiExecutor   The executor the loaded blocks are displayed on.
+     */
+    public LazyRowList(Function<PageRequest, PageableResponse<T>> loader,
+            Function<KeysetPageRequest, PageableResponse<T>> keysetLoader, List<Sort> sort,
+            int blockSize, int maxBlocks, Executor executor, Executor uiExecutor) {
+        this.loader = loader;
+        this.keysetLoader = keysetLoader;
+        this.sort = sort;
+        this.blockSize = blockSize;
+        this.executor = executor;
+        this.uiExecutor = uiExecutor;
+        this.blocks = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Block<T>> eldest) {
+                return size() > maxBlocks;
+            }
+        };
+    }
+
+    /**
+     * Gets the row at the given index, starting to load its block when it is not in memory or is
+     * stale.
+     *
+     * @param index The index of the row.
+     * @return The row, possibly stale, or null if its block is not loaded yet.
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        Block<T> block = blocks.get(index / blockSize);
+
+        if (block == null || block.generation() != generation) {
+            load(index);
+        }
+
+        return block == null ? null : block.get(index % blockSize);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the index of a row among the loaded rows only, so that looking up a row never loads
+     * the whole result set.
+     *
+     * @param object The row to look for.
+     * @return The index of the row, or -1 if it is not loaded.
+     */
+    @Override
+    public int indexOf(Object object) {
+        for (Map.Entry<Integer, Block<T>> block : blocks.entrySet()) {
+            int offset = block.getValue().rows().indexOf(object);
+
+            if (offset >= 0) {
+                return block.getKey() * blockSize + offset;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object object) {
+        return indexOf(object);
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return indexOf(object) >= 0;
+    }
+
+    /**
+     * Starts loading the block containing the row at the given index, unless it is in memory and
+     * up to date, or already being loaded.
+     *
+     * @param index The index of the row.
+     */
+    public void load(int index) {
+        int block = index / blockSize;
+        Block<T> loaded = blocks.get(block);
+
+        if ((loaded != null && loaded.generation() == generation) || !loadingBlocks.add(block)) {
+            return;
+        }
+
+        loading.set(true);
+
+        int requestGeneration = generation;
+        PageRequest request = PageRequest.of(block, blockSize, sort).withKnownTotal(knownTotal);
+        KeysetPageRequest keysetRequest = getKeysetRequest(block);
+
+        CompletableFuture.supplyAsync(() -> keysetRequest != null
+                        ? keysetLoader.apply(keysetRequest)
+                        : loader.apply(request), executor)
+                .whenComplete((response, error) -> uiExecutor.execute(() -> {
+                    if (requestGeneration != generation) {
+                        return;
+                    }
+
+                    loadingBlocks.remove(block);
+                    loading.set(!loadingBlocks.isEmpty());
+
+                    if (error != null) {
+                        Throwable cause =
+                                error instanceof CompletionException ? error.getCause() : error;
+                        System.err.println(
+                                "Error loading rows " + block * blockSize + ": " + cause.getMessage());
+                        return;
+                    }
+
+                    if (response != null) {
+                        rememberAdjacentRequests(block, response);
+                        displayBlock(block, List.copyOf(response.getContent()),
+                                response.getTotalElements());
+                    }
+                }));
+    }
+
+    /**
+     * Marks the blocks in memory as stale and discards the loads in progress. The stale rows stay
+     * on screen, and the table is notified of them so that it reads them again, which loads their
+     * blocks again. The most recently displayed block is reloaded right away, so that the size of
+     * the list is refreshed even if the table reads no row.
+     */
+    public void invalidate() {
+        generation++;
+        knownTotal = -1;
+        loadingBlocks.clear();
+        keysetRequests.clear();
+        loading.set(false);
+
+        List<Integer> loadedBlocks = new ArrayList<>(blocks.keySet());
+
+        if (!loadedBlocks.isEmpty()) {
+            beginChange();
+
+            for (int block : loadedBlocks) {
+                int from = block * blockSize;
+                int to = Math.min(from + blockSize, size);
+
+                for (int index = from; index < to; index++) {
+                    nextSet(index, peek(index));
+                }
+            }
+
+            endChange();
+        }
+
+        load(loadedBlocks.isEmpty() ? 0 : loadedBlocks.getLast() * blockSize);
+    }
+
+    /**
+     * Gets whether a block is being loaded.
+     *
+     * @return The property holding whether a block is being loaded.
+     */
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
+
+    /**
+     * Builds the keyset request of a block: the first block is read from the start, and the others
+     * by seeking past the cursors of a loaded neighbour.
+     *
+     * @param block The number of the block.
+     * @return The keyset request, or null if the block has to be loaded by offset.
+     */
+    private KeysetPageRequest getKeysetRequest(int block) {
+        if (keysetLoader == null || sort.size() > 1) {
+            return null;
+        }
+
+        KeysetPageRequest request =
+                block == 0 ? KeysetPageRequest.first(blockSize) : keysetRequests.get(block);
+
+        return request == null
+                ? null
+                : request.withSort(sort.isEmpty() ? null : sort.getFirst())
+                        .withKnownTotal(knownTotal);
+    }
+
+    /**
+     * Keeps the requests reading the blocks before and after a loaded block by keyset, from the
+     * cursors of its first and last rows.
+     *
+     * @param block    The number of the loaded block.
+     * @param response The loaded block.
+     */
+    private void rememberAdjacentRequests(int block, PageableResponse<T> response) {
+        if (keysetLoader == null) {
+            return;
+        }
+
+        if (response.getNextCursor() != null) {
+            keysetRequests.put(block + 1,
+                    KeysetPageRequest.after(response.getNextCursor(), blockSize));
+        }
+
+        if (block > 0 && response.getPreviousCursor() != null) {
+            keysetRequests.putIfAbsent(block - 1,
+                    KeysetPageRequest.before(response.getPreviousCursor(), blockSize));
+        }
+    }
+
+    /**
+     * Keeps a loaded block in memory and notifies the table of its rows. The total number of rows
+     * reported with the block becomes the size of the list, so rows added or removed since the
+     * last count are added to or removed from the end of the list.
+     *
+     * @param block         The number of the block.
+     * @param rows          The rows of the block.
+     * @param totalElements The total number of rows reported with the block.
+     */
+    private void displayBlock(int block, List<T> rows, long totalElements) {
+        int oldSize = size;
+        int newSize = (int) Math.min(totalElements, Integer.MAX_VALUE);
+        int from = block * blockSize;
+        int to = Math.min(from + blockSize, Math.min(oldSize, newSize));
+
+        List<T> previousRows = new ArrayList<>();
+        List<T> removedRows = new ArrayList<>();
+
+        for (int index = from; index < to; index++) {
+            previousRows.add(peek(index));
+        }
+
+        for (int index = newSize; index < oldSize; index++) {
+            removedRows.add(peek(index));
+        }
+
+        size = newSize;
+        knownTotal = totalElements;
+        blocks.keySet().removeIf(loaded -> loaded * blockSize >= newSize);
+
+        if (from < newSize) {
+            blocks.put(block, new Block<>(rows, generation));
+        }
+
+        beginChange();
+
+        for (int index = from; index < to; index++) {
+            nextSet(index, previousRows.get(index - from));
+        }
+
+        if (newSize > oldSize) {
+            nextAdd(oldSize, newSize);
+        } else if (newSize < oldSize) {
+            nextRemove(newSize, removedRows);
+        }
+
+        endChange();
+    }
+
+    /**
+     * Reads the row at the given index from memory, without loading its block.
+     *
+     * @param index The index of the row.
+     * @return The row, or null if its block is not in memory.
+     */
+    private T peek(int index) {
+        Block<T> block = blocks.get(index / blockSize);
+
+        return block == null ? null : block.get(index % blockSize);
+    }
+
+    /**
+     * A block of rows kept in memory, along with the generation of the list it was loaded in.
+     *
+     * @param rows       The rows of the block.
+     * @param generation The generation of the list when the block was loaded.
+     */
+    private record Block<T>(List<T> rows, int generation) {
+
+        T get(int offset) {
+            return offset < rows.size() ? rows.get(offset) : null;
+        }
+
+    }
+
+}
@@ -2,35 +2,64 @@ package br.edu.ifba.inf008.core.ui.components.table;
 
 import br.edu.ifba.inf008.core.ICore;
 import br.edu.ifba.inf008.core.IUIController;
+import br.edu.ifba.inf008.core.domain.models.KeysetPageRequest;
+import br.edu.ifba.inf008.core.domain.models.PageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageableResponse;
-import br.edu.ifba.inf008.core.ui.components.table.annotations.TableIgnore;
-import br.edu.ifba.inf008.core.ui.components.table.annotations.TableLabel;
+import br.edu.ifba.inf008.core.domain.models.Sort;
 import br.edu.ifba.inf008.core.ui.components.table.factories.TableColumnFactory;
 import br.edu.ifba.inf008.core.ui.components.table.interfaces.TableAction;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
+import br.edu.ifba.inf008.core.ui.components.table.models.TableColumnMetadata;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiFunction;
+import java.util.function.Function;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableColumn.SortType;
 import javafx.scene.control.TableView;
 import javafx.scene.control.Tooltip;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 
 /**
  * A generic table component for displaying paginated data. It supports dynamic column creation
  * based on the provided class type, and allows for pagination through next and previous buttons.
+ * Pages are loaded either by offset (page number and size) or by keyset, following the cursors
+ * returned with each page. When the loader accepts sort keys, clicking a column header reloads the
+ * data sorted by the database instead of sorting only the rows on screen.
+ * <p>
+ * Loaders run on a background thread, never on the JavaFX application thread, so the UI stays
+ * responsive while a page is read from the database. A loading indicator is shown meanwhile, and a
+ * page requested while another one is loading supersedes it.
+ * <p>
+ * The last pages loaded are kept in a small LRU cache, and the pages adjacent to the displayed one
+ * are prefetched in the background, so moving to the next or previous page is usually served
+ * without waiting for the database. Cached pages are dropped by {@link #reload()} and
+ * {@link #invalidate()}, which should be called whenever the displayed data is written.
+ * <p>
+ * Tables created with {@link #withInfiniteScroll(Class, Function)} have no pages: all the rows are
+ * scrolled through, backed by a {@link LazyRowList} that loads the rows in blocks as they are
+ * displayed and only keeps the recent blocks in memory. When such a table is also given a keyset
+ * loader, the blocks are read by seeking past the rows of the block before them.
  *
  * @param <T> The type of data to be displayed in the table.
  */
@@ -39,18 +68,62 @@ public class TableComponent<T> extends VBox {
     private static final ICore core = ICore.getInstance();
     private static final IUIController uiController = core.getUIController();
 
+    /**
+     * Executor running the page loaders, one virtual thread per load.
+     */
+    private static final ExecutorService LOADER_EXECUTOR =
+            Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Maximum number of pages kept in the cache of each table.
+     */
+    private static final int PAGE_CACHE_CAPACITY = 8;
+
+    /**
+     * Number of rows loaded at once by tables using infinite scroll.
+     */
+    private static final int ROW_BLOCK_SIZE = 100;
+
+    /**
+     * Maximum number of row blocks kept in memory by tables using infinite scroll.
+     */
+    private static final int MAX_ROW_BLOCKS = 10;
+
     private final TableView<T> tableView = new TableView<>();
     private final Label pageInfo = new Label();
     private final Button prevButton = new Button("← Previous");
     private final Button nextButton = new Button("Next →");
+    private final ProgressIndicator loadingIndicator = new ProgressIndicator();
 
     private final Class<T> clazz;
-    private final BiFunction<Integer, Integer, PageableResponse<T>> loader;
+    private final Function<PageRequest, PageableResponse<T>> loader;
+    private final Function<KeysetPageRequest, PageableResponse<T>> keysetLoader;
+    private final boolean serverSideSorting;
+    private final boolean infiniteScroll;
+    private final Map<TableColumn<T, ?>, String> sortProperties = new HashMap<>();
+    private final Map<PageRequest, CompletableFuture<PageableResponse<T>>> pageCache =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.Entry<PageRequest, CompletableFuture<PageableResponse<T>>> eldest) {
+                    return size() > PAGE_CACHE_CAPACITY;
+                }
+            };
 
     private List<String> bypassableIgnoredFields;
+    private List<Sort> sort = List.of();
     private int currentPage = 0;
     private int pageSize = 10;
     private long totalElements = 0;
+    private long knownTotal = -1;
+
+    private KeysetPageRequest currentKeysetRequest;
+    private Object previousCursor;
+    private Object nextCursor;
+
+    private long loadGeneration = 0;
+
+    private LazyRowList<T> rows;
 
     public TableComponent(Class<T> clazz,
             BiFunction<Integer, Integer, PageableResponse<T>> loader) {
@@ -59,20 +132,52 @@ public class TableComponent<T> extends VBox {
 
     public TableComponent(Class<T> clazz,
             BiFunction<Integer, Integer, PageableResponse<T>> loader, List<String> bypassableIgnoredFields) {
+        this(clazz, request -> loader.apply(request.page(), request.limit()), null,
+                bypassableIgnoredFields, false, false);
+    }
+
+    private TableComponent(Class<T> clazz,
+            Function<PageRequest, PageableResponse<T>> loader,
+            Function<KeysetPageRequest, PageableResponse<T>> keysetLoader,
+            List<String> bypassableIgnoredFields, boolean serverSideSorting,
+            boolean infiniteScroll) {
         this.clazz = clazz;
         this.loader = loader;
+        this.keysetLoader = keysetLoader;
         this.bypassableIgnoredFields = bypassableIgnoredFields;
+        this.serverSideSorting = serverSideSorting;
+        this.infiniteScroll = infiniteScroll;
 
         tableView.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
 
+        if (serverSideSorting) {
+            tableView.setSortPolicy(table -> {
+                applySortOrder();
+
+                return true;
+            });
+        }
+
         setSpacing(10);
         setPadding(new Insets(10));
         getStyleClass().add("table-container");
 
+        loadingIndicator.setMaxSize(48, 48);
+        loadingIndicator.setMouseTransparent(true);
+        loadingIndicator.setVisible(false);
+        loadingIndicator.getStyleClass().add("table-loading-indicator");
+
         createColumnsFromClass();
-        loadPage(0);
 
-        HBox pagination = new HBox(10, prevButton, pageInfo, nextButton);
+        if (infiniteScroll) {
+            loadRows();
+        } else {
+            loadPage(0);
+        }
+
+        HBox pagination = infiniteScroll
+                ? new HBox(10, pageInfo)
+                : new HBox(10, prevButton, pageInfo, nextButton);
         pagination.setAlignment(Pos.CENTER);
         pagination.setPadding(new Insets(10));
         pagination.getStyleClass().add("pagination-bar");
@@ -84,14 +189,170 @@ public class TableComponent<T> extends VBox {
         nextButton.getStyleClass().add("table-button");
 
         BorderPane tableWrapper = new BorderPane();
-        tableWrapper.setCenter(tableView);
+        tableWrapper.setCenter(new StackPane(tableView, loadingIndicator));
         tableWrapper.setBottom(pagination);
 
         getChildren().add(tableWrapper);
     }
 
     /**
-     * Loads the specified page of data into the table.
+     * Creates a table component that pages through the data by offset and sorts it on the server
+     * when a column header is clicked.
+     *
+     * @param clazz  The class of the data to be displayed.
+     * @param loader The function loading a page for the given page request.
+     * @param <T>    The type of data to be displayed in the table.
+     * @return A new TableComponent using server-side sorting.
+     */
+    public static <T> TableComponent<T> withServerSideSorting(Class<T> clazz,
+            Function<PageRequest, PageableResponse<T>> loader) {
+        return withServerSideSorting(clazz, loader, new ArrayList<>());
+    }
+
+    /**
+     * Creates a table component that pages through the data by offset and sorts it on the server
+     * when a column header is clicked.
+     *
+     * @param clazz                   The class of the data to be displayed.
+     * @param loader                  The function loading a page for the given page request.
+     * @param bypassableIgnoredFields The fields annotated with @TableIgnore to be displayed anyway.
+     * @param <T>                     The type of data to be displayed in the table.
+     * @return A new TableComponent using server-side sorting.
+     */
+    public static <T> TableComponent<T> withServerSideSorting(Class<T> clazz,
+            Function<PageRequest, PageableResponse<T>> loader,
+            List<String> bypassableIgnoredFields) {
+        return new TableComponent<>(clazz, loader, null, bypassableIgnoredFields, true, false);
+    }
+
+    /**
+     * Creates a table component that pages through the data by keyset, so that navigating to deep
+     * pages costs the same as loading the first one. Clicking a column header reloads the data
+     * sorted by that column.
+     *
+     * @param clazz  The class of the data to be displayed.
+     * @param loader The function loading a page for the given keyset request.
+     * @param <T>    The type of data to be displayed in the table.
+     * @return A new TableComponent using keyset pagination.
+     */
+    public static <T> TableComponent<T> withKeysetPagination(Class<T> clazz,
+            Function<KeysetPageRequest, PageableResponse<T>> loader) {
+        return withKeysetPagination(clazz, loader, new ArrayList<>());
+    }
+
+    /**
+     * Creates a table component that pages through the data by keyset, so that navigating to deep
+     * pages costs the same as loading the first one. Clicking a column header reloads the data
+     * sorted by that column.
+     *
+     * @param clazz                   The class of the data to be displayed.
+     * @param loader                  The function loading a page for the given keyset request.
+     * @param bypassableIgnoredFields The fields annotated with @TableIgnore to be displayed anyway.
+     * @param <T>                     The type of data to be displayed in the table.
+     * @return A new TableComponent using keyset pagination.
+     */
+    public static <T> TableComponent<T> withKeysetPagination(Class<T> clazz,
+            Function<KeysetPageRequest, PageableResponse<T>> loader,
+            List<String> bypassableIgnoredFields) {
+        return new TableComponent<>(clazz, null, loader, bypassableIgnoredFields, true, false);
+    }
+
+    /**
+     * Creates a table component without pages, whose rows are all scrolled through and loaded in
+     * blocks as they are displayed, keeping a bounded number of rows in memory. Clicking a column
+     * header reloads the data sorted by that column.
+     *
+     * @param clazz  The class of the data to be displayed.
+     * @param loader The function loading a block of rows for the given page request.
+     * @param <T>    The type of data to be displayed in the table.
+     * @return A new TableComponent using infinite scroll.
+     */
+    public static <T> TableComponent<T> withInfiniteScroll(Class<T> clazz,
+            Function<PageRequest, PageableResponse<T>> loader) {
+        return withInfiniteScroll(clazz, loader, new ArrayList<>());
+    }
+
+    /**
+     * Creates a table component without pages, whose rows are all scrolled through and loaded in
+     * blocks as they are displayed, keeping a bounded number of rows in memory. Clicking a column
+     * header reloads the data sorted by that column.
+     *
+     * @param clazz                   The class of the data to be displayed.
+     * @param loader                  The function loading a block of rows for the given page
+     *                                request.
+     * @param bypassableIgnoredFields The fields annotated with @TableIgnore to be displayed anyway.
+     * @param <T>                     The type of data to be displayed in the table.
+     * @return A new TableComponent using infinite scroll.
+     */
+    public static <T> TableComponent<T> withInfiniteScroll(Class<T> clazz,
+            Function<PageRequest, PageableResponse<T>> loader,
+            List<String> bypassableIgnoredFields) {
+        return new TableComponent<>(clazz, loader, null, bypassableIgnoredFields, true, true);
+    }
+
+    /**
+     * Creates a table component without pages, whose rows are all scrolled through and loaded in
+     * blocks as they are displayed. Blocks following or preceding a loaded block are read by
+     * keyset, so scrolling deep into the data costs the same as loading the first block, while
+     * blocks reached by dragging the scroll bar are read by offset.
+     *
+     * @param clazz        The class of the data to be displayed.
+     * @param loader       The function loading a block of rows for the given page request.
+     * @param keysetLoader The function loading a block of rows for the given keyset request.
+     * @param <T>          The type of data to be displayed in the table.
+     * @return A new TableComponent using infinite scroll.
+     */
+    public static <T> TableComponent<T> withInfiniteScroll(Class<T> clazz,
+            Function<PageRequest, PageableResponse<T>> loader,
+            Function<KeysetPageRequest, PageableResponse<T>> keysetLoader) {
+        return withInfiniteScroll(clazz, loader, keysetLoader, new ArrayList<>());
+    }
+
+    /**
+     * Creates a table component without pages, whose rows are all scrolled through and loaded in
+     * blocks as they are displayed. Blocks following or preceding a loaded block are read by
+     * keyset, so scrolling deep into the data costs the same as loading the first block, while
+     * blocks reached by dragging the scroll bar are read by offset.
+     *
+     * @param clazz                   The class of the data to be displayed.
+     * @param loader                  The function loading a block of rows for the given page
+     *                                request.
+     * @param keysetLoader            The function loading a block of rows for the given keyset
+     *                                request.
+     * @param bypassableIgnoredFields The fields annotated with @TableIgnore to be displayed anyway.
+     * @param <T>                     The type of data to be displayed in the table.
+     * @return A new TableComponent using infinite scroll.
+     */
+    public static <T> TableComponent<T> withInfiniteScroll(Class<T> clazz,
+            Function<PageRequest, PageableResponse<T>> loader,
+            Function<KeysetPageRequest, PageableResponse<T>> keysetLoader,
+            List<String> bypassableIgnoredFields) {
+        return new TableComponent<>(clazz, loader, keysetLoader, bypassableIgnoredFields, true,
+                true);
+    }
+
+    /**
+     * Replaces the rows of an infinite scroll table with a new lazy list, sorted by the current
+     * sort keys, and starts loading its first block. The number of rows is shown once known.
+     */
+    private void loadRows() {
+        rows = new LazyRowList<>(loader, keysetLoader, sort, ROW_BLOCK_SIZE, MAX_ROW_BLOCKS,
+                LOADER_EXECUTOR);
+        rows.addListener((ListChangeListener<T>) change ->
+                pageInfo.setText(rows.size() + (rows.size() == 1 ? " row" : " rows")));
+
+        loadingIndicator.visibleProperty().bind(rows.loadingProperty());
+        tableView.setItems(rows);
+
+        rows.load(0);
+    }
+
+    /**
+     * Loads the specified page of data into the table. Cached pages are displayed right away;
+     * otherwise the loader runs on a background thread while the table shows its loading state, and
+     * the page is displayed on the JavaFX application thread once loaded. Loading a page supersedes
+     * the pending load, whose result is discarded but still cached; its query is not interrupted,
+     * as interrupting a JDBC call may break the connection.
      *
      * @param page The page number to load.
      */
@@ -100,19 +361,167 @@ public class TableComponent<T> extends VBox {
             return;
         }
 
-        PageableResponse<T> response = loader.apply(page, pageSize);
+        KeysetPageRequest keysetRequest = keysetLoader != null ? getKeysetRequest(page) : null;
+
+        if (keysetLoader != null && keysetRequest == null) {
+            return;
+        }
+
+        long generation = ++loadGeneration;
+        CompletableFuture<PageableResponse<T>> load = fetchPage(page, keysetRequest);
+
+        if (load.isDone() && !load.isCompletedExceptionally()) {
+            displayPage(page, keysetRequest, load.join());
+            return;
+        }
+
+        setLoading(true);
+
+        load.whenComplete((response, error) -> Platform.runLater(() -> {
+            if (generation != loadGeneration) {
+                return;
+            }
+
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                System.err.println("Error loading page " + (page + 1) + ": " + cause.getMessage());
+
+                setLoading(false);
+                updatePaginationState();
+                return;
+            }
+
+            displayPage(page, keysetRequest, response);
+        }));
+    }
+
+    /**
+     * Gets the specified page from the cache, starting to load it on a background thread when it
+     * is not cached or its previous load failed. Keyset pages are cached by page number as well,
+     * since under a given sort each of them is only reachable through the same cursors. Once a
+     * page was displayed, its total is passed to the loader, so that the pages loaded after it,
+     * prefetched ones included, are read without counting the rows again.
+     *
+     * @param page          The page number to fetch.
+     * @param keysetRequest The keyset request of the page, or null for offset pages.
+     * @return The pending or completed load of the page.
+     */
+    private CompletableFuture<PageableResponse<T>> fetchPage(int page,
+            KeysetPageRequest keysetRequest) {
+        PageRequest pageRequest = PageRequest.of(page, pageSize, sort);
+        CompletableFuture<PageableResponse<T>> load = pageCache.get(pageRequest);
+
+        if (load == null || load.isCompletedExceptionally()) {
+            PageRequest loadRequest = pageRequest.withKnownTotal(knownTotal);
+
+            load = CompletableFuture.supplyAsync(() -> keysetRequest != null
+                    ? keysetLoader.apply(keysetRequest)
+                    : loader.apply(loadRequest), LOADER_EXECUTOR);
+
+            pageCache.put(pageRequest, load);
+        }
+
+        return load;
+    }
+
+    /**
+     * Starts loading the pages before and after the displayed one, so that moving to them does not
+     * wait for the database. Pages already cached are not loaded again, and the others reuse the
+     * total of the displayed page instead of counting the rows.
+     */
+    private void prefetchAdjacentPages() {
+        for (int page : new int[]{currentPage + 1, currentPage - 1}) {
+            if (page < 0 || (keysetLoader == null && page >= getTotalPages())) {
+                continue;
+            }
+
+            KeysetPageRequest keysetRequest =
+                    keysetLoader != null ? getKeysetRequest(page) : null;
+
+            if (keysetLoader == null || keysetRequest != null) {
+                fetchPage(page, keysetRequest);
+            }
+        }
+    }
+
+    /**
+     * Displays a loaded page in the table and updates the pagination state.
+     *
+     * @param page          The page number that was loaded.
+     * @param keysetRequest The keyset request the page was loaded with, or null for offset pages.
+     * @param response      The loaded page, or null if the loader returned nothing.
+     */
+    private void displayPage(int page, KeysetPageRequest keysetRequest,
+            PageableResponse<T> response) {
+        setLoading(false);
+
         if (response == null) {
+            updatePaginationState();
             return;
         }
 
-        currentPage = response.getPage();
+        if (keysetRequest != null) {
+            currentKeysetRequest = keysetRequest;
+        }
+
+        currentPage = keysetLoader != null ? page : response.getPage();
         pageSize = response.getSize();
         totalElements = response.getTotalElements();
+        knownTotal = totalElements;
+        previousCursor = response.getPreviousCursor();
+        nextCursor = response.getNextCursor();
+
+        if (keysetLoader != null && previousCursor == null) {
+            currentPage = 0;
+        }
 
         Collection<T> content = response.getContent();
         tableView.setItems(FXCollections.observableArrayList(content));
 
         updatePaginationState();
+        prefetchAdjacentPages();
+    }
+
+    /**
+     * Builds the keyset request of the specified page. Only the current page and its adjacent
+     * pages can be reached, by following the cursors of the current page. The total reported with
+     * the displayed page is passed along, so that the repository does not count the rows again.
+     *
+     * @param page The page number to load.
+     * @return The keyset request, or null if the page cannot be reached from the current one.
+     */
+    private KeysetPageRequest getKeysetRequest(int page) {
+        KeysetPageRequest request;
+
+        if (page == currentPage && currentKeysetRequest != null) {
+            request = new KeysetPageRequest(currentKeysetRequest.cursor(),
+                    currentKeysetRequest.backward(), pageSize);
+        } else if (page == 0) {
+            request = KeysetPageRequest.first(pageSize);
+        } else if (page == currentPage + 1 && nextCursor != null) {
+            request = KeysetPageRequest.after(nextCursor, pageSize);
+        } else if (page == currentPage - 1 && previousCursor != null) {
+            request = KeysetPageRequest.before(previousCursor, pageSize);
+        } else {
+            return null;
+        }
+
+        return request.withSort(sort.isEmpty() ? null : sort.getFirst()).withKnownTotal(knownTotal);
+    }
+
+    /**
+     * Shows or hides the loading indicator. The navigation buttons are disabled while a page is
+     * loading, and restored by {@link #updatePaginationState()} once it is displayed.
+     *
+     * @param loading Whether a page is being loaded.
+     */
+    private void setLoading(boolean loading) {
+        loadingIndicator.setVisible(loading);
+
+        if (loading) {
+            prevButton.setDisable(true);
+            nextButton.setDisable(true);
+        }
     }
 
     /**
@@ -120,61 +529,123 @@ public class TableComponent<T> extends VBox {
      * page information label and enables/disables the navigation buttons.
      */
     private void updatePaginationState() {
-        long totalPages = (long) Math.ceil((double) totalElements / pageSize);
+        long totalPages = getTotalPages();
 
         pageInfo.setText("Page " + (currentPage + 1) + " of " + Math.max(totalPages, 1));
+
+        if (keysetLoader != null) {
+            prevButton.setDisable(previousCursor == null);
+            nextButton.setDisable(nextCursor == null);
+
+            return;
+        }
+
         prevButton.setDisable(currentPage <= 0);
         nextButton.setDisable(currentPage >= totalPages - 1);
     }
 
     /**
-     * Reloads the current page of data in the table. This method can be used to refresh the data
-     * displayed in the table.
+     * Gets the number of pages of the data, according to the last loaded page.
+     *
+     * @return The total number of pages.
      */
-    public void reload() {
-        loadPage(currentPage);
+    private long getTotalPages() {
+        return (long) Math.ceil((double) totalElements / pageSize);
     }
 
     /**
-     * Creates table columns based on the fields of the specified class. It will skip fields
-     * annotated with @TableIgnore and use @TableLabel for custom headers.
+     * Translates the sort order of the table into sort keys and, when it changed, reloads the
+     * first page sorted by the server. Keyset tables only honour the first sorted column.
      */
-    private void createColumnsFromClass() {
-        for (Field field : clazz.getDeclaredFields()) {
-            if (Modifier.isStatic(
-                    field.getModifiers())) {
-                continue;
+    private void applySortOrder() {
+        List<Sort> requestedSort = new ArrayList<>();
+
+        for (TableColumn<T, ?> column : tableView.getSortOrder()) {
+            String property = sortProperties.get(column);
+
+            if (property != null) {
+                requestedSort.add(column.getSortType() == SortType.ASCENDING
+                        ? Sort.asc(property)
+                        : Sort.desc(property));
             }
+        }
 
-            field.setAccessible(true);
+        if (requestedSort.equals(sort)) {
+            return;
+        }
 
-            if (field.isAnnotationPresent(TableIgnore.class)) {
-                TableIgnore ignoreAnnotation = field.getAnnotation(TableIgnore.class);
+        sort = List.copyOf(requestedSort);
 
-                if (!bypassableIgnoredFields.contains(field.getName())) {
-                    continue;
-                }
-            }
+        if (infiniteScroll) {
+            loadRows();
+            return;
+        }
 
-            String headerName = capitalize(field.getName());
+        currentKeysetRequest = null;
+        previousCursor = null;
+        nextCursor = null;
 
-            if (field.isAnnotationPresent(TableLabel.class)) {
-                headerName = field.getAnnotation(TableLabel.class).value();
+        loadPage(0);
+    }
+
+    /**
+     * Reloads the current page of data in the table. This method can be used to refresh the data
+     * displayed in the table. Cached pages are dropped, so they are loaded again as well. Tables
+     * using infinite scroll reload the rows on screen in place, keeping the scroll position.
+     */
+    public void reload() {
+        if (infiniteScroll) {
+            if (rows == null) {
+                loadRows();
+            } else {
+                rows.invalidate();
             }
 
-            TableColumn<T, String> column = TableColumnFactory.getTStringTableColumn(field,
-                    headerName);
-            tableView.getColumns().add(column);
+            return;
         }
 
-        for (Method method : clazz.getDeclaredMethods()) {
-            if (!method.isAnnotationPresent(TableLabel.class) || Modifier.isStatic(
-                    method.getModifiers()) || !method.getReturnType().equals(String.class)
-                    || method.getParameterCount() != 0) {
+        pageCache.clear();
+        knownTotal = -1;
+        loadPage(currentPage);
+    }
+
+    /**
+     * Drops the cached pages and loads the displayed page again, like {@link #reload()}, so the
+     * written data shows up without the caller reloading the table itself. This method may be
+     * called from any thread, which makes it suitable as a change listener of a service.
+     */
+    public void invalidate() {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(this::invalidate);
+            return;
+        }
+
+        reload();
+    }
+
+    /**
+     * Creates table columns based on the fields of the specified class. It will skip fields
+     * annotated with @TableIgnore and use @TableLabel for custom headers. Records are supported, so
+     * rows projected by the repositories can be displayed; the accessors of their components are
+     * not turned into extra columns, and components annotated with @ProjectedFrom are sorted by
+     * the attribute they were selected from. The columns of each class are resolved once and
+     * cached by {@link TableColumnMetadata}.
+     */
+    private void createColumnsFromClass() {
+        for (TableColumnMetadata metadata : TableColumnMetadata.of(clazz)) {
+            if (metadata.ignored() && !bypassableIgnoredFields.contains(metadata.name())) {
                 continue;
             }
 
-            TableColumn<T, String> column = TableColumnFactory.getTStringTableColumn(method);
+            TableColumn<T, String> column = TableColumnFactory.getTStringTableColumn(metadata);
+
+            if (metadata.computed()) {
+                column.setSortable(!serverSideSorting);
+            } else if (metadata.sortProperty() != null) {
+                sortProperties.put(column, metadata.sortProperty());
+            } else if (serverSideSorting) {
+                column.setSortable(false);
+            }
 
             tableView.getColumns().add(column);
         }
@@ -189,10 +660,12 @@ public class TableComponent<T> extends VBox {
     public void addActionColumn(TableColumn<T, String> column) {
         column.setCellFactory(col -> new TableCell<>() {
             private final Label label = new Label();
+            private final Tooltip tooltip = new Tooltip();
 
             {
                 label.setWrapText(true);
                 label.setMaxWidth(Double.MAX_VALUE);
+                label.setTooltip(tooltip);
             }
 
             @Override
@@ -202,15 +675,17 @@ public class TableComponent<T> extends VBox {
                     setGraphic(null);
                 } else {
                     label.setText(item);
-
-                    Tooltip tooltip = new Tooltip(item);
-                    Tooltip.install(label, tooltip);
+                    tooltip.setText(item);
 
                     setGraphic(label);
                 }
             }
         });
 
+        if (serverSideSorting) {
+            column.setSortable(false);
+        }
+
         tableView.getColumns().add(column);
     }
 
@@ -226,7 +701,8 @@ public class TableComponent<T> extends VBox {
 
     /**
      * Adds a custom action column to the table with a list of actions. Each action will be
-     * represented by a button in the action column.
+     * represented by a button in the action column. Each cell creates its buttons once and, as it
+     * is reused for other rows, only shows the buttons whose condition holds for the row.
      *
      * @param actions   The list of TableAction objects to be added as buttons in the action
      *                  column.
@@ -241,38 +717,49 @@ public class TableComponent<T> extends VBox {
         actionCol.setPrefWidth(prefWidth);
         actionCol.setMinWidth(minWidth);
         actionCol.setMaxWidth(maxWidth);
+        actionCol.setSortable(false);
 
         actionCol.setCellFactory(col -> new TableCell<>() {
             private final HBox container = new HBox(2);
+            private final List<Button> buttons = new ArrayList<>(actions.size());
 
             {
                 container.setAlignment(Pos.CENTER);
                 container.setPadding(new Insets(0));
-            }
 
-            @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                container.getChildren().clear();
+                for (TableAction<T> action : actions) {
+                    Button button = new Button();
+
+                    button.setGraphic(uiController.loadIcon(action.getIconPath()));
+                    button.setTooltip(new Tooltip(action.getLabel()));
+                    button.setOnAction(e -> {
+                        T rowData = getTableRow().getItem();
 
-                if (!empty) {
-                    T rowData = getTableView().getItems().get(getIndex());
-                    for (TableAction<T> action : actions) {
-                        if (!action.getCondition().test(rowData)) {
-                            continue;
+                        if (rowData != null) {
+                            action.onAction(rowData);
                         }
+                    });
+                    button.setMinSize(23, 23);
+                    button.setMaxSize(23, 23);
+                    button.managedProperty().bind(button.visibleProperty());
 
-                        Button button = new Button();
+                    button.getStyleClass().add("table-action-button");
 
-                        button.setGraphic(uiController.loadIcon(action.getIconPath()));
-                        button.setTooltip(new Tooltip(action.getLabel()));
-                        button.setOnAction(e -> action.onAction(rowData));
-                        button.setMinSize(23, 23);
-                        button.setMaxSize(23, 23);
+                    buttons.add(button);
+                }
+
+                container.getChildren().setAll(buttons);
+            }
+
+            @Override
+            protected void updateItem(Void item, boolean empty) {
+                super.updateItem(item, empty);
 
-                        button.getStyleClass().add("table-action-button");
+                T rowData = empty ? null : getTableView().getItems().get(getIndex());
 
-                        container.getChildren().add(button);
+                if (rowData != null) {
+                    for (int i = 0; i < buttons.size(); i++) {
+                        buttons.get(i).setVisible(actions.get(i).getCondition().test(rowData));
                     }
 
                     setGraphic(container);
@@ -285,16 +772,6 @@ public class TableComponent<T> extends VBox {
         tableView.getColumns().add(actionCol);
     }
 
-    /**
-     * Capitalizes the first letter of the given text.
-     *
-     * @param text The text to capitalize.
-     * @return The capitalized text.
-     */
-    private String capitalize(String text) {
-        return text.substring(0, 1).toUpperCase() + text.substring(1);
-    }
-
     /**
      * Returns the TableView associated with this TableComponent.
      *
@@ -1,19 +1,19 @@
 package br.edu.ifba.inf008.core.ui.components.table.factories;
 
 import br.edu.ifba.inf008.core.domain.interfaces.Nameable;
-import br.edu.ifba.inf008.core.ui.components.table.annotations.TableColumnOrientation;
-import br.edu.ifba.inf008.core.ui.components.table.annotations.TableColumnSize;
-import br.edu.ifba.inf008.core.ui.components.table.annotations.TableLabel;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.text.SimpleDateFormat;
+import br.edu.ifba.inf008.core.ui.components.table.models.TableColumnMetadata;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.function.Function;
+import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.value.ObservableValue;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
 import javafx.scene.control.TableCell;
@@ -28,56 +28,35 @@ public class TableColumnFactory {
             "dd/MM/yyyy");
 
     /**
-     * Creates a TableColumn for the given method. This method uses reflection to invoke the method
-     * on the table item instances.
-     *
-     * @param method the method to create the column for
-     * @param <T>    the type of the table items
-     * @return a TableColumn for the specified method
+     * Value of the cells of rows that are not loaded yet. It never changes, so it is shared by
+     * every column.
      */
-    public static <T> TableColumn<T, String> getTStringTableColumn(Method method) {
-        String headerName = method.getAnnotation(TableLabel.class).value();
-        Function<T, Object> valueProvider = instance -> {
-            try {
-                return method.invoke(instance);
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                return null;
-            }
-        };
-        double width = method.isAnnotationPresent(TableColumnSize.class)
-                ? method.getAnnotation(TableColumnSize.class).value() : 150;
-        Pos alignment = method.isAnnotationPresent(TableColumnOrientation.class)
-                ? method.getAnnotation(TableColumnOrientation.class).value() : Pos.CENTER;
-
-        return createColumn(headerName, valueProvider, width, alignment);
-    }
+    private static final ObservableValue<String> EMPTY_VALUE =
+            new ReadOnlyStringWrapper("").getReadOnlyProperty();
 
     /**
-     * Creates a TableColumn for the given field.
+     * Creates a TableColumn for the given column metadata. The values are read through the
+     * accessor of the metadata, which is resolved once per class.
      *
-     * @param field      the field to create the column for
-     * @param headerName the header name for the column
-     * @param <T>        the type of the table items
-     * @return a TableColumn for the specified field
+     * @param metadata the metadata of the column
+     * @param <T>      the type of the table items
+     * @return a TableColumn for the specified column
      */
-    public static <T> TableColumn<T, String> getTStringTableColumn(Field field, String headerName) {
-        Function<T, Object> valueProvider = instance -> {
-            try {
-                return field.get(instance);
-            } catch (IllegalAccessException e) {
-                return null;
-            }
-        };
-        double width = field.isAnnotationPresent(TableColumnSize.class)
-                ? field.getAnnotation(TableColumnSize.class).value() : 150;
-        Pos alignment = field.isAnnotationPresent(TableColumnOrientation.class)
-                ? field.getAnnotation(TableColumnOrientation.class).value() : Pos.CENTER;
+    public static <T> TableColumn<T, String> getTStringTableColumn(TableColumnMetadata metadata) {
+        Function<Object, Object> accessor = metadata.accessor();
 
-        return createColumn(headerName, valueProvider, width, alignment);
+        return createColumn(metadata.header(), accessor::apply, metadata.width(),
+                metadata.alignment());
     }
 
     /**
-     * Creates a TableColumn with the specified header name and value provider.
+     * Creates a TableColumn with the specified header name and value provider. Rows that are not
+     * loaded yet, which lazy row lists read as null, are displayed as empty cells.
+     * <p>
+     * Each value is formatted once per row and kept while the row is referenced, so scrolling over
+     * rows already displayed neither formats their values nor allocates their cell values again.
+     * The function creating the cell values is built once per column for the same reason.
+     * Each cell creates its label and tooltip once and only updates their text afterwards.
      *
      * @param headerName    the header name for the column
      * @param valueProvider a function that provides the value for each cell in the column
@@ -92,13 +71,19 @@ public class TableColumnFactory {
             Pos alignment) {
         TableColumn<T, String> column = new TableColumn<>(headerName);
 
+        Map<T, ObservableValue<String>> cellValues = new WeakHashMap<>();
+        Function<T, ObservableValue<String>> cellValue =
+                row -> new SimpleStringProperty(formatValue(valueProvider.apply(row)));
+
         column.setCellFactory(col -> new TableCell<>() {
             private final Label label = new Label();
+            private final Tooltip tooltip = new Tooltip();
 
             {
                 label.setWrapText(true);
                 label.setMaxWidth(Double.MAX_VALUE);
                 label.setAlignment(alignment);
+                label.setTooltip(tooltip);
 
                 setAlignment(alignment);
             }
@@ -110,17 +95,18 @@ public class TableColumnFactory {
                     setGraphic(null);
                 } else {
                     label.setText(item);
-                    Tooltip tooltip = new Tooltip(item);
-                    Tooltip.install(label, tooltip);
+                    tooltip.setText(item);
                     setGraphic(label);
                 }
             }
         });
 
         column.setCellValueFactory(cellData -> {
-            Object value = valueProvider.apply(cellData.getValue());
-            String text = formatValue(value);
-            return new SimpleStringProperty(text);
+            if (cellData.getValue() == null) {
+                return EMPTY_VALUE;
+            }
+
+            return cellValues.computeIfAbsent(cellData.getValue(), cellValue);
         });
 
         column.setMinWidth(prefWidth * 0.8);
@@ -136,14 +122,15 @@ public class TableColumnFactory {
      * @param value the value to format
      * @return a formatted string representation of the value
      */
-    private static String formatValue(Object value) {
+    static String formatValue(Object value) {
         if (value == null) {
             return "";
         }
         return switch (value) {
             case LocalDateTime dateTime -> dateTime.format(DATE_TIME_FORMATTER);
             case LocalDate date -> date.format(DATE_FORMATTER);
-            case Date date -> new SimpleDateFormat("dd/MM/yyyy HH:mm").format(date);
+            case Date date -> DATE_TIME_FORMATTER.format(
+                    Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()));
             case Nameable nameable -> nameable.getName();
             default -> value.toString();
         };
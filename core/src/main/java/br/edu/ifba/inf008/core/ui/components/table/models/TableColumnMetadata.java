@@ -0,0 +1,196 @@
+package br.edu.ifba.inf008.core.ui.components.table.models;
+
+import br.edu.ifba.inf008.core.infrastructure.repositories.ProjectedFrom;
+import br.edu.ifba.inf008.core.ui.components.table.annotations.TableColumnOrientation;
+import br.edu.ifba.inf008.core.ui.components.table.annotations.TableColumnSize;
+import br.edu.ifba.inf008.core.ui.components.table.annotations.TableIgnore;
+import br.edu.ifba.inf008.core.ui.components.table.annotations.TableLabel;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import javafx.geometry.Pos;
+
+/**
+ * Describes a column displayed by tables of a given class: a field, or a method annotated with
+ * {@link TableLabel}. The columns of a class are resolved from its annotations once and cached,
+ * and their values are read through method handles built at that time, so neither the class nor
+ * its annotations are scanned again when a table is created or a cell is rendered. The cache is
+ * attached to the class itself, so the columns of row classes loaded by a plugin class loader do
+ * not keep that class loader from being unloaded.
+ *
+ * @param name         the name of the field or method
+ * @param header       the header of the column
+ * @param width        the preferred width of the column
+ * @param alignment    the alignment of the content inside the cells
+ * @param sortProperty the property the column is sorted by on the server, or null if the column
+ *                     cannot be sorted by the database
+ * @param ignored      whether the field is annotated with {@link TableIgnore}
+ * @param computed     whether the column is computed by a method instead of read from a field
+ * @param accessor     the function reading the value of the column from a row
+ */
+public record TableColumnMetadata(String name, String header, double width, Pos alignment,
+                                  String sortProperty, boolean ignored, boolean computed,
+                                  Function<Object, Object> accessor) {
+
+    private static final double DEFAULT_WIDTH = 150;
+
+    private static final ClassValue<List<TableColumnMetadata>> COLUMNS = new ClassValue<>() {
+        @Override
+        protected List<TableColumnMetadata> computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    /**
+     * Gets the columns of the given class: its instance fields, in declaration order, followed by
+     * its methods annotated with {@link TableLabel} that take no parameters and return a string.
+     * The accessors of record components are not turned into columns.
+     *
+     * @param type the class of the rows
+     * @return the cached columns of the class
+     */
+    public static List<TableColumnMetadata> of(Class<?> type) {
+        return COLUMNS.get(type);
+    }
+
+    /**
+     * Resolves the columns of a class from its fields, methods and their annotations.
+     *
+     * @param type the class of the rows
+     * @return the columns of the class
+     */
+    private static List<TableColumnMetadata> resolve(Class<?> type) {
+        List<TableColumnMetadata> columns = new ArrayList<>();
+        Set<String> recordAccessors = new HashSet<>();
+
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                recordAccessors.add(component.getAccessor().getName());
+            }
+        }
+
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+
+            field.setAccessible(true);
+
+            String header = field.isAnnotationPresent(TableLabel.class)
+                    ? field.getAnnotation(TableLabel.class).value()
+                    : capitalize(field.getName());
+            String sortProperty = null;
+
+            if (isSortable(field.getType())) {
+                sortProperty = field.isAnnotationPresent(ProjectedFrom.class)
+                        ? field.getAnnotation(ProjectedFrom.class).value()
+                        : field.getName();
+            }
+
+            columns.add(new TableColumnMetadata(field.getName(), header, getWidth(field),
+                    getAlignment(field), sortProperty, field.isAnnotationPresent(TableIgnore.class),
+                    false, accessor(unreflect(field))));
+        }
+
+        for (Method method : type.getDeclaredMethods()) {
+            if (!method.isAnnotationPresent(TableLabel.class) || Modifier.isStatic(
+                    method.getModifiers()) || !method.getReturnType().equals(String.class)
+                    || method.getParameterCount() != 0
+                    || recordAccessors.contains(method.getName())) {
+                continue;
+            }
+
+            method.setAccessible(true);
+
+            columns.add(new TableColumnMetadata(method.getName(),
+                    method.getAnnotation(TableLabel.class).value(), getWidth(method),
+                    getAlignment(method), null, false, true, accessor(unreflect(method))));
+        }
+
+        return List.copyOf(columns);
+    }
+
+    /**
+     * Wraps a getter handle into a function, adapting it once so that it is invoked exactly, without
+     * the argument arrays and access checks of reflective calls. Values that cannot be read are
+     * displayed as empty cells, as before.
+     *
+     * @param getter the handle reading the value from a row
+     * @return the function reading the value from a row
+     */
+    private static Function<Object, Object> accessor(MethodHandle getter) {
+        MethodHandle handle = getter.asType(MethodType.methodType(Object.class, Object.class));
+
+        return instance -> {
+            try {
+                return handle.invokeExact(instance);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                return null;
+            }
+        };
+    }
+
+    private static MethodHandle unreflect(Field field) {
+        try {
+            return MethodHandles.lookup().unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not access field " + field.getName(), e);
+        }
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            return MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not access method " + method.getName(), e);
+        }
+    }
+
+    private static double getWidth(AnnotatedElement element) {
+        return element.isAnnotationPresent(TableColumnSize.class)
+                ? element.getAnnotation(TableColumnSize.class).value() : DEFAULT_WIDTH;
+    }
+
+    private static Pos getAlignment(AnnotatedElement element) {
+        return element.isAnnotationPresent(TableColumnOrientation.class)
+                ? element.getAnnotation(TableColumnOrientation.class).value() : Pos.CENTER;
+    }
+
+    /**
+     * Checks whether a field of the given type can be sorted by the database, which excludes
+     * associations and embedded values.
+     *
+     * @param type The type of the field.
+     * @return True if the field holds a basic value, false otherwise.
+     */
+    private static boolean isSortable(Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || Number.class.isAssignableFrom(type)
+                || CharSequence.class.isAssignableFrom(type) || Boolean.class.equals(type)
+                || Temporal.class.isAssignableFrom(type) || Date.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Capitalizes the first letter of the given text.
+     *
+     * @param text The text to capitalize.
+     * @return The capitalized text.
+     */
+    private static String capitalize(String text) {
+        return text.substring(0, 1).toUpperCase() + text.substring(1);
+    }
+
+}
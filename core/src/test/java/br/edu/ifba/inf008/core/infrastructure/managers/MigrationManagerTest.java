@@ -0,0 +1,108 @@
+package br.edu.ifba.inf008.core.infrastructure.managers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.edu.ifba.inf008.core.infrastructure.migrations.Migration;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MigrationManagerTest {
+
+    private static final Migration CREATE_ITEMS = new Migration("items", 1, "Create items",
+            List.of("CREATE TABLE items (name VARCHAR(50) NOT NULL)",
+                    "INSERT INTO items (name) VALUES ('first')"));
+    private static final Migration INSERT_ITEM = new Migration("items", 2, "Insert an item",
+            List.of("INSERT INTO items (name) VALUES ('second')"));
+    private static final Migration CREATE_TAGS = new Migration("tags", 1, "Create tags",
+            List.of("CREATE TABLE tags (item_name VARCHAR(50) NOT NULL)"));
+
+    private Connection connection;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:migrationsdb");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void migrate_ShouldApplyMigrationsInOrderAndRecordThem() throws SQLException {
+        List<Migration> migrations = List.of(CREATE_ITEMS, INSERT_ITEM, CREATE_TAGS);
+
+        assertThat(MigrationManager.migrate(connection, migrations))
+                .containsExactlyElementsOf(migrations);
+
+        assertThat(query("SELECT name FROM items ORDER BY name"))
+                .containsExactly("first", "second");
+        assertThat(query("SELECT module || ' V' || version || ': ' || description"
+                + " FROM schema_migrations ORDER BY module, version"))
+                .containsExactly("items V1: Create items", "items V2: Insert an item",
+                        "tags V1: Create tags");
+        assertThat(connection.getAutoCommit()).isTrue();
+    }
+
+    @Test
+    void migrate_ShouldSkipMigrationsAlreadyApplied() throws SQLException {
+        assertThat(MigrationManager.migrate(connection, List.of(CREATE_ITEMS)))
+                .containsExactly(CREATE_ITEMS);
+
+        assertThat(MigrationManager.migrate(connection,
+                List.of(CREATE_ITEMS, INSERT_ITEM, CREATE_TAGS)))
+                .containsExactly(INSERT_ITEM, CREATE_TAGS);
+        assertThat(MigrationManager.migrate(connection,
+                List.of(CREATE_ITEMS, INSERT_ITEM, CREATE_TAGS)))
+                .isEmpty();
+
+        assertThat(query("SELECT name FROM items ORDER BY name"))
+                .containsExactly("first", "second");
+    }
+
+    @Test
+    void migrate_ShouldRollBackFailingMigrationAndKeepThePreviousOnes() throws SQLException {
+        Migration failing = new Migration("items", 2, "Insert into a missing table",
+                List.of("INSERT INTO items (name) VALUES ('second')",
+                        "INSERT INTO missing (name) VALUES ('second')"));
+
+        assertThatThrownBy(() -> MigrationManager.migrate(connection,
+                List.of(CREATE_ITEMS, failing, CREATE_TAGS)))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("Migration items V2 failed");
+
+        assertThat(connection.getAutoCommit()).isTrue();
+        assertThat(query("SELECT name FROM items")).containsExactly("first");
+        assertThat(query("SELECT module || ' V' || version FROM schema_migrations"))
+                .containsExactly("items V1");
+
+        assertThat(MigrationManager.migrate(connection,
+                List.of(CREATE_ITEMS, INSERT_ITEM, CREATE_TAGS)))
+                .containsExactly(INSERT_ITEM, CREATE_TAGS);
+        assertThat(query("SELECT name FROM items ORDER BY name"))
+                .containsExactly("first", "second");
+    }
+
+    private List<String> query(String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                values.add(resultSet.getString(1));
+            }
+        }
+
+        return values;
+    }
+
+}
@@ -0,0 +1,91 @@
+package br.edu.ifba.inf008.core.infrastructure.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class SpecificationTest {
+
+    private static final Attribute<Item, String> NAME =
+            Attribute.of(Item.class, "name", String.class);
+    private static final Attribute<Item, Integer> QUANTITY =
+            Attribute.of(Item.class, "quantity", Integer.class);
+    private static final Attribute<Item, Object> TAGS =
+            Attribute.of(Item.class, "tags", Object.class);
+
+    @Test
+    void attribute_ShouldFollowInheritedAndNestedFields() {
+        Attribute<Item, Long> ownerId = Attribute.of(Item.class, "owner.id", Long.class);
+
+        assertThat(Attribute.of(Item.class, "id", Long.class).name()).isEqualTo("id");
+        assertThat(ownerId.entityType()).isEqualTo(Item.class);
+        assertThat(ownerId.valueType()).isEqualTo(Long.class);
+    }
+
+    @Test
+    void attribute_ShouldRejectUnknownOrMistypedFields() {
+        assertThatThrownBy(() -> Attribute.of(Item.class, "unknown", String.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Attribute.of(Item.class, "name) OR (1 = 1", String.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Attribute.of(Item.class, "owner.unknown", Long.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Attribute.of(Item.class, "quantity", String.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void likeIgnoreCase_ShouldRejectNullPatterns() {
+        assertThatThrownBy(() -> Specification.likeIgnoreCase(NAME, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void render_ShouldBindValuesAsOrdinalParameters() {
+        Specification<Item> specification = Specification.likeIgnoreCase(NAME, "%BOOK%")
+                .and(Specification.greaterThan(QUANTITY, 2).negate());
+
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder condition = new StringBuilder();
+        specification.render(condition, parameters);
+
+        assertThat(condition.toString())
+                .isEqualTo("(LOWER(e.name) LIKE ?1 AND NOT (e.quantity > ?2))");
+        assertThat(parameters).containsExactly("%book%", 2);
+    }
+
+    @Test
+    void render_ShouldOnlyBindValuesOfInAsLists() {
+        List<Object> inParameters = new ArrayList<>();
+        Specification.in(QUANTITY, List.of(1, 2)).render(new StringBuilder(), inParameters);
+
+        List<Object> equalParameters = new ArrayList<>();
+        Specification.equal(TAGS, List.of("a", "b")).render(new StringBuilder(), equalParameters);
+
+        assertThat(inParameters)
+                .containsExactly(new Specification.ListParameter(List.of(1, 2)));
+        assertThat(equalParameters).containsExactly(List.of("a", "b"));
+    }
+
+    private static class Identified {
+
+        private Long id;
+
+    }
+
+    private static class Owner extends Identified {
+    }
+
+    private static class Item extends Identified {
+
+        private String name;
+        private int quantity;
+        private Owner owner;
+        private List<String> tags;
+
+    }
+
+}
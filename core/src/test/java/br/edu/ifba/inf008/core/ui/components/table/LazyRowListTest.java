@@ -0,0 +1,237 @@
+package br.edu.ifba.inf008.core.ui.components.table;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import br.edu.ifba.inf008.core.domain.models.KeysetPageRequest;
+import br.edu.ifba.inf008.core.domain.models.PageRequest;
+import br.edu.ifba.inf008.core.domain.models.PageableResponse;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LazyRowListTest {
+
+    private static final int BLOCK_SIZE = 10;
+
+    private final Deque<Runnable> pendingTasks = new ArrayDeque<>();
+    private final Executor executor = pendingTasks::add;
+
+    private List<String> data;
+    private List<PageRequest> requests;
+    private List<KeysetPageRequest> keysetRequests;
+    private List<Event> changes;
+    private LazyRowList<String> rows;
+
+    @BeforeEach
+    void setup() {
+        data = new ArrayList<>(rows(0, 35));
+        requests = new ArrayList<>();
+        keysetRequests = new ArrayList<>();
+        changes = new ArrayList<>();
+
+        rows = new LazyRowList<>(this::loadBlock, List.of(), BLOCK_SIZE, 3, executor, executor);
+        rows.addListener((ListChangeListener<String>) change -> {
+            while (change.next()) {
+                changes.add(new Event(change.wasReplaced(), change.wasAdded(), change.wasRemoved(),
+                        change.getFrom(), change.getTo(), change.getRemovedSize()));
+            }
+        });
+    }
+
+    @Test
+    void load_ShouldSizeListFromFirstBlockAndSkipCountingLaterBlocks() {
+        rows.load(0);
+        runPendingTasks();
+
+        assertThat(rows).hasSize(35);
+        assertThat(rows.get(0)).isEqualTo("row 0");
+        assertThat(rows.get(15)).isNull();
+
+        runPendingTasks();
+
+        assertThat(rows.get(15)).isEqualTo("row 15");
+        assertThat(requests).extracting(PageRequest::knownTotal).containsExactly(-1L, 35L);
+    }
+
+    @Test
+    void invalidate_ShouldNotifyLoadedRowsAndReloadThemInPlace() {
+        rows.load(0);
+        runPendingTasks();
+        changes.clear();
+
+        data.set(3, "edited row 3");
+        rows.invalidate();
+
+        assertThat(changes).anySatisfy(change -> {
+            assertThat(change.replaced()).isTrue();
+            assertThat(change.from()).isLessThanOrEqualTo(3);
+            assertThat(change.to()).isGreaterThan(3);
+        });
+        assertThat(rows.get(3)).isEqualTo("row 3");
+
+        runPendingTasks();
+
+        assertThat(rows.get(3)).isEqualTo("edited row 3");
+        assertThat(requests.getLast().knownTotal()).isEqualTo(-1L);
+    }
+
+    @Test
+    void invalidate_ShouldDiscardBlocksLoadedBeforeIt() {
+        rows.load(0);
+        runPendingTasks();
+        rows.load(20);
+        pendingTasks.poll().run();
+
+        data.set(20, "edited row 20");
+        rows.invalidate();
+        runPendingTasks();
+
+        assertThat(rows.get(20)).isNull();
+
+        runPendingTasks();
+
+        assertThat(rows.get(20)).isEqualTo("edited row 20");
+        assertThat(rows.loadingProperty().get()).isFalse();
+    }
+
+    @Test
+    void invalidate_ShouldRefreshSizeFromReloadedBlock() {
+        rows.load(0);
+        runPendingTasks();
+        rows.get(30);
+        runPendingTasks();
+        changes.clear();
+
+        data.subList(25, 35).clear();
+        rows.invalidate();
+        runPendingTasks();
+
+        assertThat(rows).hasSize(25);
+        assertThat(changes).contains(new Event(false, false, true, 25, 25, 10));
+
+        changes.clear();
+        data.addAll(rows(100, 5));
+        rows.invalidate();
+        runPendingTasks();
+
+        assertThat(rows).hasSize(30);
+        assertThat(changes).contains(new Event(false, true, false, 25, 30, 0));
+    }
+
+    @Test
+    void invalidate_ShouldLoadFirstBlockOfEmptyList() {
+        data.clear();
+        rows.load(0);
+        runPendingTasks();
+
+        assertThat(rows).isEmpty();
+
+        data.addAll(rows(0, 3));
+        rows.invalidate();
+        runPendingTasks();
+
+        assertThat(rows).containsExactly("row 0", "row 1", "row 2");
+    }
+
+    @Test
+    void load_ShouldSeekBlocksNextToLoadedOnesByKeyset() {
+        rows = new LazyRowList<>(this::loadBlock, this::loadKeysetBlock, List.of(), BLOCK_SIZE, 3,
+                executor, executor);
+
+        rows.load(0);
+        runPendingTasks();
+        rows.get(15);
+        runPendingTasks();
+
+        assertThat(rows.get(15)).isEqualTo("row 15");
+        assertThat(requests).isEmpty();
+        assertThat(keysetRequests).extracting(KeysetPageRequest::cursor, KeysetPageRequest::backward,
+                        KeysetPageRequest::knownTotal)
+                .containsExactly(tuple(null, false, -1L), tuple(9, false, 35L));
+
+        rows.get(30);
+        runPendingTasks();
+
+        assertThat(rows.get(30)).isEqualTo("row 30");
+        assertThat(requests).extracting(PageRequest::page).containsExactly(3);
+
+        rows.get(25);
+        runPendingTasks();
+
+        assertThat(rows.get(25)).isEqualTo("row 25");
+        assertThat(requests).hasSize(1);
+        assertThat(keysetRequests.getLast().cursor()).isEqualTo(19);
+    }
+
+    @Test
+    void invalidate_ShouldForgetKeysetCursors() {
+        rows = new LazyRowList<>(this::loadBlock, this::loadKeysetBlock, List.of(), BLOCK_SIZE, 3,
+                executor, executor);
+
+        rows.load(0);
+        runPendingTasks();
+        rows.get(15);
+        runPendingTasks();
+
+        data.add(0, "new row");
+        rows.invalidate();
+        runPendingTasks();
+
+        assertThat(rows.get(15)).isEqualTo("row 14");
+        assertThat(requests).extracting(PageRequest::page).containsExactly(1);
+    }
+
+    private PageableResponse<String> loadBlock(PageRequest request) {
+        requests.add(request);
+
+        int from = Math.min(request.page() * request.limit(), data.size());
+        int to = Math.min(from + request.limit(), data.size());
+        long total = request.knownTotal() >= 0 ? request.knownTotal() : data.size();
+
+        return new PageableResponse<>(request.page(), request.limit(), total,
+                List.copyOf(data.subList(from, to)));
+    }
+
+    private PageableResponse<String> loadKeysetBlock(KeysetPageRequest request) {
+        keysetRequests.add(request);
+
+        Integer cursor = (Integer) request.cursor();
+        int from = cursor == null ? 0 : request.backward()
+                ? Math.max(cursor - request.limit(), 0)
+                : Math.min(cursor + 1, data.size());
+        int to = cursor != null && request.backward()
+                ? cursor
+                : Math.min(from + request.limit(), data.size());
+        long total = request.knownTotal() >= 0 ? request.knownTotal() : data.size();
+
+        return new PageableResponse<>(0, request.limit(), total, List.copyOf(data.subList(from, to)),
+                cursor == null || from == to ? null : from, to < data.size() ? to - 1 : null);
+    }
+
+    private void runPendingTasks() {
+        while (!pendingTasks.isEmpty()) {
+            pendingTasks.poll().run();
+        }
+    }
+
+    private static List<String> rows(int first, int count) {
+        List<String> rows = new ArrayList<>();
+
+        for (int index = first; index < first + count; index++) {
+            rows.add("row " + index);
+        }
+
+        return rows;
+    }
+
+    private record Event(boolean replaced, boolean added, boolean removed, int from, int to,
+                         int removedSize) {
+    }
+
+}
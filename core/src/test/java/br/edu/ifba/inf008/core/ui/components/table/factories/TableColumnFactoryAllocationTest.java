@@ -0,0 +1,106 @@
+package br.edu.ifba.inf008.core.ui.components.table.factories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.edu.ifba.inf008.core.ui.components.table.models.TableColumnMetadata;
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.function.Supplier;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableColumn.CellDataFeatures;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the bytes allocated by the current thread while rendering table values, so that the
+ * formatting and cell value caches keep rendering from allocating on every cell update.
+ */
+public class TableColumnFactoryAllocationTest {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private static final ThreadMXBean THREAD_MX_BEAN =
+            (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Object sink;
+
+    @Test
+    void formatValue_ShouldAllocateLessThanSimpleDateFormatForDates() {
+        Date date = new Date(1_700_000_000_000L);
+
+        long sharedFormatter = allocatedBytesPerCall(() -> TableColumnFactory.formatValue(date));
+        long formatterPerValue = allocatedBytesPerCall(
+                () -> new SimpleDateFormat("dd/MM/yyyy HH:mm").format(date));
+
+        assertThat(TableColumnFactory.formatValue(date))
+                .isEqualTo(new SimpleDateFormat("dd/MM/yyyy HH:mm").format(date));
+        assertThat(sharedFormatter).isLessThan(formatterPerValue);
+    }
+
+    @Test
+    void formatValue_ShouldNotAllocateForTexts() {
+        String title = "Dune";
+
+        assertThat(allocatedBytesPerCall(() -> TableColumnFactory.formatValue(title)))
+                .isLessThan(8);
+    }
+
+    @Test
+    void cellValueFactory_ShouldReuseCellValuesOfRowsAlreadyDisplayed() {
+        TableColumn<Row, String> column = TableColumnFactory.getTStringTableColumn(
+                TableColumnMetadata.of(Row.class).getLast());
+        CellDataFeatures<Row, String> cellData = new CellDataFeatures<>(null, column,
+                new Row("Dune", LocalDate.of(1965, 8, 1)));
+
+        ObservableValue<String> first = column.getCellValueFactory().call(cellData);
+        long bytesPerCall = allocatedBytesPerCall(
+                () -> column.getCellValueFactory().call(cellData));
+
+        assertThat(first.getValue()).isEqualTo("01/08/1965");
+        assertThat(column.getCellValueFactory().call(cellData)).isSameAs(first);
+        assertThat(bytesPerCall).isLessThan(8);
+    }
+
+    @Test
+    void cellValueFactory_ShouldShareEmptyValueOfRowsNotLoaded() {
+        TableColumn<Row, String> column = TableColumnFactory.getTStringTableColumn(
+                TableColumnMetadata.of(Row.class).getFirst());
+        CellDataFeatures<Row, String> cellData = new CellDataFeatures<>(null, column, null);
+
+        long bytesPerCall = allocatedBytesPerCall(
+                () -> column.getCellValueFactory().call(cellData));
+
+        assertThat(column.getCellValueFactory().call(cellData).getValue()).isEmpty();
+        assertThat(bytesPerCall).isLessThan(8);
+    }
+
+    /**
+     * Calls the given action repeatedly after a warmup, keeping its results reachable so that they
+     * are not optimized away.
+     *
+     * @param action the action to measure
+     * @return the average number of bytes allocated by a call
+     */
+    private long allocatedBytesPerCall(Supplier<?> action) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = action.get();
+        }
+
+        long threadId = Thread.currentThread().threadId();
+        long before = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = action.get();
+        }
+
+        return (THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+
+    private record Row(String title, LocalDate publishedAt) {
+    }
+
+}
@@ -0,0 +1,240 @@
+package br.edu.ifba.inf008.core.ui.components.table.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.edu.ifba.inf008.core.infrastructure.repositories.ProjectedFrom;
+import br.edu.ifba.inf008.core.ui.components.table.annotations.TableColumnOrientation;
+import br.edu.ifba.inf008.core.ui.components.table.annotations.TableColumnSize;
+import br.edu.ifba.inf008.core.ui.components.table.annotations.TableIgnore;
+import br.edu.ifba.inf008.core.ui.components.table.annotations.TableLabel;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.time.LocalDate;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javafx.geometry.Pos;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the cached columns and their method handle accessors with the columns tables used to
+ * build by scanning the row class and reading the cells through reflection.
+ */
+public class TableColumnMetadataTest {
+
+    @Test
+    void of_ShouldMatchReflectionForRecords() {
+        LoanRow row = new LoanRow(7L, "Dune", LocalDate.of(2024, 1, 5), new Member("Ana"));
+
+        assertThat(columns(row, List.of())).containsExactlyElementsOf(reflect(row, List.of()));
+        assertThat(columns(row, List.of()))
+                .extracting(Column::header)
+                .containsExactly("LoanId", "Book", "Loaned on", "Member", "Status");
+    }
+
+    @Test
+    void of_ShouldMatchReflectionForIgnoredFieldsWithAndWithoutBypass() {
+        BookEntity row = new BookEntity();
+
+        assertThat(columns(row, List.of())).containsExactlyElementsOf(reflect(row, List.of()));
+        assertThat(columns(row, List.of("internalCode")))
+                .containsExactlyElementsOf(reflect(row, List.of("internalCode")));
+        assertThat(columns(row, List.of("internalCode")))
+                .extracting(Column::name)
+                .contains("internalCode")
+                .doesNotContain("LOG_PREFIX");
+    }
+
+    @Test
+    void of_ShouldMatchReflectionForComputedColumns() {
+        BookEntity row = new BookEntity();
+
+        assertThat(columns(row, List.of()))
+                .filteredOn(Column::computed)
+                .containsExactlyInAnyOrder(
+                        new Column("summary", "Summary", null, 150, Pos.CENTER, true,
+                                "Dune (1965)"),
+                        new Column("failing", "Failing", null, 150, Pos.CENTER, true, null));
+    }
+
+    @Test
+    void of_ShouldResolveColumnsOncePerClass() {
+        assertThat(TableColumnMetadata.of(BookEntity.class))
+                .isSameAs(TableColumnMetadata.of(BookEntity.class));
+    }
+
+    /**
+     * Reads the columns of a row from the cached metadata, skipping the ignored fields that are
+     * not bypassed as tables do.
+     */
+    private static List<Column> columns(Object row, List<String> bypassableIgnoredFields) {
+        List<Column> columns = new ArrayList<>();
+
+        for (TableColumnMetadata metadata : TableColumnMetadata.of(row.getClass())) {
+            if (metadata.ignored() && !bypassableIgnoredFields.contains(metadata.name())) {
+                continue;
+            }
+
+            columns.add(new Column(metadata.name(), metadata.header(), metadata.sortProperty(),
+                    metadata.width(), metadata.alignment(), metadata.computed(),
+                    metadata.accessor().apply(row)));
+        }
+
+        return columns;
+    }
+
+    /**
+     * Reads the columns of a row the way tables did before the metadata was cached: scanning the
+     * fields and methods of the class, and reading the cells with {@link Field#get} and
+     * {@link Method#invoke}.
+     */
+    private static List<Column> reflect(Object row, List<String> bypassableIgnoredFields) {
+        Class<?> type = row.getClass();
+        List<Column> columns = new ArrayList<>();
+        Set<String> recordAccessors = new HashSet<>();
+
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                recordAccessors.add(component.getAccessor().getName());
+            }
+        }
+
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+
+            field.setAccessible(true);
+
+            if (field.isAnnotationPresent(TableIgnore.class)
+                    && !bypassableIgnoredFields.contains(field.getName())) {
+                continue;
+            }
+
+            String header = field.isAnnotationPresent(TableLabel.class)
+                    ? field.getAnnotation(TableLabel.class).value()
+                    : field.getName().substring(0, 1).toUpperCase() + field.getName().substring(1);
+            String sortProperty = null;
+
+            if (isSortable(field.getType())) {
+                sortProperty = field.isAnnotationPresent(ProjectedFrom.class)
+                        ? field.getAnnotation(ProjectedFrom.class).value()
+                        : field.getName();
+            }
+
+            Object value;
+
+            try {
+                value = field.get(row);
+            } catch (IllegalAccessException e) {
+                value = null;
+            }
+
+            columns.add(new Column(field.getName(), header, sortProperty, width(field),
+                    alignment(field), false, value));
+        }
+
+        for (Method method : type.getDeclaredMethods()) {
+            if (!method.isAnnotationPresent(TableLabel.class) || Modifier.isStatic(
+                    method.getModifiers()) || !method.getReturnType().equals(String.class)
+                    || method.getParameterCount() != 0
+                    || recordAccessors.contains(method.getName())) {
+                continue;
+            }
+
+            method.setAccessible(true);
+
+            Object value;
+
+            try {
+                value = method.invoke(row);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                value = null;
+            }
+
+            columns.add(new Column(method.getName(), method.getAnnotation(TableLabel.class).value(),
+                    null, width(method), alignment(method), true, value));
+        }
+
+        return columns;
+    }
+
+    private static double width(AnnotatedElement element) {
+        return element.isAnnotationPresent(TableColumnSize.class)
+                ? element.getAnnotation(TableColumnSize.class).value() : 150;
+    }
+
+    private static Pos alignment(AnnotatedElement element) {
+        return element.isAnnotationPresent(TableColumnOrientation.class)
+                ? element.getAnnotation(TableColumnOrientation.class).value() : Pos.CENTER;
+    }
+
+    private static boolean isSortable(Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || Number.class.isAssignableFrom(type)
+                || CharSequence.class.isAssignableFrom(type) || Boolean.class.equals(type)
+                || Temporal.class.isAssignableFrom(type) || Date.class.isAssignableFrom(type);
+    }
+
+    private record Column(String name, String header, String sortProperty, double width,
+                          Pos alignment, boolean computed, Object value) {
+    }
+
+    private record Member(String name) {
+    }
+
+    private record LoanRow(Long loanId,
+                           @TableLabel("Book") @ProjectedFrom("book.title") String bookTitle,
+                           @TableLabel("Loaned on") @TableColumnSize(90) LocalDate loanDate,
+                           Member member) {
+
+        @TableLabel("Status")
+        @TableColumnOrientation(Pos.CENTER_LEFT)
+        public String status() {
+            return "Active since " + loanDate;
+        }
+
+    }
+
+    private static class BookEntity {
+
+        private static final String LOG_PREFIX = "book";
+
+        private Long bookId = 1L;
+        @TableLabel("Title")
+        private String title = "Dune";
+        private int publishedYear = 1965;
+        @TableIgnore
+        private String internalCode = "B-1";
+        @TableIgnore
+        private Date deactivatedAt = null;
+        private Member owner = new Member("Library");
+
+        @TableLabel("Summary")
+        public String summary() {
+            return title + " (" + publishedYear + ")";
+        }
+
+        @TableLabel("Failing")
+        public String failing() {
+            throw new IllegalStateException("Not available");
+        }
+
+        @TableLabel("Ignored")
+        public int ignoredBecauseNotString() {
+            return 0;
+        }
+
+        public String notAColumn() {
+            return LOG_PREFIX;
+        }
+
+    }
+
+}
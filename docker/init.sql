@@ -2,6 +2,7 @@ CREATE DATABASE IF NOT EXISTS bookstore;
 USE bookstore;
 
 -- Tabelas
+DROP TABLE IF EXISTS id_generators;
 DROP TABLE IF EXISTS loans;
 DROP TABLE IF EXISTS books;
 DROP TABLE IF EXISTS users;
@@ -23,9 +24,17 @@ CREATE TABLE books
     isbn             VARCHAR(20) UNIQUE NOT NULL,
     published_year   INT,
     copies_available INT      DEFAULT 0,
+    active_loans     INT      NOT NULL DEFAULT 0,
     deactivated_at   DATETIME DEFAULT NULL
 );
 
+-- Geradores de IDs (permitem inserções em lote via JDBC batching)
+CREATE TABLE id_generators
+(
+    entity  VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_id BIGINT       NOT NULL
+);
+
 CREATE TABLE loans
 (
     loan_id     BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -108,3 +117,21 @@ VALUES (1, 1, '2025-07-01', NULL),
        (18, 5, '2025-07-10', NULL),
        (19, 6, '2025-07-11', '2025-07-18'),
        (20, 7, '2025-07-12', NULL);
+
+-- Contador de empréstimos ativos por livro (mantido pela aplicação a cada empréstimo/devolução)
+UPDATE books b
+SET b.active_loans = (SELECT COUNT(*)
+                      FROM loans l
+                      WHERE l.book_id = b.book_id
+                        AND l.return_date IS NULL);
+
+-- Próximos IDs a serem alocados pela aplicação
+INSERT INTO id_generators (entity, next_id)
+SELECT 'users', COALESCE(MAX(user_id), 0) + 1
+FROM users
+UNION ALL
+SELECT 'books', COALESCE(MAX(book_id), 0) + 1
+FROM books
+UNION ALL
+SELECT 'loans', COALESCE(MAX(loan_id), 0) + 1
+FROM loans;
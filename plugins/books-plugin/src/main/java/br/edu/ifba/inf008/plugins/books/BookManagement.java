@@ -5,6 +5,7 @@ import br.edu.ifba.inf008.core.IPlugin;
 import br.edu.ifba.inf008.core.IUIController;
 import br.edu.ifba.inf008.core.domain.annotations.Plugin;
 import br.edu.ifba.inf008.core.infrastructure.managers.HibernateManager;
+import br.edu.ifba.inf008.core.infrastructure.managers.MigrationManager;
 import br.edu.ifba.inf008.core.ui.models.TabInformation;
 import br.edu.ifba.inf008.plugins.books.application.services.BookService;
 import br.edu.ifba.inf008.plugins.books.domain.entities.Book;
@@ -21,6 +22,7 @@ public class BookManagement implements IPlugin {
     public boolean init() {
 
         HibernateManager.registerEntityClass(Book.class);
+        MigrationManager.registerMigrations("books", BookManagement.class.getClassLoader());
 
         bookService = BookService.getInstance();
 
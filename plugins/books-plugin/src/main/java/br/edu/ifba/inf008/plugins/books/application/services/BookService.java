@@ -1,18 +1,23 @@
 package br.edu.ifba.inf008.plugins.books.application.services;
 
+import br.edu.ifba.inf008.core.domain.models.KeysetPageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageableResponse;
 import br.edu.ifba.inf008.core.infrastructure.components.BeanValidatorComponent;
+import br.edu.ifba.inf008.core.infrastructure.components.ChangeNotifierComponent;
+import br.edu.ifba.inf008.core.infrastructure.managers.UnitOfWork;
 import br.edu.ifba.inf008.plugins.books.domain.entities.Book;
 import br.edu.ifba.inf008.plugins.books.domain.exceptions.BookNotFoundException;
 import br.edu.ifba.inf008.plugins.books.domain.exceptions.BookWithLockedCopiesException;
 import br.edu.ifba.inf008.plugins.books.domain.exceptions.IsbnAlreadyExistingException;
 import br.edu.ifba.inf008.plugins.books.infrastructure.managers.BookAvailabilityManager;
+import br.edu.ifba.inf008.plugins.books.infrastructure.models.projection.BookRow;
 import br.edu.ifba.inf008.plugins.books.infrastructure.models.request.CreateBookRequest;
 import br.edu.ifba.inf008.plugins.books.infrastructure.models.request.EditBookRequest;
 import br.edu.ifba.inf008.plugins.books.infrastructure.repositories.BookRepository;
 import jakarta.validation.ConstraintViolationException;
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 /**
  * Service class for managing books. Provides methods to create, edit, delete, and find books.
@@ -22,6 +27,7 @@ public class BookService {
     private static final BookService instance = new BookService(BookRepository.getInstance());
 
     private final BookAvailabilityManager bookAvailabilityManager;
+    private final ChangeNotifierComponent changeNotifier = new ChangeNotifierComponent();
     private final BookRepository bookRepository;
 
     public BookService(BookRepository bookRepository) {
@@ -38,6 +44,24 @@ public class BookService {
         return instance;
     }
 
+    /**
+     * Adds a listener notified after every committed write to books, such as a table caching
+     * their pages.
+     *
+     * @param listener the listener to add
+     */
+    public void addChangeListener(Runnable listener) {
+        changeNotifier.addListener(listener);
+    }
+
+    /**
+     * Notifies the listeners of books written outside of this service, for instance by a job
+     * correcting them directly in the database.
+     */
+    public void notifyListeners() {
+        changeNotifier.notifyListeners();
+    }
+
     /**
      * Creates a new book.
      *
@@ -56,17 +80,24 @@ public class BookService {
         Integer publishedYear = request.publishedYear();
         Integer copiesAvailable = request.copiesAvailable();
 
-        ensureIsbnIsUnique(isbn, null);
+        try (UnitOfWork unitOfWork = bookRepository.beginUnitOfWork()) {
+            ensureIsbnIsUnique(isbn, null);
+
+            var book = new Book();
 
-        var book = new Book();
+            book.setTitle(title);
+            book.setAuthor(author);
+            book.setIsbn(isbn);
+            book.setPublishedYear(publishedYear);
+            book.setCopiesAvailable(copiesAvailable);
 
-        book.setTitle(title);
-        book.setAuthor(author);
-        book.setIsbn(isbn);
-        book.setPublishedYear(publishedYear);
-        book.setCopiesAvailable(copiesAvailable);
+            Book savedBook = bookRepository.save(book);
 
-        return bookRepository.save(book);
+            unitOfWork.afterCommit(changeNotifier::notifyListeners);
+            unitOfWork.commit();
+
+            return savedBook;
+        }
     }
 
     /**
@@ -77,22 +108,28 @@ public class BookService {
      * @throws BookNotFoundException if the book does not exist or is already deactivated
      */
     public void delete(Long bookId) throws BookNotFoundException {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BookNotFoundException(bookId));
+        try (UnitOfWork unitOfWork = bookRepository.beginUnitOfWork()) {
+            Book book = bookRepository.findByIdForUpdate(bookId)
+                    .orElseThrow(() -> new BookNotFoundException(bookId));
 
-        if (book.getDeactivatedAt() != null) {
-            throw new BookNotFoundException(bookId);
-        }
+            if (book.getDeactivatedAt() != null) {
+                throw new BookNotFoundException(bookId);
+            }
 
-        book.setIsbn(
-                book.getIsbn() + "#" + book.getBookId()); // Append bookId to ISBN for uniqueness
-        book.setDeactivatedAt(LocalDateTime.now());
+            book.setIsbn(
+                    book.getIsbn() + "#" + book.getBookId()); // Append bookId to ISBN for uniqueness
+            book.setDeactivatedAt(LocalDateTime.now());
 
-        bookRepository.save(book);
+            bookRepository.save(book);
+
+            unitOfWork.afterCommit(changeNotifier::notifyListeners);
+            unitOfWork.commit();
+        }
     }
 
     /**
-     * Edits an existing book.
+     * Edits an existing book. The book row is locked while it is edited, so the active loans counter
+     * updated by concurrent loans and returns is not overwritten.
      *
      * @param bookId  the ID of the book to be edited
      * @param request the request containing updated book data
@@ -111,18 +148,25 @@ public class BookService {
         Integer publishedYear = request.publishedYear();
         Integer copiesAvailable = request.copiesAvailable();
 
-        Book existingBook = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BookNotFoundException(bookId));
+        try (UnitOfWork unitOfWork = bookRepository.beginUnitOfWork()) {
+            Book existingBook = bookRepository.findByIdForUpdate(bookId)
+                    .orElseThrow(() -> new BookNotFoundException(bookId));
 
-        ensureIsbnIsUnique(isbn, existingBook.getBookId());
-        ensureBookIsNotLocked(existingBook, copiesAvailable);
+            ensureIsbnIsUnique(isbn, existingBook.getBookId());
+            ensureBookIsNotLocked(existingBook, copiesAvailable);
 
-        existingBook.setTitle(title);
-        existingBook.setAuthor(author);
-        existingBook.setPublishedYear(publishedYear);
-        existingBook.setCopiesAvailable(copiesAvailable);
+            existingBook.setTitle(title);
+            existingBook.setAuthor(author);
+            existingBook.setPublishedYear(publishedYear);
+            existingBook.setCopiesAvailable(copiesAvailable);
 
-        return bookRepository.save(existingBook);
+            Book savedBook = bookRepository.save(existingBook);
+
+            unitOfWork.afterCommit(changeNotifier::notifyListeners);
+            unitOfWork.commit();
+
+            return savedBook;
+        }
     }
 
     /**
@@ -136,6 +180,48 @@ public class BookService {
         return bookRepository.findAllNonDeactivated(PageRequest.of(page, size));
     }
 
+    /**
+     * Finds all books that are not deactivated (logical/soft delete) using keyset pagination.
+     *
+     * @param pageRequest the keyset pagination request containing the cursor and size
+     * @return a pageable response containing books and the adjacent page cursors
+     */
+    public PageableResponse<Book> findAll(KeysetPageRequest pageRequest) {
+        return bookRepository.findAllNonDeactivated(pageRequest);
+    }
+
+    /**
+     * Finds the table rows of the books that are not deactivated (logical/soft delete), in the
+     * requested order, without hydrating the book entities.
+     *
+     * @param pageRequest the pagination request containing page number, size and sort
+     * @return a pageable response containing book rows
+     */
+    public PageableResponse<BookRow> findAllRows(PageRequest pageRequest) {
+        return bookRepository.findNonDeactivatedRows(pageRequest);
+    }
+
+    /**
+     * Finds the table rows of the books that are not deactivated (logical/soft delete) using keyset
+     * pagination, without hydrating the book entities.
+     *
+     * @param pageRequest the keyset pagination request containing the cursor and size
+     * @return a pageable response containing book rows and the adjacent page cursors
+     */
+    public PageableResponse<BookRow> findAllRows(KeysetPageRequest pageRequest) {
+        return bookRepository.findNonDeactivatedRows(pageRequest);
+    }
+
+    /**
+     * Finds a book by its ID.
+     *
+     * @param bookId the ID of the book
+     * @return an Optional containing the book if found, or empty if not found
+     */
+    public Optional<Book> findById(Long bookId) {
+        return bookRepository.findById(bookId);
+    }
+
     /**
      * Ensures that the given isbn is unique across all books, excluding a specific book ID.
      *
@@ -4,16 +4,22 @@ import br.edu.ifba.inf008.core.domain.interfaces.Nameable;
 import br.edu.ifba.inf008.core.ui.components.table.annotations.TableColumnSize;
 import br.edu.ifba.inf008.core.ui.components.table.annotations.TableIgnore;
 import br.edu.ifba.inf008.core.ui.components.table.annotations.TableLabel;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.time.LocalDateTime;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "books")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books")
 public class Book implements Nameable {
 
     /**
@@ -21,7 +27,10 @@ public class Book implements Nameable {
      */
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "books_id_generator")
+    @TableGenerator(name = "books_id_generator", table = "id_generators",
+            pkColumnName = "entity", valueColumnName = "next_id", pkColumnValue = "books",
+            allocationSize = 50)
     @Column(name = "book_id", nullable = false, unique = true)
     @TableLabel("#")
     @TableColumnSize(50)
@@ -49,6 +58,10 @@ public class Book implements Nameable {
     @TableIgnore
     private Integer copiesAvailable = 0;
 
+    @Column(name = "active_loans", nullable = false, columnDefinition = "INT DEFAULT 0")
+    @TableIgnore
+    private Integer activeLoans = 0;
+
     @Column(name = "deactivated_at", columnDefinition = "TIMESTAMP DEFAULT NULL")
     @TableIgnore
     private LocalDateTime deactivatedAt;
@@ -113,6 +126,24 @@ public class Book implements Nameable {
         this.copiesAvailable = copiesAvailable;
     }
 
+    public Integer getActiveLoans() {
+        return activeLoans;
+    }
+
+    public void setActiveLoans(Integer activeLoans) {
+        this.activeLoans = activeLoans;
+    }
+
+    /**
+     * Gets the number of copies that can still be loaned, computed from the total copies and the
+     * loans that have not been returned yet.
+     *
+     * @return the number of copies available to loan
+     */
+    public long getAvailableCopies() {
+        return (long) copiesAvailable - activeLoans;
+    }
+
     public LocalDateTime getDeactivatedAt() {
         return deactivatedAt;
     }
@@ -144,6 +175,7 @@ public class Book implements Nameable {
                 ", isbn='" + isbn + '\'' +
                 ", publishedYear=" + publishedYear +
                 ", copiesAvailable=" + copiesAvailable +
+                ", activeLoans=" + activeLoans +
                 ", deactivatedAt=" + deactivatedAt +
                 '}';
     }
@@ -4,9 +4,20 @@ package br.edu.ifba.inf008.plugins.books.infrastructure.managers;
 import br.edu.ifba.inf008.plugins.books.infrastructure.providers.BookAvailabilityProvider;
 import br.edu.ifba.inf008.plugins.books.infrastructure.providers.impl.DefaultBookAvailabilityProvider;
 import br.edu.ifba.inf008.plugins.books.infrastructure.repositories.BookRepository;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 public class BookAvailabilityManager {
 
+    /**
+     * Maximum number of books looked up by a single call to the provider, keeping the IN lists of
+     * the queries it runs well below the placeholder limit of the database.
+     */
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
     private static BookAvailabilityManager instance;
 
     private BookAvailabilityProvider provider;
@@ -29,6 +40,45 @@ public class BookAvailabilityManager {
         return provider.provideAvailableCopies(bookId);
     }
 
+    /**
+     * Gets the available copies of several books, looking them up in chunks of at most
+     * {@link #LOOKUP_CHUNK_SIZE} books.
+     *
+     * @param bookIds the IDs of the books
+     * @return a map from book ID to its available copies; books not found map to 0
+     */
+    public Long2LongMap getAvailableCopies(Collection<Long> bookIds) {
+        if (bookIds.size() <= LOOKUP_CHUNK_SIZE) {
+            return provider.provideAvailableCopies(bookIds);
+        }
+
+        Long2LongMap availableCopies = new Long2LongOpenHashMap(bookIds.size());
+        List<Long> chunk = new ArrayList<>(LOOKUP_CHUNK_SIZE);
+
+        for (Long bookId : bookIds) {
+            chunk.add(bookId);
+
+            if (chunk.size() == LOOKUP_CHUNK_SIZE) {
+                availableCopies.putAll(provider.provideAvailableCopies(chunk));
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            availableCopies.putAll(provider.provideAvailableCopies(chunk));
+        }
+
+        return availableCopies;
+    }
+
+    public void onCopyLoaned(Long bookId) {
+        provider.onCopyLoaned(bookId);
+    }
+
+    public void onCopyReturned(Long bookId) {
+        provider.onCopyReturned(bookId);
+    }
+
     public boolean isBookAvailable(Long bookId) {
         Long availableCopies = getAvailableCopies(bookId);
 
@@ -0,0 +1,27 @@
+package br.edu.ifba.inf008.plugins.books.infrastructure.models.projection;
+
+import br.edu.ifba.inf008.core.ui.components.table.annotations.TableColumnSize;
+import br.edu.ifba.inf008.core.ui.components.table.annotations.TableLabel;
+
+/**
+ * Projection of a book holding only the columns displayed in the books table, so listing books
+ * does not hydrate whole entities.
+ */
+public record BookRow(
+        @TableLabel("#")
+        @TableColumnSize(50)
+        Long bookId,
+
+        @TableColumnSize(220)
+        String title,
+
+        @TableLabel("Author")
+        @TableColumnSize(160)
+        String author,
+
+        @TableLabel("ISBN")
+        @TableColumnSize(150)
+        String isbn
+) {
+
+}
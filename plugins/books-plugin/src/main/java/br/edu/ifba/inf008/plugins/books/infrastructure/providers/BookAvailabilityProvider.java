@@ -1,6 +1,35 @@
 package br.edu.ifba.inf008.plugins.books.infrastructure.providers;
 
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import java.util.Collection;
+
 public interface BookAvailabilityProvider {
 
     Long provideAvailableCopies(Long bookId);
+
+    /**
+     * Provides the available copies of several books at once, in a single round trip.
+     *
+     * @param bookIds the IDs of the books
+     * @return a map from book ID to its available copies; books not found map to 0
+     */
+    Long2LongMap provideAvailableCopies(Collection<Long> bookIds);
+
+    /**
+     * Notifies the provider that a copy of the book was lent. Providers keeping availability in
+     * memory update it here; the default implementation does nothing.
+     *
+     * @param bookId the ID of the lent book
+     */
+    default void onCopyLoaned(Long bookId) {
+    }
+
+    /**
+     * Notifies the provider that a copy of the book was returned. Providers keeping availability
+     * in memory update it here; the default implementation does nothing.
+     *
+     * @param bookId the ID of the returned book
+     */
+    default void onCopyReturned(Long bookId) {
+    }
 }
@@ -3,7 +3,13 @@ package br.edu.ifba.inf008.plugins.books.infrastructure.providers.impl;
 import br.edu.ifba.inf008.plugins.books.domain.entities.Book;
 import br.edu.ifba.inf008.plugins.books.infrastructure.providers.BookAvailabilityProvider;
 import br.edu.ifba.inf008.plugins.books.infrastructure.repositories.BookRepository;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import java.util.Collection;
 
+/**
+ * Book availability provider that reads the active loans counter kept on each book row, so every
+ * availability check is a primary-key read regardless of how many loans were ever made.
+ */
 public class DefaultBookAvailabilityProvider implements BookAvailabilityProvider {
 
     private final BookRepository bookRepository;
@@ -15,9 +21,13 @@ public class DefaultBookAvailabilityProvider implements BookAvailabilityProvider
     @Override
     public Long provideAvailableCopies(Long bookId) {
         return bookRepository.findById(bookId)
-                .map(Book::getCopiesAvailable)
-                .map(Integer::longValue)
+                .map(Book::getAvailableCopies)
                 .orElse(0L);
     }
 
+    @Override
+    public Long2LongMap provideAvailableCopies(Collection<Long> bookIds) {
+        return bookRepository.findAvailableCopiesByIds(bookIds);
+    }
+
 }
@@ -1,9 +1,17 @@
 package br.edu.ifba.inf008.plugins.books.infrastructure.repositories;
 
+import br.edu.ifba.inf008.core.domain.models.KeysetPageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageableResponse;
+import br.edu.ifba.inf008.core.infrastructure.repositories.Attribute;
+import br.edu.ifba.inf008.core.infrastructure.repositories.Specification;
 import br.edu.ifba.inf008.core.infrastructure.repositories.impl.HibernateRepository;
 import br.edu.ifba.inf008.plugins.books.domain.entities.Book;
+import br.edu.ifba.inf008.plugins.books.infrastructure.models.projection.BookRow;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,8 +25,29 @@ public class BookRepository extends HibernateRepository<Book, Long> {
      */
     private static final BookRepository INSTANCE = new BookRepository();
 
+    public static final Attribute<Book, LocalDateTime> DEACTIVATED_AT =
+            Attribute.of(Book.class, "deactivatedAt", LocalDateTime.class);
+    public static final Attribute<Book, String> ISBN =
+            Attribute.of(Book.class, "isbn", String.class);
+    public static final Attribute<Book, Integer> ACTIVE_LOANS =
+            Attribute.of(Book.class, "activeLoans", Integer.class);
+
+    /**
+     * Matches the books that are not deactivated.
+     */
+    public static final Specification<Book> NON_DEACTIVATED =
+            Specification.isNull(DEACTIVATED_AT);
+
+    /**
+     * Matches the books with at least one copy on loan.
+     */
+    public static final Specification<Book> WITH_ACTIVE_LOANS =
+            Specification.greaterThan(ACTIVE_LOANS, 0);
+
     protected BookRepository() {
         super(Book.class);
+
+        setQueryCacheRegion("book-queries");
     }
 
     public static BookRepository getInstance() {
@@ -32,7 +61,40 @@ public class BookRepository extends HibernateRepository<Book, Long> {
      * @return a pageable response containing books that are not deactivated
      */
     public PageableResponse<Book> findAllNonDeactivated(PageRequest pageRequest) {
-        return findAll(pageRequest, "deactivatedAt", null);
+        return findAll(pageRequest, NON_DEACTIVATED);
+    }
+
+    /**
+     * Finds all books that are not deactivated using keyset pagination.
+     *
+     * @param pageRequest the keyset pagination request containing the cursor and size
+     * @return a pageable response containing books that are not deactivated
+     */
+    public PageableResponse<Book> findAllNonDeactivated(KeysetPageRequest pageRequest) {
+        return findAll(pageRequest, NON_DEACTIVATED);
+    }
+
+    /**
+     * Finds the table rows of the books that are not deactivated, in the requested order, reading
+     * only the displayed columns. The rows are displayed repeatedly, so they are cached in the
+     * query cache.
+     *
+     * @param pageRequest the pagination request containing page number, size and sort
+     * @return a pageable response containing the rows of books that are not deactivated
+     */
+    public PageableResponse<BookRow> findNonDeactivatedRows(PageRequest pageRequest) {
+        return findProjections(pageRequest.withCacheable(true), NON_DEACTIVATED, BookRow.class);
+    }
+
+    /**
+     * Finds the table rows of the books that are not deactivated using keyset pagination, reading
+     * only the displayed columns. The rows are cached in the query cache.
+     *
+     * @param pageRequest the keyset pagination request containing the cursor and size
+     * @return a pageable response containing the rows of books that are not deactivated
+     */
+    public PageableResponse<BookRow> findNonDeactivatedRows(KeysetPageRequest pageRequest) {
+        return findProjections(pageRequest.withCacheable(true), NON_DEACTIVATED, BookRow.class);
     }
 
     /**
@@ -41,7 +103,65 @@ public class BookRepository extends HibernateRepository<Book, Long> {
      * @return a response containing books that are not deactivated
      */
     public List<Book> findAllNonDeactivated() {
-        return findAll("deactivatedAt", null);
+        return findAll(NON_DEACTIVATED);
+    }
+
+    /**
+     * Finds the copies still available to loan of several books in a single query, reading the
+     * active loans counter kept on each book row.
+     *
+     * @param bookIds the IDs of the books
+     * @return a map from book ID to its available copies; books not found map to 0
+     */
+    public Long2LongMap findAvailableCopiesByIds(Collection<Long> bookIds) {
+        Long2LongMap copies = new Long2LongOpenHashMap(bookIds.size());
+
+        if (bookIds.isEmpty()) {
+            return copies;
+        }
+
+        return withSession(session -> {
+            session.createQuery("""
+                            SELECT b.bookId, b.copiesAvailable - b.activeLoans
+                            FROM Book b
+                            WHERE b.bookId IN :bookIds
+                            """, Object[].class).setParameter("bookIds", bookIds).getResultList()
+                    .forEach(row -> copies.put((long) (Long) row[0],
+                            ((Number) row[1]).longValue()));
+
+            return copies;
+        });
+    }
+
+    /**
+     * Reads the copies still available to loan of every book in a single query, reading the active
+     * loans counter kept on each book row.
+     *
+     * @return a map from book ID to its available copies
+     */
+    public Long2LongMap findAllAvailableCopies() {
+        return withSession(session -> {
+            Long2LongMap copies = new Long2LongOpenHashMap();
+
+            session.createQuery("""
+                            SELECT b.bookId, b.copiesAvailable - b.activeLoans
+                            FROM Book b
+                            """, Object[].class).getResultList()
+                    .forEach(row -> copies.put((long) (Long) row[0],
+                            ((Number) row[1]).longValue()));
+
+            return copies;
+        });
+    }
+
+    /**
+     * Finds all books with at least one copy on loan.
+     *
+     * @param pageRequest the pagination request containing page number and size
+     * @return a pageable response containing the books with copies on loan
+     */
+    public PageableResponse<Book> findAllWithActiveLoans(PageRequest pageRequest) {
+        return findAll(pageRequest, WITH_ACTIVE_LOANS);
     }
 
     /**
@@ -51,7 +171,7 @@ public class BookRepository extends HibernateRepository<Book, Long> {
      * @return an Optional containing the Book if found, or empty if not found
      */
     public Optional<Book> findByIsbn(String isbn) {
-        return findOne("isbn", isbn);
+        return findOne(Specification.equal(ISBN, isbn));
     }
 
 }
@@ -2,12 +2,15 @@ package br.edu.ifba.inf008.plugins.books.ui.providers;
 
 import br.edu.ifba.inf008.core.ui.components.table.TableComponent;
 import br.edu.ifba.inf008.core.ui.components.table.interfaces.TableAction;
+import br.edu.ifba.inf008.plugins.books.application.services.BookService;
 import br.edu.ifba.inf008.plugins.books.domain.entities.Book;
+import br.edu.ifba.inf008.plugins.books.infrastructure.models.projection.BookRow;
 import br.edu.ifba.inf008.plugins.books.ui.PluginIcons;
 import br.edu.ifba.inf008.plugins.books.ui.views.DeleteBookDialog;
 import br.edu.ifba.inf008.plugins.books.ui.views.EditBookDialog;
 import br.edu.ifba.inf008.plugins.books.ui.views.ViewBookDialog;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
@@ -22,7 +25,7 @@ public class BookTableActionsProvider {
      * @param tableComponent the table component to which the actions will be added
      * @return a list of actions for the book table component
      */
-    public static List<TableAction<Book>> getActions(TableComponent<Book> tableComponent) {
+    public static List<TableAction<BookRow>> getActions(TableComponent<BookRow> tableComponent) {
         return List.of(new TableAction<>() {
             public String getLabel() {
                 return "View";
@@ -32,14 +35,16 @@ public class BookTableActionsProvider {
                 return PluginIcons.VIEW;
             }
 
-            public void onAction(Book book) {
-                ViewBookDialog viewBookDialog = new ViewBookDialog(book);
+            public void onAction(BookRow row) {
+                withBook(row, book -> {
+                    ViewBookDialog viewBookDialog = new ViewBookDialog(book);
 
-                viewBookDialog.showAndWait();
+                    viewBookDialog.showAndWait();
+                });
             }
 
-            public Predicate<Book> getCondition() {
-                return (book) -> book.getDeactivatedAt() == null;
+            public Predicate<BookRow> getCondition() {
+                return (_) -> true;
             }
         }, new TableAction<>() {
             public String getLabel() {
@@ -50,14 +55,15 @@ public class BookTableActionsProvider {
                 return PluginIcons.EDIT;
             }
 
-            public void onAction(Book book) {
-                EditBookDialog editBookDialog = new EditBookDialog(book);
+            public void onAction(BookRow row) {
+                withBook(row, book -> {
+                    EditBookDialog editBookDialog = new EditBookDialog(book);
 
-                editBookDialog.setOnBookEdited((_) -> tableComponent.reload());
-                editBookDialog.showAndWait();
+                    editBookDialog.showAndWait();
+                });
             }
 
-            public Predicate<Book> getCondition() {
+            public Predicate<BookRow> getCondition() {
                 return (_) -> true;
             }
         }, new TableAction<>() {
@@ -69,17 +75,30 @@ public class BookTableActionsProvider {
                 return PluginIcons.DELETE;
             }
 
-            public void onAction(Book book) {
-                DeleteBookDialog deleteBookDialog = new DeleteBookDialog(book);
+            public void onAction(BookRow row) {
+                withBook(row, book -> {
+                    DeleteBookDialog deleteBookDialog = new DeleteBookDialog(book);
 
-                deleteBookDialog.setOnBookDeleted((_) -> tableComponent.reload());
-                deleteBookDialog.showAndWait();
+                    deleteBookDialog.showAndWait();
+                });
             }
 
-            public Predicate<Book> getCondition() {
-                return (book) -> book.getDeactivatedAt() == null;
+            public Predicate<BookRow> getCondition() {
+                return (_) -> true;
             }
         });
     }
 
+    /**
+     * Loads the book of a table row and runs the given action with it. Rows only hold the displayed
+     * columns, so the entity is read when an action needs it; nothing happens if it no longer
+     * exists.
+     *
+     * @param row    the table row of the book
+     * @param action the action to run with the loaded book
+     */
+    private static void withBook(BookRow row, Consumer<Book> action) {
+        BookService.getInstance().findById(row.bookId()).ifPresent(action);
+    }
+
 }
@@ -4,7 +4,7 @@ import br.edu.ifba.inf008.core.IUIController;
 import br.edu.ifba.inf008.core.ui.Icons;
 import br.edu.ifba.inf008.core.ui.components.table.TableComponent;
 import br.edu.ifba.inf008.plugins.books.application.services.BookService;
-import br.edu.ifba.inf008.plugins.books.domain.entities.Book;
+import br.edu.ifba.inf008.plugins.books.infrastructure.models.projection.BookRow;
 import br.edu.ifba.inf008.plugins.books.ui.providers.BookTableActionsProvider;
 import java.util.function.Supplier;
 import javafx.geometry.Pos;
@@ -24,14 +24,16 @@ import javafx.scene.layout.VBox;
 public class MainView extends VBox {
 
     private final IUIController uiController;
-    private final TableComponent<Book> tableComponent;
+    private final TableComponent<BookRow> tableComponent;
 
     public MainView(IUIController uiController, BookService bookService) {
         super(10);
         this.uiController = uiController;
         this.getStyleClass().add("bm-main-content");
 
-        this.tableComponent = new TableComponent<>(Book.class, bookService::findAll);
+        this.tableComponent = TableComponent.withInfiniteScroll(BookRow.class,
+                bookService::findAllRows, bookService::findAllRows);
+        bookService.addChangeListener(tableComponent::invalidate);
         this.tableComponent.addActionColumn(BookTableActionsProvider.getActions(tableComponent));
         initialize();
     }
@@ -72,8 +74,8 @@ public class MainView extends VBox {
     }
 
     /**
-     * Configures the action for the "Create Book" button. Opens a dialog to create a new book and
-     * reloads the table upon successful creation.
+     * Configures the action for the "Create Book" button. Opens a dialog to create a new book; the
+     * table is reloaded by its change listener once the book is created.
      *
      * @param createButton The button to configure.
      */
@@ -81,7 +83,6 @@ public class MainView extends VBox {
         createButton.setOnAction(e -> {
             CreateBookDialog dialog = new CreateBookDialog();
 
-            dialog.setOnBookCreated(_ -> tableComponent.reload());
             dialog.showAndWait();
         });
     }
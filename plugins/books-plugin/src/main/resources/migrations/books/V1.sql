@@ -0,0 +1,2 @@
+-- Add the active loans counter to databases created before it existed
+ALTER TABLE books ADD COLUMN IF NOT EXISTS active_loans INT DEFAULT 0 NOT NULL;
@@ -0,0 +1,2 @@
+-- Index the soft delete column used by every book listing
+CREATE INDEX IF NOT EXISTS idx_books_deactivated_at ON books (deactivated_at);
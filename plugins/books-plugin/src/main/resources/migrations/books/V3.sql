@@ -0,0 +1,10 @@
+-- Create the id generators table if missing and seed the next book ID past the existing books
+CREATE TABLE IF NOT EXISTS id_generators
+(
+    entity  VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_id BIGINT       NOT NULL
+);
+INSERT INTO id_generators (entity, next_id)
+SELECT 'books', seed.next_id
+FROM (SELECT COALESCE(MAX(book_id), 0) + 1 AS next_id FROM books) seed
+WHERE NOT EXISTS (SELECT 1 FROM id_generators WHERE entity = 'books');
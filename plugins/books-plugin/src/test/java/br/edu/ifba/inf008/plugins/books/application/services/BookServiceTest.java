@@ -3,6 +3,7 @@ package br.edu.ifba.inf008.plugins.books.application.services;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import br.edu.ifba.inf008.core.infrastructure.managers.UnitOfWork;
 import br.edu.ifba.inf008.plugins.books.domain.entities.Book;
 import br.edu.ifba.inf008.plugins.books.domain.exceptions.BookNotFoundException;
 import br.edu.ifba.inf008.plugins.books.domain.exceptions.IsbnAlreadyExistingException;
@@ -10,6 +11,7 @@ import br.edu.ifba.inf008.plugins.books.infrastructure.models.request.CreateBook
 import br.edu.ifba.inf008.plugins.books.infrastructure.models.request.EditBookRequest;
 import br.edu.ifba.inf008.plugins.books.infrastructure.repositories.BookRepository;
 import jakarta.validation.ConstraintViolationException;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.cfg.Configuration;
@@ -143,6 +145,59 @@ public class BookServiceTest {
                 .isInstanceOf(BookNotFoundException.class);
     }
 
+    @Test
+    void editBook_NotifiesChangeListenersOnlyWhenCommitted() throws Exception {
+        BookService service = new BookService(bookRepository);
+        AtomicInteger notifications = new AtomicInteger();
+
+        service.addChangeListener(notifications::incrementAndGet);
+
+        Book book = service.create(new CreateBookRequest(
+                "4445556667778", "Listened Title", "Author", 2017, 2
+        ));
+
+        service.edit(book.getBookId(), new EditBookRequest(
+                "4445556667778", "Listened Edit", "Author", 2017, 2
+        ));
+
+        assertThatThrownBy(() -> service.edit(999L, new EditBookRequest(
+                "4445556667778", "Not Committed", "Author", 2017, 2
+        ))).isInstanceOf(BookNotFoundException.class);
+
+        assertThat(notifications).hasValue(2);
+    }
+
+    @Test
+    void createBook_DoesNotNotifyChangeListenersWhenOuterUnitOfWorkRollsBack() throws Exception {
+        BookService service = new BookService(bookRepository);
+        AtomicInteger notifications = new AtomicInteger();
+
+        service.addChangeListener(notifications::incrementAndGet);
+
+        try (UnitOfWork unitOfWork = bookRepository.beginUnitOfWork()) {
+            service.create(new CreateBookRequest(
+                    "8889990001112", "Rolled Back", "Author", 2019, 1
+            ));
+
+            assertThat(notifications).hasValue(0);
+        }
+
+        assertThat(notifications).hasValue(0);
+        assertThat(bookRepository.findByIsbn("8889990001112")).isEmpty();
+
+        try (UnitOfWork unitOfWork = bookRepository.beginUnitOfWork()) {
+            service.create(new CreateBookRequest(
+                    "8889990001112", "Committed", "Author", 2019, 1
+            ));
+
+            assertThat(notifications).hasValue(0);
+
+            unitOfWork.commit();
+        }
+
+        assertThat(notifications).hasValue(1);
+    }
+
     @Test
     void findAll_ReturnsPageableResponse() {
         var response = bookService.findAll(1, 10);
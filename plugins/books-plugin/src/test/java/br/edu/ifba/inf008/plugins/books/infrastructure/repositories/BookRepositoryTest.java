@@ -1,11 +1,21 @@
 package br.edu.ifba.inf008.plugins.books.infrastructure.repositories;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import br.edu.ifba.inf008.core.domain.models.KeysetPageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageableResponse;
+import br.edu.ifba.inf008.core.domain.models.Sort;
+import br.edu.ifba.inf008.core.infrastructure.managers.UnitOfWork;
+import br.edu.ifba.inf008.core.infrastructure.repositories.Attribute;
+import br.edu.ifba.inf008.core.infrastructure.repositories.PagingStrategy;
+import br.edu.ifba.inf008.core.infrastructure.repositories.Specification;
 import br.edu.ifba.inf008.plugins.books.domain.entities.Book;
+import br.edu.ifba.inf008.plugins.books.infrastructure.models.projection.BookRow;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
@@ -101,4 +111,509 @@ class BookRepositoryTest {
                 .containsExactly("Clean Code")
                 .doesNotContain("Obsolete Book");
     }
+
+    @Test
+    void unitOfWork_ShouldCommitAllOperationsTogether() {
+        try (UnitOfWork unitOfWork = bookRepository.beginUnitOfWork()) {
+            bookRepository.save(new Book("Refactoring", "Martin Fowler", "9780134757599", 2018, 2));
+            bookRepository.save(new Book("Domain-Driven Design", "Eric Evans", "9780321125217",
+                    2003, 1));
+
+            assertThat(bookRepository.findByIsbn("9780134757599")).isPresent();
+
+            unitOfWork.commit();
+        }
+
+        assertThat(UnitOfWork.isActive()).isFalse();
+        assertThat(bookRepository.findAll()).hasSize(2);
+    }
+
+    @Test
+    void unitOfWork_ShouldRollbackWhenNotCommitted() {
+        try (UnitOfWork unitOfWork = bookRepository.beginUnitOfWork()) {
+            bookRepository.save(new Book("Refactoring", "Martin Fowler", "9780134757599", 2018, 2));
+
+            try (UnitOfWork nested = bookRepository.beginUnitOfWork()) {
+                assertThat(nested.getSession()).isSameAs(unitOfWork.getSession());
+            }
+        }
+
+        assertThat(UnitOfWork.isActive()).isFalse();
+        assertThat(bookRepository.findByIsbn("9780134757599")).isEmpty();
+    }
+
+    @Test
+    void findAllNonDeactivated_ShouldPageByKeyset() {
+        for (int i = 1; i <= 5; i++) {
+            bookRepository.save(new Book("Book " + i, "Author", "isbn-" + i, 2000 + i, 1));
+        }
+
+        PageableResponse<Book> first = bookRepository.findAllNonDeactivated(
+                KeysetPageRequest.first(2));
+
+        assertThat(first.getContent()).extracting(Book::getTitle)
+                .containsExactly("Book 1", "Book 2");
+        assertThat(first.getTotalElements()).isEqualTo(5);
+        assertThat(first.getPreviousCursor()).isNull();
+        assertThat(first.getNextCursor()).isNotNull();
+
+        PageableResponse<Book> second = bookRepository.findAllNonDeactivated(
+                KeysetPageRequest.after(first.getNextCursor(), 2));
+
+        assertThat(second.getContent()).extracting(Book::getTitle)
+                .containsExactly("Book 3", "Book 4");
+
+        PageableResponse<Book> last = bookRepository.findAllNonDeactivated(
+                KeysetPageRequest.after(second.getNextCursor(), 2));
+
+        assertThat(last.getContent()).extracting(Book::getTitle).containsExactly("Book 5");
+        assertThat(last.getNextCursor()).isNull();
+
+        PageableResponse<Book> back = bookRepository.findAllNonDeactivated(
+                KeysetPageRequest.before(last.getPreviousCursor(), 2));
+
+        assertThat(back.getContent()).extracting(Book::getTitle)
+                .containsExactly("Book 3", "Book 4");
+        assertThat(back.getPreviousCursor()).isNotNull();
+    }
+
+    @Test
+    void findAllNonDeactivated_ShouldReuseKnownTotalOfKeysetPages() {
+        for (int i = 1; i <= 3; i++) {
+            bookRepository.save(new Book("Book " + i, "Author", "isbn-" + i, 2000 + i, 1));
+        }
+
+        PageableResponse<Book> first = bookRepository.findAllNonDeactivated(
+                KeysetPageRequest.first(2));
+
+        assertThat(first.getTotalElements()).isEqualTo(3);
+
+        bookRepository.save(new Book("Book 4", "Author", "isbn-4", 2004, 1));
+
+        PageableResponse<Book> second = bookRepository.findAllNonDeactivated(
+                KeysetPageRequest.after(first.getNextCursor(), 2)
+                        .withKnownTotal(first.getTotalElements()));
+
+        assertThat(second.getContent()).extracting(Book::getTitle)
+                .containsExactly("Book 3", "Book 4");
+        assertThat(second.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void findAllNonDeactivated_ShouldReuseKnownTotalOfOffsetPages() {
+        for (int i = 1; i <= 3; i++) {
+            bookRepository.save(new Book("Book " + i, "Author", "isbn-" + i, 2000 + i, 1));
+        }
+
+        PageableResponse<Book> first = bookRepository.findAllNonDeactivated(
+                PageRequest.of(0, 2));
+
+        assertThat(first.getTotalElements()).isEqualTo(3);
+
+        bookRepository.save(new Book("Book 4", "Author", "isbn-4", 2004, 1));
+
+        PageableResponse<Book> second = bookRepository.findAllNonDeactivated(
+                PageRequest.of(1, 2).withKnownTotal(first.getTotalElements()));
+
+        assertThat(second.getContent()).extracting(Book::getTitle)
+                .containsExactly("Book 3", "Book 4");
+        assertThat(second.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void countQueryStrategy_ShouldCountEveryPage() {
+        BookRepository repository = repositoryWith(PagingStrategy.COUNT_QUERY);
+
+        for (int i = 1; i <= 3; i++) {
+            repository.save(new Book("Book " + i, "Author", "isbn-" + i, 2000 + i, 1));
+        }
+
+        assertThat(repository.findAllNonDeactivated(PageRequest.of(0, 2)).getTotalElements())
+                .isEqualTo(3);
+
+        insertDirectly(new Book("Book 4", "Author", "isbn-4", 2004, 1));
+
+        PageableResponse<Book> second = repository.findAllNonDeactivated(PageRequest.of(1, 2));
+
+        assertThat(second.getContent()).extracting(Book::getTitle)
+                .containsExactly("Book 3", "Book 4");
+        assertThat(second.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    void windowCountStrategy_ShouldCountPagesPastTheLastOne() {
+        BookRepository repository = repositoryWith(PagingStrategy.WINDOW_COUNT);
+
+        for (int i = 1; i <= 3; i++) {
+            repository.save(new Book("Book " + i, "Author", "isbn-" + i, 2000 + i, 1));
+        }
+
+        PageableResponse<Book> first = repository.findAllNonDeactivated(PageRequest.of(0, 2));
+        PageableResponse<Book> pastTheEnd = repository.findAllNonDeactivated(
+                PageRequest.of(5, 2));
+
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(pastTheEnd.getContent()).isEmpty();
+        assertThat(pastTheEnd.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void cachedCountStrategy_ShouldReuseTotalUntilWriteIsCommitted() {
+        BookRepository repository = repositoryWith(PagingStrategy.CACHED_COUNT);
+
+        for (int i = 1; i <= 3; i++) {
+            repository.save(new Book("Book " + i, "Author", "isbn-" + i, 2000 + i, 1));
+        }
+
+        assertThat(repository.findAllNonDeactivated(PageRequest.of(0, 2)).getTotalElements())
+                .isEqualTo(3);
+
+        insertDirectly(new Book("Book 4", "Author", "isbn-4", 2004, 1));
+
+        assertThat(repository.findAllNonDeactivated(PageRequest.of(1, 2)).getTotalElements())
+                .isEqualTo(3);
+
+        try (UnitOfWork unitOfWork = repository.beginUnitOfWork()) {
+            repository.save(new Book("Book 5", "Author", "isbn-5", 2005, 1));
+
+            assertThat(repository.findAllNonDeactivated(PageRequest.of(0, 2))
+                    .getTotalElements()).isEqualTo(5);
+            assertThat(repository.findAll(PageRequest.of(0, 2), "title", "Book 5")
+                    .getTotalElements()).isEqualTo(1);
+
+            unitOfWork.commit();
+        }
+
+        assertThat(repository.findAllNonDeactivated(PageRequest.of(0, 2)).getTotalElements())
+                .isEqualTo(5);
+    }
+
+    @Test
+    void findAll_ShouldRejectPropertiesThatAreNotAttributes() {
+        bookRepository.save(new Book("Book 1", "Author", "isbn-1", 2001, 1));
+
+        assertThatThrownBy(() -> bookRepository.findAll(PageRequest.of(0, 2,
+                List.of(Sort.asc("title; DROP TABLE books")))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bookRepository.findAllNonDeactivated(
+                KeysetPageRequest.first(2).withSort(Sort.desc("unknown"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bookRepository.findAll("1 = 1 OR e.title", "Book 1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void findAllBySpecification_ShouldCombineFiltersSortAndProject() {
+        Attribute<Book, String> author = Attribute.of(Book.class, "author", String.class);
+        Attribute<Book, String> title = Attribute.of(Book.class, "title", String.class);
+        Attribute<Book, Integer> publishedYear =
+                Attribute.of(Book.class, "publishedYear", Integer.class);
+
+        String[][] books = {
+                {"Clean Code", "Robert Martin", "9780132350884", "2008"},
+                {"Clean Architecture", "Robert Martin", "9780134494166", "2017"},
+                {"Domain-Driven Design", "Eric Evans", "9780321125217", "2003"},
+                {"Patterns of Enterprise Application Architecture", "Martin Fowler",
+                        "9780321127426", "2002"}
+        };
+
+        for (String[] values : books) {
+            Book book = new Book();
+            book.setTitle(values[0]);
+            book.setAuthor(values[1]);
+            book.setIsbn(values[2]);
+            book.setPublishedYear(Integer.parseInt(values[3]));
+            book.setCopiesAvailable(1);
+            bookRepository.save(book);
+        }
+
+        Specification<Book> spec = Specification.equal(author, "Robert Martin")
+                .or(Specification.lessThan(publishedYear, 2003))
+                .and(BookRepository.NON_DEACTIVATED);
+
+        assertThat(bookRepository.findAll(spec, publishedYear.desc()))
+                .extracting(Book::getTitle)
+                .containsExactly("Clean Architecture", "Clean Code",
+                        "Patterns of Enterprise Application Architecture");
+
+        assertThat(bookRepository.findValues(
+                Specification.likeIgnoreCase(title, "%architecture%"), title, title.asc()))
+                .containsExactly("Clean Architecture",
+                        "Patterns of Enterprise Application Architecture");
+
+        assertThat(bookRepository.count(spec.negate())).isEqualTo(1);
+
+        assertThat(bookRepository.findAll(
+                Specification.in(publishedYear, List.of(2002, 2017)), publishedYear.asc()))
+                .extracting(Book::getTitle)
+                .containsExactly("Patterns of Enterprise Application Architecture",
+                        "Clean Architecture");
+    }
+
+    @Test
+    void findAllNonDeactivated_ShouldSortPagesInTheDatabase() {
+        String[] titles = {"Delta", "Alpha", "Echo", "Charlie", "Bravo"};
+
+        for (int i = 0; i < titles.length; i++) {
+            Book book = new Book();
+            book.setTitle(titles[i]);
+            book.setAuthor("Author");
+            book.setIsbn("978000000000" + i);
+            book.setPublishedYear(2000);
+            book.setCopiesAvailable(1);
+            bookRepository.save(book);
+        }
+
+        PageableResponse<Book> offsetPage = bookRepository.findAllNonDeactivated(
+                PageRequest.of(1, 2, List.of(Sort.desc("title"))));
+
+        assertThat(offsetPage.getContent()).extracting(Book::getTitle)
+                .containsExactly("Charlie", "Bravo");
+
+        KeysetPageRequest first = KeysetPageRequest.first(2).withSort(Sort.asc("title"));
+        PageableResponse<Book> firstPage = bookRepository.findAllNonDeactivated(first);
+        PageableResponse<Book> secondPage = bookRepository.findAllNonDeactivated(
+                KeysetPageRequest.after(firstPage.getNextCursor(), 2).withSort(first.sort()));
+        PageableResponse<Book> backToFirst = bookRepository.findAllNonDeactivated(
+                KeysetPageRequest.before(secondPage.getPreviousCursor(), 2)
+                        .withSort(first.sort()));
+
+        assertThat(firstPage.getContent()).extracting(Book::getTitle)
+                .containsExactly("Alpha", "Bravo");
+        assertThat(secondPage.getContent()).extracting(Book::getTitle)
+                .containsExactly("Charlie", "Delta");
+        assertThat(backToFirst.getContent()).extracting(Book::getTitle)
+                .containsExactly("Alpha", "Bravo");
+    }
+
+    @Test
+    void findAllNonDeactivated_ShouldSeekAcrossNullSortValues() {
+        String[] titles = {"Alpha", "Bravo", "Charlie", "Delta", "Echo"};
+        Integer[] years = {2001, null, 2003, null, 2002};
+
+        for (int i = 0; i < titles.length; i++) {
+            Book book = new Book();
+            book.setTitle(titles[i]);
+            book.setAuthor("Author");
+            book.setIsbn("978222222222" + i);
+            book.setPublishedYear(years[i]);
+            book.setCopiesAvailable(1);
+            bookRepository.save(book);
+        }
+
+        for (Sort sort : List.of(Sort.asc("publishedYear"), Sort.desc("publishedYear"))) {
+            List<String> expected = sort.direction() == Sort.Direction.ASC
+                    ? List.of("Bravo", "Delta", "Alpha", "Echo", "Charlie")
+                    : List.of("Charlie", "Echo", "Alpha", "Delta", "Bravo");
+            List<String> forward = new ArrayList<>();
+            PageableResponse<Book> page = bookRepository.findAllNonDeactivated(
+                    KeysetPageRequest.first(2).withSort(sort));
+
+            while (true) {
+                page.getContent().forEach(book -> forward.add(book.getTitle()));
+
+                if (page.getNextCursor() == null) {
+                    break;
+                }
+
+                page = bookRepository.findAllNonDeactivated(
+                        KeysetPageRequest.after(page.getNextCursor(), 2).withSort(sort));
+            }
+
+            PageableResponse<Book> previous = bookRepository.findAllNonDeactivated(
+                    KeysetPageRequest.before(page.getPreviousCursor(), 2).withSort(sort));
+
+            assertThat(forward).containsExactlyElementsOf(expected);
+            assertThat(previous.getContent()).extracting(Book::getTitle)
+                    .containsExactlyElementsOf(expected.subList(2, 4));
+        }
+    }
+
+    @Test
+    void findNonDeactivatedRows_ShouldProjectKeysetPagesIntoRows() {
+        String[] titles = {"Delta", "Alpha", "Charlie", "Bravo"};
+
+        for (int i = 0; i < titles.length; i++) {
+            Book book = new Book();
+            book.setTitle(titles[i]);
+            book.setAuthor("Author " + i);
+            book.setIsbn("978111111111" + i);
+            book.setPublishedYear(2001);
+            book.setCopiesAvailable(1);
+            bookRepository.save(book);
+        }
+
+        Book deactivated = bookRepository.findByIsbn("9781111111113").orElseThrow();
+        deactivated.setDeactivatedAt(LocalDateTime.now());
+        bookRepository.save(deactivated);
+
+        KeysetPageRequest first = KeysetPageRequest.first(2).withSort(Sort.asc("title"));
+        PageableResponse<BookRow> firstPage = bookRepository.findNonDeactivatedRows(first);
+        PageableResponse<BookRow> secondPage = bookRepository.findNonDeactivatedRows(
+                KeysetPageRequest.after(firstPage.getNextCursor(), 2).withSort(first.sort()));
+
+        assertThat(firstPage.getTotalElements()).isEqualTo(3);
+        assertThat(firstPage.getContent()).extracting(BookRow::title)
+                .containsExactly("Alpha", "Charlie");
+        assertThat(firstPage.getContent().getFirst())
+                .isEqualTo(new BookRow(firstPage.getContent().getFirst().bookId(), "Alpha",
+                        "Author 1", "9781111111111"));
+        assertThat(secondPage.getContent()).extracting(BookRow::title)
+                .containsExactly("Delta");
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    void findNonDeactivatedRows_ShouldProjectOffsetBlocksIntoRows() {
+        String[] titles = {"Echo", "Golf", "Foxtrot"};
+
+        for (int i = 0; i < titles.length; i++) {
+            Book book = new Book();
+            book.setTitle(titles[i]);
+            book.setAuthor("Author " + i);
+            book.setIsbn("978222222222" + i);
+            book.setPublishedYear(2002);
+            book.setCopiesAvailable(1);
+            bookRepository.save(book);
+        }
+
+        PageableResponse<BookRow> secondBlock = bookRepository.findNonDeactivatedRows(
+                PageRequest.of(1, 2, List.of(Sort.desc("title"))));
+
+        assertThat(secondBlock.getTotalElements()).isEqualTo(3);
+        assertThat(secondBlock.getContent()).extracting(BookRow::title)
+                .containsExactly("Echo");
+    }
+
+    @Test
+    void findById_ShouldBeServedFromSecondLevelCache() {
+        try (SessionFactory cachedSessionFactory = new Configuration()
+                .configure("hibernate-test.cfg.xml")
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:cachedb;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.cache.use_second_level_cache", "true")
+                .setProperty("hibernate.cache.region.factory_class", "jcache")
+                .setProperty("hibernate.javax.cache.provider",
+                        "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider")
+                .setProperty("hibernate.javax.cache.missing_cache_strategy", "create")
+                .setProperty("hibernate.generate_statistics", "true")
+                .addAnnotatedClass(Book.class)
+                .buildSessionFactory()) {
+            BookRepository cachedRepository = new BookRepository() {
+                @Override
+                public Session getSession() {
+                    return cachedSessionFactory.openSession();
+                }
+            };
+
+            Book book = new Book();
+            book.setTitle("Refactoring");
+            book.setAuthor("Martin Fowler");
+            book.setIsbn("9780134757599");
+            book.setPublishedYear(2018);
+            book.setCopiesAvailable(2);
+
+            Long bookId = cachedRepository.save(book).getBookId();
+
+            cachedSessionFactory.getCache().evictAllRegions();
+            cachedSessionFactory.getStatistics().clear();
+
+            cachedRepository.findById(bookId);
+            cachedRepository.findById(bookId);
+
+            var statistics = cachedSessionFactory.getStatistics()
+                    .getDomainDataRegionStatistics("books");
+
+            assertThat(statistics.getMissCount()).isEqualTo(1);
+            assertThat(statistics.getHitCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void findNonDeactivatedRows_ShouldServeCachedRowsUntilBooksAreWritten() {
+        try (SessionFactory cachedSessionFactory = new Configuration()
+                .configure("hibernate-test.cfg.xml")
+                .setProperty("hibernate.connection.url",
+                        "jdbc:h2:mem:querycachedb;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.cache.use_second_level_cache", "true")
+                .setProperty("hibernate.cache.use_query_cache", "true")
+                .setProperty("hibernate.cache.region.factory_class", "jcache")
+                .setProperty("hibernate.javax.cache.provider",
+                        "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider")
+                .setProperty("hibernate.javax.cache.missing_cache_strategy", "create")
+                .setProperty("hibernate.generate_statistics", "true")
+                .addAnnotatedClass(Book.class)
+                .buildSessionFactory()) {
+            BookRepository cachedRepository = new BookRepository() {
+                @Override
+                public Session getSession() {
+                    return cachedSessionFactory.openSession();
+                }
+            };
+
+            Book book = new Book();
+            book.setTitle("Domain-Driven Design");
+            book.setAuthor("Eric Evans");
+            book.setIsbn("9780321125217");
+            book.setPublishedYear(2003);
+            book.setCopiesAvailable(1);
+
+            cachedRepository.save(book);
+            cachedSessionFactory.getStatistics().clear();
+
+            cachedRepository.findAllNonDeactivated(PageRequest.of(0, 10));
+            cachedRepository.findAllNonDeactivated(PageRequest.of(0, 10));
+
+            assertThat(cachedSessionFactory.getStatistics().getQueryCachePutCount()).isZero();
+
+            cachedRepository.findNonDeactivatedRows(PageRequest.of(0, 10));
+            PageableResponse<BookRow> cached =
+                    cachedRepository.findNonDeactivatedRows(PageRequest.of(0, 10));
+
+            var statistics = cachedSessionFactory.getStatistics()
+                    .getQueryRegionStatistics("book-queries");
+
+            assertThat(statistics.getPutCount()).isEqualTo(1);
+            assertThat(statistics.getHitCount()).isEqualTo(1);
+            assertThat(cached.getContent()).extracting(BookRow::title)
+                    .containsExactly("Domain-Driven Design");
+
+            Book secondBook = new Book();
+            secondBook.setTitle("Patterns of Enterprise Application Architecture");
+            secondBook.setAuthor("Martin Fowler");
+            secondBook.setIsbn("9780321127426");
+            secondBook.setPublishedYear(2002);
+            secondBook.setCopiesAvailable(1);
+
+            cachedRepository.save(secondBook);
+
+            PageableResponse<BookRow> refreshed =
+                    cachedRepository.findNonDeactivatedRows(PageRequest.of(0, 10));
+
+            assertThat(statistics.getHitCount()).isEqualTo(1);
+            assertThat(refreshed.getTotalElements()).isEqualTo(2);
+            assertThat(refreshed.getContent()).hasSize(2);
+        }
+    }
+
+    private BookRepository repositoryWith(PagingStrategy pagingStrategy) {
+        BookRepository repository = new BookRepository() {
+            @Override
+            public Session getSession() {
+                return sessionFactory.openSession();
+            }
+        };
+
+        repository.setPagingStrategy(pagingStrategy);
+
+        return repository;
+    }
+
+    private void insertDirectly(Book book) {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            session.persist(book);
+            session.getTransaction().commit();
+        }
+    }
+
 }
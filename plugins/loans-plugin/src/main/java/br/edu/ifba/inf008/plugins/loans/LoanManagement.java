@@ -5,11 +5,16 @@ import br.edu.ifba.inf008.core.IPlugin;
 import br.edu.ifba.inf008.core.IUIController;
 import br.edu.ifba.inf008.core.domain.annotations.Plugin;
 import br.edu.ifba.inf008.core.infrastructure.managers.HibernateManager;
+import br.edu.ifba.inf008.core.infrastructure.managers.MigrationManager;
 import br.edu.ifba.inf008.core.ui.models.TabInformation;
 import br.edu.ifba.inf008.plugins.loans.application.extensions.ReportsExtension;
 import br.edu.ifba.inf008.plugins.loans.application.services.LoanService;
+import br.edu.ifba.inf008.plugins.loans.domain.entities.ArchivedLoan;
 import br.edu.ifba.inf008.plugins.loans.domain.entities.Loan;
-import br.edu.ifba.inf008.plugins.loans.infrastructure.providers.LoanedBooksAvailabilityProvider;
+import br.edu.ifba.inf008.plugins.loans.infrastructure.jobs.ActiveLoansReconciliationJob;
+import br.edu.ifba.inf008.plugins.loans.infrastructure.jobs.LoanArchivalJob;
+import br.edu.ifba.inf008.plugins.loans.infrastructure.jobs.OverdueLoansScanner;
+import br.edu.ifba.inf008.plugins.loans.infrastructure.providers.LoanLedgerAvailabilityProvider;
 import br.edu.ifba.inf008.plugins.loans.ui.CSS;
 import br.edu.ifba.inf008.plugins.loans.ui.PluginIcons;
 import br.edu.ifba.inf008.plugins.loans.ui.views.MainView;
@@ -22,6 +27,8 @@ public class LoanManagement implements IPlugin {
     @Override
     public boolean init() {
         HibernateManager.registerEntityClass(Loan.class);
+        HibernateManager.registerEntityClass(ArchivedLoan.class);
+        MigrationManager.registerMigrations("loans", LoanManagement.class.getClassLoader());
 
         loanService = LoanService.getInstance();
 
@@ -39,7 +46,10 @@ public class LoanManagement implements IPlugin {
                 new TabInformation("Loans", uiController.loadIcon(PluginIcons.LOANS)),
                 MainView.supply(uiController, loanService));
 
-        LoanedBooksAvailabilityProvider.initialize();
+        LoanLedgerAvailabilityProvider.initialize();
+        ActiveLoansReconciliationJob.initialize();
+        OverdueLoansScanner.initialize();
+        LoanArchivalJob.initialize();
 
         try {
             ReportsExtension.initialize();
@@ -9,7 +9,9 @@ public class ReportsExtension {
 
     private static String REPORTS_PLUGIN_ID = "reports";
     private static List<String> REPORTS = List.of(
-            "br.edu.ifba.inf008.plugins.loans.application.extensions.reports.LoanedBooksReport"
+            "br.edu.ifba.inf008.plugins.loans.application.extensions.reports.LoanedBooksReport",
+            "br.edu.ifba.inf008.plugins.loans.application.extensions.reports.OverdueLoansReport",
+            "br.edu.ifba.inf008.plugins.loans.application.extensions.reports.LoanHistoryReport"
     );
 
     public static void initialize() {
@@ -0,0 +1,66 @@
+package br.edu.ifba.inf008.plugins.loans.application.extensions.reports;
+
+import br.edu.ifba.inf008.core.ui.components.table.TableComponent;
+import br.edu.ifba.inf008.core.ui.components.table.interfaces.TableAction;
+import br.edu.ifba.inf008.plugins.loans.application.extensions.reports.views.LoanHistoryDialog;
+import br.edu.ifba.inf008.plugins.loans.ui.PluginIcons;
+import br.edu.ifba.inf008.plugins.reports.domain.entities.Report;
+import br.edu.ifba.inf008.plugins.users.application.services.UserService;
+import br.edu.ifba.inf008.plugins.users.infrastructure.models.projection.UserRow;
+import java.util.List;
+import java.util.function.Predicate;
+import javafx.scene.Node;
+
+/**
+ * Report listing the users, from which the whole loan history of a user can be opened. Unlike the
+ * loans table, the history includes the loans moved to the loans archive.
+ */
+public class LoanHistoryReport implements Report {
+
+    private static final UserService userService = UserService.getInstance();
+
+    @Override
+    public String getId() {
+        return "loan-history-report";
+    }
+
+    @Override
+    public String getName() {
+        return "Loan History Report";
+    }
+
+    @Override
+    public Node getMainContent() {
+        TableComponent<UserRow> tableComponent = TableComponent.withKeysetPagination(
+                UserRow.class, userService::findAllRows);
+
+        tableComponent.addActionColumn(List.of(
+                new TableAction<>() {
+                    @Override
+                    public String getLabel() {
+                        return "Get History";
+                    }
+
+                    @Override
+                    public String getIconPath() {
+                        return PluginIcons.VIEW;
+                    }
+
+                    @Override
+                    public void onAction(UserRow user) {
+                        LoanHistoryDialog loanHistoryDialog = new LoanHistoryDialog(user);
+
+                        loanHistoryDialog.showAndWait();
+                    }
+
+                    @Override
+                    public Predicate<UserRow> getCondition() {
+                        return (_) -> true;
+                    }
+                }
+        ));
+
+        return tableComponent;
+    }
+
+}
@@ -0,0 +1,58 @@
+package br.edu.ifba.inf008.plugins.loans.application.extensions.reports;
+
+import br.edu.ifba.inf008.core.ui.components.table.TableComponent;
+import br.edu.ifba.inf008.plugins.loans.application.services.LoanService;
+import br.edu.ifba.inf008.plugins.loans.domain.entities.Loan;
+import br.edu.ifba.inf008.plugins.loans.domain.models.OverdueLoansSummary;
+import br.edu.ifba.inf008.plugins.reports.domain.entities.Report;
+import java.time.format.DateTimeFormatter;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+
+public class OverdueLoansReport implements Report {
+
+    private static final DateTimeFormatter COMPUTED_AT_FORMATTER =
+            DateTimeFormatter.ofPattern("HH:mm");
+
+    private static final LoanService loanService = LoanService.getInstance();
+
+    @Override
+    public String getId() {
+        return "overdue-loans-report";
+    }
+
+    @Override
+    public String getName() {
+        return "Overdue Loans Report";
+    }
+
+    /**
+     * Builds the report. The overdue summary is displayed once the overdue scanner provides it,
+     * so opening the report never waits for the loans to be counted.
+     *
+     * @return the summary label followed by the table of overdue loans
+     */
+    @Override
+    public Node getMainContent() {
+        Label summaryLabel = new Label("Counting overdue loans...");
+        summaryLabel.getStyleClass().add("lm-form-title");
+
+        loanService.getOverdueSummary().whenComplete((summary, error) -> Platform.runLater(
+                () -> summaryLabel.setText(error != null
+                        ? "Could not count overdue loans"
+                        : describe(summary))));
+
+        TableComponent<Loan> tableComponent = TableComponent.withServerSideSorting(Loan.class,
+                loanService::findAllOverdue);
+
+        return new VBox(10, summaryLabel, tableComponent);
+    }
+
+    private static String describe(OverdueLoansSummary summary) {
+        return summary.totalOverdue() + " overdue loans across " + summary.overdueByUserId().size()
+                + " users (as of " + COMPUTED_AT_FORMATTER.format(summary.computedAt()) + ")";
+    }
+
+}
@@ -1,8 +1,11 @@
 package br.edu.ifba.inf008.plugins.loans.application.services;
 
+import br.edu.ifba.inf008.core.domain.models.BatchResult;
 import br.edu.ifba.inf008.core.domain.models.PageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageableResponse;
 import br.edu.ifba.inf008.core.infrastructure.components.BeanValidatorComponent;
+import br.edu.ifba.inf008.core.infrastructure.components.ChangeNotifierComponent;
+import br.edu.ifba.inf008.core.infrastructure.managers.UnitOfWork;
 import br.edu.ifba.inf008.plugins.books.domain.entities.Book;
 import br.edu.ifba.inf008.plugins.books.domain.exceptions.BookNotFoundException;
 import br.edu.ifba.inf008.plugins.books.infrastructure.managers.BookAvailabilityManager;
@@ -12,14 +15,28 @@ import br.edu.ifba.inf008.plugins.loans.domain.exceptions.BookNotAvailableToLoan
 import br.edu.ifba.inf008.plugins.loans.domain.exceptions.LoanAlreadyReturnedException;
 import br.edu.ifba.inf008.plugins.loans.domain.exceptions.LoanNotFoundException;
 import br.edu.ifba.inf008.plugins.loans.domain.exceptions.UserAlreadyLoanedBookException;
+import br.edu.ifba.inf008.plugins.loans.domain.models.OverdueLoansSummary;
+import br.edu.ifba.inf008.plugins.loans.infrastructure.jobs.OverdueLoansScanner;
+import br.edu.ifba.inf008.plugins.loans.infrastructure.models.projection.LoanRow;
 import br.edu.ifba.inf008.plugins.loans.infrastructure.models.request.CreateLoanRequest;
 import br.edu.ifba.inf008.plugins.loans.infrastructure.repositories.LoanRepository;
 import br.edu.ifba.inf008.plugins.users.domain.entities.User;
 import br.edu.ifba.inf008.plugins.users.domain.exceptions.UserNotFoundException;
 import br.edu.ifba.inf008.plugins.users.infrastructure.repositories.UserRepository;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
 import jakarta.validation.ConstraintViolationException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing loans. Provides methods to create, edit, delete, and find books.
@@ -36,6 +53,7 @@ public class LoanService {
     private final UserRepository userRepository;
 
     private final BookAvailabilityManager bookAvailabilityManager;
+    private final ChangeNotifierComponent changeNotifier = new ChangeNotifierComponent();
 
     public LoanService(LoanRepository loanRepository, BookRepository bookRepository,
             UserRepository userRepository, BookAvailabilityManager bookAvailabilityManager) {
@@ -57,7 +75,34 @@ public class LoanService {
     }
 
     /**
-     * Creates a new loan based on the provided request.
+     * Adds a listener notified after every committed write to loans, such as a table caching
+     * their pages.
+     *
+     * @param listener the listener to add
+     */
+    public void addChangeListener(Runnable listener) {
+        changeNotifier.addListener(listener);
+    }
+
+    /**
+     * Notifies the listeners of loans written outside of this service, for instance by a job
+     * correcting them directly in the database.
+     */
+    public void notifyListeners() {
+        changeNotifier.notifyListeners();
+    }
+
+    /**
+     * Creates a new loan based on the provided request. The book row is locked for the duration of
+     * the transaction, so concurrent loans of the same book are checked one after the other while
+     * loans of different books proceed in parallel. The active loans counter of the book is
+     * incremented in the same transaction.
+     * <p>
+     * Availability is checked through the {@link BookAvailabilityManager} once the row is locked.
+     * The counter of the locked row is checked as well, since it is read after the loans committed
+     * before the lock, while an availability provider may only learn of them once they are
+     * notified. As the counter is read with the lock, the default isolation level of the database
+     * is enough.
      *
      * @param request the request containing the user ID and book ID for the loan
      * @return the created Loan entity
@@ -74,32 +119,121 @@ public class LoanService {
         Long userId = request.userId();
         Long bookId = request.bookId();
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
+        try (UnitOfWork unitOfWork = loanRepository.beginUnitOfWork()) {
+            Book book = bookRepository.findByIdForUpdate(bookId)
+                    .orElseThrow(() -> new BookNotFoundException(bookId));
 
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BookNotFoundException(bookId));
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new UserNotFoundException(userId));
 
-        if (loanRepository.existsByUserIdAndBookIdAndNotReturned(userId, bookId)) {
-            throw new UserAlreadyLoanedBookException(user, book);
+            if (loanRepository.existsByUserIdAndBookIdAndNotReturned(userId, bookId)) {
+                throw new UserAlreadyLoanedBookException(user, book);
+            }
+
+            if (!bookAvailabilityManager.isBookAvailable(bookId)
+                    || book.getAvailableCopies() <= 0) {
+                throw new BookNotAvailableToLoanException(book);
+            }
+
+            Loan loan = new Loan();
+
+            loan.setUser(user);
+            loan.setBook(book);
+
+            loan.setLoanDate(LocalDate.now());
+
+            Loan savedLoan = loanRepository.save(loan);
+
+            book.setActiveLoans(book.getActiveLoans() + 1);
+            bookRepository.save(book);
+
+            unitOfWork.afterCommit(() -> bookAvailabilityManager.onCopyLoaned(bookId));
+            unitOfWork.afterCommit(changeNotifier::notifyListeners);
+            unitOfWork.commit();
+
+            return savedLoan;
         }
+    }
 
-        if (!bookAvailabilityManager.isBookAvailable(book.getBookId())) {
-            throw new BookNotAvailableToLoanException(book);
+    /**
+     * Creates several loans in a single transaction, for instance when a patron checks out a stack
+     * of books. The books, users and already existing loans involved are read with one query each,
+     * and the books are locked in ID order. The availability of the locked books is then looked up
+     * through the {@link BookAvailabilityManager} in a single call, and each request is validated in
+     * order, with the same rules as {@link #create(CreateLoanRequest)}; requests that fail are
+     * reported in the result and do not prevent the others from being created.
+     *
+     * @param requests the requests containing the user ID and book ID of each loan
+     * @return the created loan or the failure of every request, in submission order
+     */
+    public BatchResult<CreateLoanRequest, Loan> createAll(List<CreateLoanRequest> requests) {
+        List<ConstraintViolationException> violations = new ArrayList<>(requests.size());
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> bookIds = new HashSet<>();
+
+        for (CreateLoanRequest request : requests) {
+            ConstraintViolationException violation = findViolation(request);
+
+            if (violation == null) {
+                userIds.add(request.userId());
+                bookIds.add(request.bookId());
+            }
+
+            violations.add(violation);
         }
 
-        Loan loan = new Loan();
+        List<BatchResult.Item<CreateLoanRequest, Loan>> items = new ArrayList<>(requests.size());
 
-        loan.setUser(user);
-        loan.setBook(book);
+        try (UnitOfWork unitOfWork = loanRepository.beginUnitOfWork()) {
+            Map<Long, Book> books = bookRepository.findAllByIdForUpdate(bookIds).stream()
+                    .collect(Collectors.toMap(Book::getBookId, Function.identity()));
+            Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                    .collect(Collectors.toMap(User::getUserId, Function.identity()));
+            Map<Long, Set<Long>> loanedBookIds =
+                    loanRepository.findNotReturnedBookIdsByUserIds(userIds, bookIds);
+            Long2LongMap availableCopies =
+                    bookAvailabilityManager.getAvailableCopies(books.keySet());
 
-        loan.setLoanDate(LocalDate.now());
+            List<Loan> loans = new ArrayList<>();
+            Set<Book> loanedBooks = new HashSet<>();
 
-        return loanRepository.save(loan);
+            for (int i = 0; i < requests.size(); i++) {
+                CreateLoanRequest request = requests.get(i);
+
+                if (violations.get(i) != null) {
+                    items.add(BatchResult.Item.failure(request, violations.get(i)));
+
+                    continue;
+                }
+
+                try {
+                    Loan loan = prepareLoan(request, books, users, loanedBookIds,
+                            availableCopies);
+
+                    loans.add(loan);
+                    loanedBooks.add(loan.getBook());
+
+                    items.add(BatchResult.Item.success(request, loan));
+                } catch (Exception e) {
+                    items.add(BatchResult.Item.failure(request, e));
+                }
+            }
+
+            loanRepository.insertAll(loans);
+            bookRepository.saveAll(loanedBooks);
+
+            unitOfWork.afterCommit(() -> loans.forEach(
+                    loan -> bookAvailabilityManager.onCopyLoaned(loan.getBook().getBookId())));
+            unitOfWork.afterCommit(changeNotifier::notifyListeners);
+            unitOfWork.commit();
+        }
+
+        return new BatchResult<>(items);
     }
 
     /**
-     * Marks a loan as returned by setting the return date to the current date.
+     * Marks a loan as returned by setting the return date to the current date, and decrements the
+     * active loans counter of the book in the same transaction.
      *
      * @param loanId the ID of the loan to be marked as returned
      * @throws LoanNotFoundException        if the loan with the given ID does not exist
@@ -107,27 +241,216 @@ public class LoanService {
      */
     public void markAsReturned(Long loanId)
             throws LoanNotFoundException, LoanAlreadyReturnedException {
-        Loan loan = loanRepository.findById(loanId)
-                .orElseThrow(() -> new LoanNotFoundException(loanId));
+        BatchResult.Item<Long, Loan> item =
+                markAllAsReturned(Collections.singletonList(loanId)).items().getFirst();
 
-        if (!Objects.isNull(loan.getReturnDate())) {
-            throw new LoanAlreadyReturnedException(loanId, loan.getReturnDate());
+        if (item.error() instanceof RuntimeException e) {
+            throw e;
         }
+    }
+
+    /**
+     * Marks several loans as returned in a single transaction, for instance when processing a
+     * return bin. The books of the loans are locked first, in ID order and with the same lock order
+     * as {@link #create(CreateLoanRequest)}, then the loans are locked and updated together. Loans
+     * that are not found or were already returned are reported in the result and do not prevent
+     * the others from being returned.
+     *
+     * @param loanIds the IDs of the loans to be marked as returned
+     * @return the returned loan or the failure of every ID, in submission order
+     */
+    public BatchResult<Long, Loan> markAllAsReturned(List<Long> loanIds) {
+        Set<Long> distinctLoanIds = new HashSet<>(loanIds);
+        distinctLoanIds.remove(null);
+
+        List<BatchResult.Item<Long, Loan>> items = new ArrayList<>(loanIds.size());
+        LocalDate returnDate = LocalDate.now();
 
-        loan.setReturnDate(LocalDate.now());
+        try (UnitOfWork unitOfWork = loanRepository.beginUnitOfWork()) {
+            List<Book> books = bookRepository.findAllByIdForUpdate(
+                    loanRepository.findBookIdsByLoanIds(distinctLoanIds));
+            Map<Long, Loan> loans = loanRepository.findAllByIdForUpdate(distinctLoanIds).stream()
+                    .collect(Collectors.toMap(Loan::getLoanId, Function.identity()));
 
-        loanRepository.save(loan);
+            List<Loan> returnedLoans = new ArrayList<>();
+            Map<Long, Integer> returnedCopies = new HashMap<>();
+
+            for (Long loanId : loanIds) {
+                Loan loan = loans.get(loanId);
+
+                if (loan == null) {
+                    items.add(BatchResult.Item.failure(loanId, new LoanNotFoundException(loanId)));
+                } else if (!Objects.isNull(loan.getReturnDate())) {
+                    items.add(BatchResult.Item.failure(loanId,
+                            new LoanAlreadyReturnedException(loanId, loan.getReturnDate())));
+                } else {
+                    loan.setReturnDate(returnDate);
+
+                    returnedLoans.add(loan);
+                    returnedCopies.merge(loan.getBook().getBookId(), 1, Integer::sum);
+
+                    items.add(BatchResult.Item.success(loanId, loan));
+                }
+            }
+
+            for (Book book : books) {
+                int returned = returnedCopies.getOrDefault(book.getBookId(), 0);
+
+                book.setActiveLoans(Math.max(0, book.getActiveLoans() - returned));
+            }
+
+            loanRepository.saveAll(returnedLoans);
+            bookRepository.saveAll(books);
+
+            unitOfWork.afterCommit(() -> returnedLoans.forEach(
+                    loan -> bookAvailabilityManager.onCopyReturned(loan.getBook().getBookId())));
+            unitOfWork.afterCommit(changeNotifier::notifyListeners);
+            unitOfWork.commit();
+        }
+
+        return new BatchResult<>(items);
     }
 
     /**
-     * Finds all books that are not deactivated (logical/soft delete).
+     * Finds all loans, fetching their users and books in the same query.
      *
      * @param page a one-based page index
      * @param size the size of the page to be returned
-     * @return a pageable response containing books
+     * @return a pageable response containing loans
      */
     public PageableResponse<Loan> findAll(int page, int size) {
-        return loanRepository.findAll(PageRequest.of(page, size));
+        return loanRepository.findAllWithUserAndBook(PageRequest.of(page, size));
+    }
+
+    /**
+     * Finds all loans, in the requested order, fetching their users and books in the same query so
+     * a page costs a single round trip.
+     *
+     * @param pageRequest the pagination request containing page number, size and sort
+     * @return a pageable response containing loans
+     */
+    public PageableResponse<Loan> findAll(PageRequest pageRequest) {
+        return loanRepository.findAllWithUserAndBook(pageRequest);
+    }
+
+    /**
+     * Finds the table rows of all loans, in the requested order, without hydrating the loans nor
+     * their users and books.
+     *
+     * @param pageRequest the pagination request containing page number, size and sort
+     * @return a pageable response containing loan rows
+     */
+    public PageableResponse<LoanRow> findAllRows(PageRequest pageRequest) {
+        return loanRepository.findAllRows(pageRequest);
+    }
+
+    /**
+     * Finds the whole loan history of a user, including the loans moved to the archive, most recent
+     * first.
+     *
+     * @param userId      the ID of the user
+     * @param pageRequest the pagination request containing page number and size
+     * @return a pageable response containing the rows of the loans of the user
+     */
+    public PageableResponse<LoanRow> findHistoryByUserId(Long userId, PageRequest pageRequest) {
+        return loanRepository.findHistoryByUserId(userId, pageRequest);
+    }
+
+    /**
+     * Finds the loans that are overdue today. Unless the request is sorted, the loans overdue the
+     * longest come first.
+     *
+     * @param pageRequest the pagination request containing page number, size and sort
+     * @return a pageable response containing the overdue loans
+     */
+    public PageableResponse<Loan> findAllOverdue(PageRequest pageRequest) {
+        return loanRepository.findAllOverdue(pageRequest, LocalDate.now());
+    }
+
+    /**
+     * Gets the overdue loans counted by the overdue scanner, without blocking the calling thread
+     * when they need to be counted again.
+     *
+     * @return the latest overdue loans summary, completed once it is available
+     */
+    public CompletableFuture<OverdueLoansSummary> getOverdueSummary() {
+        return OverdueLoansScanner.getInstance().getSummary();
+    }
+
+    /**
+     * Checks a loan request against the books, users and loans read for a batch, and prepares the
+     * loan if it is valid. The in-memory state is updated as if the loan was created, so later
+     * requests of the same batch see it.
+     *
+     * @param request         the request to check
+     * @param books           the locked books of the batch, by ID
+     * @param users           the users of the batch, by ID
+     * @param loanedBookIds   the IDs of the books each user has not returned yet
+     * @param availableCopies the copies of the batch books available to loan, as reported by the
+     *                        {@link BookAvailabilityManager}
+     * @return the loan to be created
+     * @throws BookNotFoundException           if the book does not exist
+     * @throws UserNotFoundException           if the user does not exist
+     * @throws UserAlreadyLoanedBookException  if the user has already loaned this book
+     * @throws BookNotAvailableToLoanException if the book is not available for loan
+     */
+    private Loan prepareLoan(CreateLoanRequest request, Map<Long, Book> books,
+            Map<Long, User> users, Map<Long, Set<Long>> loanedBookIds,
+            Long2LongMap availableCopies)
+            throws BookNotFoundException, UserNotFoundException {
+        Long userId = request.userId();
+        Long bookId = request.bookId();
+
+        Book book = books.get(bookId);
+
+        if (book == null) {
+            throw new BookNotFoundException(bookId);
+        }
+
+        User user = users.get(userId);
+
+        if (user == null) {
+            throw new UserNotFoundException(userId);
+        }
+
+        Set<Long> userLoanedBookIds = loanedBookIds.computeIfAbsent(userId, id -> new HashSet<>());
+
+        if (userLoanedBookIds.contains(bookId)) {
+            throw new UserAlreadyLoanedBookException(user, book);
+        }
+
+        if (availableCopies.get((long) bookId) <= 0 || book.getAvailableCopies() <= 0) {
+            throw new BookNotAvailableToLoanException(book);
+        }
+
+        Loan loan = new Loan();
+
+        loan.setUser(user);
+        loan.setBook(book);
+
+        loan.setLoanDate(LocalDate.now());
+
+        userLoanedBookIds.add(bookId);
+        availableCopies.put((long) bookId, availableCopies.get((long) bookId) - 1);
+        book.setActiveLoans(book.getActiveLoans() + 1);
+
+        return loan;
+    }
+
+    /**
+     * Validates a request, returning the violation instead of throwing it.
+     *
+     * @param request the request to validate
+     * @return the violation found, or null if the request is valid
+     */
+    private static ConstraintViolationException findViolation(Object request) {
+        try {
+            BeanValidatorComponent.validateAndThrow(request);
+
+            return null;
+        } catch (ConstraintViolationException e) {
+            return e;
+        }
     }
 
 }
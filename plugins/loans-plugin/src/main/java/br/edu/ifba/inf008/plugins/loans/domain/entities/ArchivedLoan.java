@@ -0,0 +1,81 @@
+package br.edu.ifba.inf008.plugins.loans.domain.entities;
+
+import br.edu.ifba.inf008.plugins.books.domain.entities.Book;
+import br.edu.ifba.inf008.plugins.users.domain.entities.User;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "loans_archive")
+public class ArchivedLoan {
+
+    /**
+     * Represents a returned loan moved out of the loans table by the loan archival job. It keeps the
+     * identifier the loan had in the loans table.
+     */
+
+    @Id
+    @Column(name = "loan_id", nullable = false, unique = true)
+    private Long loanId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", nullable = false)
+    private Book book;
+
+    @Column(name = "loan_date", nullable = false)
+    private LocalDate loanDate;
+
+    @Column(name = "return_date", nullable = false)
+    private LocalDate returnDate;
+
+    @Column(name = "archived_on", nullable = false)
+    private LocalDate archivedOn;
+
+    public ArchivedLoan() {
+    }
+
+    public Long getLoanId() {
+        return loanId;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Book getBook() {
+        return book;
+    }
+
+    public LocalDate getLoanDate() {
+        return loanDate;
+    }
+
+    public LocalDate getReturnDate() {
+        return returnDate;
+    }
+
+    public LocalDate getArchivedOn() {
+        return archivedOn;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedLoan{" +
+                "loanId=" + loanId +
+                ", loanDate=" + loanDate +
+                ", returnDate=" + returnDate +
+                ", archivedOn=" + archivedOn +
+                '}';
+    }
+
+}
@@ -13,22 +13,39 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import javafx.geometry.Pos;
 
 @Entity
 @Table(name = "loans")
+@NamedEntityGraph(name = Loan.WITH_USER_AND_BOOK, attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("book")
+})
 public class Loan {
 
     public static final Long MAX_LOAN_DAYS = 7L;
 
+    /**
+     * Name of the entity graph fetching the user and the book of a loan along with it, used by
+     * listings that display both.
+     */
+    public static final String WITH_USER_AND_BOOK = "Loan.withUserAndBook";
+
     /**
      * Represents a loan in the system.
      */
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "loans_id_generator")
+    @TableGenerator(name = "loans_id_generator", table = "id_generators",
+            pkColumnName = "entity", valueColumnName = "next_id", pkColumnValue = "loans",
+            allocationSize = 50)
     @Column(name = "loan_id", nullable = false, unique = true)
     @TableLabel("#")
     @TableColumnOrientation(Pos.CENTER)
@@ -103,26 +120,56 @@ public class Loan {
         this.returnDate = returnDate;
     }
 
+    /**
+     * Gets the date by which the book should be returned.
+     *
+     * @return the loan date plus {@link #MAX_LOAN_DAYS}
+     */
+    public LocalDate getDueDate() {
+        return loanDate.plusDays(MAX_LOAN_DAYS);
+    }
+
+    /**
+     * Checks whether the loan is overdue on the given date, that is, not returned and past its due
+     * date. Matches the loans selected by {@code LoanRepository.overdueOn(date)}.
+     *
+     * @param date the date to check
+     * @return true if the loan is overdue on the date, false otherwise
+     */
+    public boolean isOverdueOn(LocalDate date) {
+        return returnDate == null && loanDate != null && date.isAfter(getDueDate());
+    }
+
     @TableLabel("Status")
     @TableColumnSize(160)
     @TableColumnOrientation(Pos.CENTER)
     public String getStatus() {
+        return describeStatus(loanDate, returnDate);
+    }
+
+    /**
+     * Describes the status of a loan made and returned on the given dates, as displayed in the
+     * loans table.
+     *
+     * @param loanDate   the date the book was loaned
+     * @param returnDate the date the book was returned, or null if it was not returned yet
+     * @return the status of the loan as of today
+     */
+    public static String describeStatus(LocalDate loanDate, LocalDate returnDate) {
+        LocalDate dueDate = loanDate.plusDays(MAX_LOAN_DAYS);
+
         if (returnDate == null) {
             LocalDate now = LocalDate.now();
 
-            if (loanDate != null && now.isAfter(loanDate.plusDays(MAX_LOAN_DAYS))) {
-                return "Overdue " + (now.getDayOfYear() - loanDate.plusDays(MAX_LOAN_DAYS)
-                        .getDayOfYear()) + " days";
+            if (now.isAfter(dueDate)) {
+                return "Overdue " + ChronoUnit.DAYS.between(dueDate, now) + " days";
             }
 
             return "Loaned";
         }
 
-        LocalDate wasReturnWithinLimit = loanDate.plusDays(MAX_LOAN_DAYS);
-
-        if (returnDate.isAfter(wasReturnWithinLimit)) {
-            return "Returned late by " + (returnDate.getDayOfYear()
-                    - wasReturnWithinLimit.getDayOfYear()) + " days";
+        if (returnDate.isAfter(dueDate)) {
+            return "Returned late by " + ChronoUnit.DAYS.between(dueDate, returnDate) + " days";
         }
 
         return "Returned on time";
@@ -0,0 +1,43 @@
+package br.edu.ifba.inf008.plugins.loans.domain.models;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMaps;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Represents the overdue loans counted by the overdue scanner. This record holds the number of
+ * overdue loans of each user, the date they were evaluated against and when they were counted.
+ *
+ * @param date            The date the loans were checked against.
+ * @param overdueByUserId The number of overdue loans of each user with at least one.
+ * @param computedAt      When the counts were computed.
+ */
+public record OverdueLoansSummary(LocalDate date, Long2LongMap overdueByUserId,
+                                  LocalDateTime computedAt) {
+
+    public OverdueLoansSummary {
+        overdueByUserId = Long2LongMaps.unmodifiable(new Long2LongOpenHashMap(overdueByUserId));
+    }
+
+    /**
+     * Gets the total number of overdue loans.
+     *
+     * @return the sum of the overdue loans of every user
+     */
+    public long totalOverdue() {
+        return overdueByUserId.values().longStream().sum();
+    }
+
+    /**
+     * Gets the number of overdue loans of a user.
+     *
+     * @param userId the ID of the user
+     * @return the number of overdue loans of the user, or 0 if they have none
+     */
+    public long getOverdueCount(long userId) {
+        return overdueByUserId.get(userId);
+    }
+
+}
@@ -0,0 +1,105 @@
+package br.edu.ifba.inf008.plugins.loans.infrastructure.jobs;
+
+import br.edu.ifba.inf008.core.infrastructure.managers.UnitOfWork;
+import br.edu.ifba.inf008.plugins.books.application.services.BookService;
+import br.edu.ifba.inf008.plugins.books.domain.entities.Book;
+import br.edu.ifba.inf008.plugins.books.infrastructure.repositories.BookRepository;
+import br.edu.ifba.inf008.plugins.loans.application.services.LoanService;
+import br.edu.ifba.inf008.plugins.loans.infrastructure.repositories.LoanRepository;
+import java.time.Duration;
+
+/**
+ * Periodically verifies the active loans counter kept on each book row against the loans that have
+ * not been returned, correcting the books whose counter drifted (for instance, after loans were
+ * written directly to the database).
+ * <p>
+ * Mismatches are found with a single grouped query; each of them is then recounted while holding
+ * the lock of the book row, so a loan being created or returned concurrently is never overwritten.
+ * Once books were corrected, the listeners of books and loans are notified, which also reloads the
+ * loan ledger kept in memory.
+ */
+public class ActiveLoansReconciliationJob extends ScheduledJob {
+
+    private static final Duration INTERVAL = Duration.ofHours(1);
+
+    private static ActiveLoansReconciliationJob instance;
+
+    private final BookRepository bookRepository;
+    private final LoanRepository loanRepository;
+
+    public ActiveLoansReconciliationJob(BookRepository bookRepository,
+            LoanRepository loanRepository) {
+        super("active-loans-reconciliation", INTERVAL);
+
+        this.bookRepository = bookRepository;
+        this.loanRepository = loanRepository;
+    }
+
+    public static void initialize() {
+        if (instance == null) {
+            instance = new ActiveLoansReconciliationJob(BookRepository.getInstance(),
+                    LoanRepository.getInstance());
+        }
+
+        instance.start();
+    }
+
+    /**
+     * Verifies every book and corrects the counters that do not match the loans table.
+     *
+     * @return the number of books whose counter was corrected
+     */
+    public int reconcile() {
+        int corrected = 0;
+
+        for (long bookId : loanRepository.findActiveLoansMismatches().keySet()) {
+            if (reconcile(bookId)) {
+                corrected++;
+            }
+        }
+
+        return corrected;
+    }
+
+    /**
+     * Recounts the loans of a book under the lock of its row and corrects its counter.
+     *
+     * @param bookId the ID of the book
+     * @return true if the counter was corrected, false if it was already correct
+     */
+    private boolean reconcile(long bookId) {
+        try (UnitOfWork unitOfWork = loanRepository.beginUnitOfWork()) {
+            Book book = bookRepository.findByIdForUpdate(bookId).orElse(null);
+
+            if (book == null) {
+                return false;
+            }
+
+            int activeLoans = loanRepository.countByBookIdAndNotReturned(bookId).intValue();
+
+            if (book.getActiveLoans() == activeLoans) {
+                return false;
+            }
+
+            book.setActiveLoans(activeLoans);
+            bookRepository.save(book);
+
+            unitOfWork.commit();
+
+            return true;
+        }
+    }
+
+    @Override
+    protected void execute() {
+        int corrected = reconcile();
+
+        if (corrected > 0) {
+            System.out.println("Active loans reconciliation corrected " + corrected + " books.");
+
+            BookService.getInstance().notifyListeners();
+            LoanService.getInstance().notifyListeners();
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package br.edu.ifba.inf008.plugins.loans.infrastructure.jobs;
+
+import br.edu.ifba.inf008.plugins.loans.infrastructure.repositories.LoanRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * Periodically moves the loans returned longer than the retention period ago from the loans table
+ * to the loans archive, so the queries run by the application only go through the active and
+ * recently returned loans.
+ * <p>
+ * Loans are moved in batches, each one in its own transaction, so the rows of the loans table are
+ * never locked for long.
+ */
+public class LoanArchivalJob extends ScheduledJob {
+
+    private static final Duration INTERVAL = Duration.ofDays(1);
+
+    /**
+     * How long returned loans are kept in the loans table before being archived.
+     */
+    private static final Period RETENTION = Period.ofYears(1);
+
+    /**
+     * Maximum number of loans moved in a single transaction.
+     */
+    private static final int BATCH_SIZE = 500;
+
+    private static LoanArchivalJob instance;
+
+    private final LoanRepository loanRepository;
+
+    public LoanArchivalJob(LoanRepository loanRepository) {
+        super("loan-archival", INTERVAL);
+
+        this.loanRepository = loanRepository;
+    }
+
+    public static void initialize() {
+        if (instance == null) {
+            instance = new LoanArchivalJob(LoanRepository.getInstance());
+        }
+
+        instance.start();
+    }
+
+    /**
+     * Archives the loans returned before the retention period.
+     *
+     * @return the number of loans moved to the archive
+     */
+    public int archive() {
+        return archive(LocalDate.now().minus(RETENTION));
+    }
+
+    /**
+     * Archives the loans returned before the given date, batch by batch.
+     *
+     * @param cutoff the date before which returned loans are archived
+     * @return the number of loans moved to the archive
+     */
+    public int archive(LocalDate cutoff) {
+        int archived = 0;
+        int batch;
+
+        do {
+            batch = loanRepository.archiveReturnedBefore(cutoff, BATCH_SIZE);
+            archived += batch;
+        } while (batch == BATCH_SIZE);
+
+        return archived;
+    }
+
+    @Override
+    protected void execute() {
+        int archived = archive();
+
+        if (archived > 0) {
+            System.out.println("Loan archival moved " + archived + " loans to the archive.");
+        }
+    }
+
+}
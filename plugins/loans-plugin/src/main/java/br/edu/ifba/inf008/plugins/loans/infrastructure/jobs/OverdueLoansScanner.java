@@ -0,0 +1,99 @@
+package br.edu.ifba.inf008.plugins.loans.infrastructure.jobs;
+
+import br.edu.ifba.inf008.plugins.loans.domain.models.OverdueLoansSummary;
+import br.edu.ifba.inf008.plugins.loans.infrastructure.repositories.LoanRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Periodically counts the overdue loans of every user with a single grouped query and keeps the
+ * result in memory, so screens showing overdue counts read a summary instead of querying loans.
+ * <p>
+ * The summary is recomputed every {@link #INTERVAL}, and on read when it was computed for a
+ * previous day, since loans become overdue as dates change. Reads never scan on the calling
+ * thread, which is usually the JavaFX application thread: they get the last summary, or wait for
+ * a scan running in the background.
+ */
+public class OverdueLoansScanner extends ScheduledJob {
+
+    private static final Duration INTERVAL = Duration.ofMinutes(15);
+
+    private static OverdueLoansScanner instance;
+
+    private final LoanRepository loanRepository;
+
+    private volatile OverdueLoansSummary summary;
+    private CompletableFuture<OverdueLoansSummary> pendingScan;
+
+    public OverdueLoansScanner(LoanRepository loanRepository) {
+        super("overdue-loans-scanner", INTERVAL);
+
+        this.loanRepository = loanRepository;
+    }
+
+    public static synchronized OverdueLoansScanner getInstance() {
+        if (instance == null) {
+            instance = new OverdueLoansScanner(LoanRepository.getInstance());
+        }
+
+        return instance;
+    }
+
+    public static void initialize() {
+        getInstance().start();
+    }
+
+    /**
+     * Counts the overdue loans as of today and replaces the summary.
+     *
+     * @return the new summary
+     */
+    public OverdueLoansSummary scan() {
+        LocalDate today = LocalDate.now();
+
+        OverdueLoansSummary scanned = new OverdueLoansSummary(today,
+                loanRepository.countOverdueGroupedByUserId(today), LocalDateTime.now());
+
+        summary = scanned;
+
+        return scanned;
+    }
+
+    /**
+     * Gets the latest summary, starting a scan in the background if there is none yet or it was
+     * computed on a previous day. Reads made while that scan is running share it.
+     *
+     * @return the latest overdue loans summary, already completed unless a scan was needed
+     */
+    public CompletableFuture<OverdueLoansSummary> getSummary() {
+        OverdueLoansSummary current = summary;
+
+        if (current == null || !current.date().equals(LocalDate.now())) {
+            return scanInBackground();
+        }
+
+        return CompletableFuture.completedFuture(current);
+    }
+
+    /**
+     * Starts a scan on the scanner thread, or on the common pool when the scanner is not
+     * scheduled, unless one started this way is still running.
+     *
+     * @return the scan in progress
+     */
+    private synchronized CompletableFuture<OverdueLoansSummary> scanInBackground() {
+        if (pendingScan == null || pendingScan.isDone()) {
+            pendingScan = supplyAsync(this::scan);
+        }
+
+        return pendingScan;
+    }
+
+    @Override
+    protected void execute() {
+        scan();
+    }
+
+}
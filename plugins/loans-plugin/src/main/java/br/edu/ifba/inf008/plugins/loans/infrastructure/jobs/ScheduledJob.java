@@ -0,0 +1,115 @@
+package br.edu.ifba.inf008.plugins.loans.infrastructure.jobs;
+
+import br.edu.ifba.inf008.core.infrastructure.managers.HibernateManager;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Base class of the jobs run periodically on a daemon thread of their own. The first run starts
+ * as soon as the session factory is built, and every run starts once the interval has elapsed
+ * since the end of the previous one. A run that fails is reported and does not cancel the next
+ * ones.
+ */
+public abstract class ScheduledJob {
+
+    private final String name;
+    private final Duration interval;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a new ScheduledJob instance.
+     *
+     * @param name     the name of the thread running the job
+     * @param interval the interval between the end of a run and the start of the next one
+     */
+    protected ScheduledJob(String name, Duration interval) {
+        this.name = name;
+        this.interval = interval;
+    }
+
+    /**
+     * Schedules the job on a daemon thread. Calling this method again has no effect while the job is
+     * scheduled.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                runnable -> {
+                    Thread thread = new Thread(runnable, name);
+                    thread.setDaemon(true);
+
+                    return thread;
+                });
+
+        scheduler = executor;
+
+        HibernateManager.whenSessionFactoryBuilt(() -> schedule(executor));
+    }
+
+    /**
+     * Cancels the scheduled runs. A run in progress is allowed to finish.
+     */
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+
+        scheduler.shutdown();
+        scheduler = null;
+    }
+
+    /**
+     * Runs the job once in the background, without waiting for the next scheduled run.
+     */
+    public void trigger() {
+        supplyAsync(() -> {
+            run();
+
+            return null;
+        });
+    }
+
+    /**
+     * Runs the work of the job once.
+     */
+    protected abstract void execute();
+
+    /**
+     * Runs a task on the thread of the job, or on the common pool when the job is not scheduled,
+     * so it never runs on the calling thread.
+     *
+     * @param task the task to run
+     * @param <R>  the type of the result of the task
+     * @return the future completed with the result of the task
+     */
+    protected synchronized <R> CompletableFuture<R> supplyAsync(Supplier<R> task) {
+        return scheduler != null
+                ? CompletableFuture.supplyAsync(task, scheduler)
+                : CompletableFuture.supplyAsync(task);
+    }
+
+    private synchronized void schedule(ScheduledExecutorService executor) {
+        if (executor != scheduler) {
+            return;
+        }
+
+        executor.scheduleWithFixedDelay(this::run, 0, interval.toSeconds(), TimeUnit.SECONDS);
+    }
+
+    private void run() {
+        try {
+            execute();
+        } catch (Exception e) {
+            System.err.println("Error running " + name + ": " + e.getMessage());
+        }
+    }
+
+}
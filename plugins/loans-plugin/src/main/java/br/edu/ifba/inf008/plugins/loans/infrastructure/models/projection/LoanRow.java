@@ -0,0 +1,45 @@
+package br.edu.ifba.inf008.plugins.loans.infrastructure.models.projection;
+
+import br.edu.ifba.inf008.core.infrastructure.repositories.ProjectedFrom;
+import br.edu.ifba.inf008.core.ui.components.table.annotations.TableColumnOrientation;
+import br.edu.ifba.inf008.core.ui.components.table.annotations.TableColumnSize;
+import br.edu.ifba.inf008.core.ui.components.table.annotations.TableIgnore;
+import br.edu.ifba.inf008.core.ui.components.table.annotations.TableLabel;
+import br.edu.ifba.inf008.plugins.loans.domain.entities.Loan;
+import java.time.LocalDate;
+import javafx.geometry.Pos;
+
+/**
+ * Projection of a loan holding only the columns displayed in the loans table. The names of the
+ * user and the book are selected through joins in the same query, instead of loading both
+ * entities for every loan.
+ */
+public record LoanRow(
+        @TableLabel("#")
+        @TableColumnOrientation(Pos.CENTER)
+        @TableColumnSize(50)
+        Long loanId,
+
+        @ProjectedFrom("user.name")
+        @TableLabel("User")
+        String userName,
+
+        @ProjectedFrom("book.title")
+        @TableLabel("Book")
+        String bookTitle,
+
+        @TableIgnore
+        LocalDate loanDate,
+
+        @TableIgnore
+        LocalDate returnDate
+) {
+
+    @TableLabel("Status")
+    @TableColumnSize(160)
+    @TableColumnOrientation(Pos.CENTER)
+    public String getStatus() {
+        return Loan.describeStatus(loanDate, returnDate);
+    }
+
+}
@@ -0,0 +1,184 @@
+package br.edu.ifba.inf008.plugins.loans.infrastructure.providers;
+
+import br.edu.ifba.inf008.plugins.books.application.services.BookService;
+import br.edu.ifba.inf008.plugins.books.infrastructure.managers.BookAvailabilityManager;
+import br.edu.ifba.inf008.plugins.books.infrastructure.providers.BookAvailabilityProvider;
+import br.edu.ifba.inf008.plugins.books.infrastructure.repositories.BookRepository;
+import br.edu.ifba.inf008.plugins.loans.infrastructure.jobs.ScheduledJob;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMaps;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Book availability provider backed by an in-memory ledger of the copies available to loan per
+ * book, so availability checks do not query the database. The ledger is loaded with a single query
+ * as soon as the session factory is built, then reloaded every {@link #RELOAD_INTERVAL} on a
+ * background thread to pick up the loans made by other application instances, and whenever books
+ * are written.
+ * <p>
+ * Reloads build a new map and swap it in, so checks never wait for them. When a copy of a book is
+ * loaned or returned, the committed counter of that book is read again and kept next to the
+ * ledger until a reload started after the read replaces it; the committed value is stored instead
+ * of applying a delta, so a reload running between a commit and its notification cannot count the
+ * loan twice. Books missing from the ledger, such as books created since the last reload, are
+ * read from the database.
+ */
+public class LoanLedgerAvailabilityProvider extends ScheduledJob
+        implements BookAvailabilityProvider {
+
+    private static final Duration RELOAD_INTERVAL = Duration.ofMinutes(5);
+
+    private static LoanLedgerAvailabilityProvider instance;
+
+    private final BookRepository bookRepository;
+
+    private final Map<Long, RefreshedCopies> refreshedCopies = new ConcurrentHashMap<>();
+    private volatile Long2LongMap availableCopies;
+    private long loadStartedAt;
+
+    public LoanLedgerAvailabilityProvider(BookRepository bookRepository) {
+        super("loan-ledger-reload", RELOAD_INTERVAL);
+
+        this.bookRepository = bookRepository;
+    }
+
+    public static void initialize() {
+        if (instance == null) {
+            instance = new LoanLedgerAvailabilityProvider(BookRepository.getInstance());
+
+            BookService.getInstance().addChangeListener(instance::trigger);
+        }
+
+        BookAvailabilityManager.getInstance().setProvider(instance);
+
+        instance.start();
+    }
+
+    public static LoanLedgerAvailabilityProvider getInstance() {
+        return instance;
+    }
+
+    @Override
+    public Long provideAvailableCopies(Long bookId) {
+        Long copies = findInLedger(bookId);
+
+        return copies != null ? copies : refresh(bookId);
+    }
+
+    @Override
+    public Long2LongMap provideAvailableCopies(Collection<Long> bookIds) {
+        Long2LongMap copies = new Long2LongOpenHashMap(bookIds.size());
+        List<Long> missingBookIds = new ArrayList<>();
+
+        for (Long bookId : bookIds) {
+            Long bookCopies = findInLedger(bookId);
+
+            if (bookCopies != null) {
+                copies.put((long) bookId, (long) bookCopies);
+            } else {
+                missingBookIds.add(bookId);
+            }
+        }
+
+        if (!missingBookIds.isEmpty()) {
+            Long2LongMap read = bookRepository.findAvailableCopiesByIds(missingBookIds);
+            long readAt = System.nanoTime();
+
+            for (Long2LongMap.Entry entry : read.long2LongEntrySet()) {
+                keep(entry.getLongKey(), entry.getLongValue(), readAt);
+            }
+
+            copies.putAll(read);
+        }
+
+        return copies;
+    }
+
+    @Override
+    public void onCopyLoaned(Long bookId) {
+        refresh(bookId);
+    }
+
+    @Override
+    public void onCopyReturned(Long bookId) {
+        refresh(bookId);
+    }
+
+    /**
+     * Reloads the ledger from the active loans counters and swaps it in. The counters read after
+     * the reload started are kept, since they may be newer than the ones it read.
+     */
+    public void reload() {
+        long startedAt = System.nanoTime();
+        Long2LongMap loaded = Long2LongMaps.unmodifiable(bookRepository.findAllAvailableCopies());
+
+        swap(loaded, startedAt);
+    }
+
+    /**
+     * Reads the committed active loans counter of a book into the ledger.
+     *
+     * @param bookId the ID of the book
+     * @return the copies of the book available to loan, or 0 if the book does not exist
+     */
+    public long refresh(long bookId) {
+        Long2LongMap read = bookRepository.findAvailableCopiesByIds(List.of(bookId));
+
+        if (!read.containsKey(bookId)) {
+            refreshedCopies.remove(bookId);
+
+            return 0;
+        }
+
+        keep(bookId, read.get(bookId), System.nanoTime());
+
+        return read.get(bookId);
+    }
+
+    @Override
+    protected void execute() {
+        reload();
+    }
+
+    private Long findInLedger(long bookId) {
+        RefreshedCopies refreshed = refreshedCopies.get(bookId);
+
+        if (refreshed != null) {
+            return refreshed.copies();
+        }
+
+        Long2LongMap ledger = availableCopies;
+
+        return ledger != null && ledger.containsKey(bookId) ? ledger.get(bookId) : null;
+    }
+
+    private void keep(long bookId, long copies, long readAt) {
+        refreshedCopies.merge(bookId, new RefreshedCopies(copies, readAt),
+                (kept, read) -> read.readAt() >= kept.readAt() ? read : kept);
+    }
+
+    /**
+     * Swaps in a reloaded ledger unless a reload started later was already swapped in, and drops
+     * the counters read before the reload started.
+     */
+    private synchronized void swap(Long2LongMap loaded, long startedAt) {
+        if (availableCopies != null && startedAt - loadStartedAt < 0) {
+            return;
+        }
+
+        availableCopies = loaded;
+        loadStartedAt = startedAt;
+
+        refreshedCopies.values().removeIf(refreshed -> refreshed.readAt() - startedAt < 0);
+    }
+
+    private record RefreshedCopies(long copies, long readAt) {
+    }
+
+}
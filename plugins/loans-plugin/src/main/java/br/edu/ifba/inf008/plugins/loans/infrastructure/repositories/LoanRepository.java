@@ -1,13 +1,25 @@
 package br.edu.ifba.inf008.plugins.loans.infrastructure.repositories;
 
+import br.edu.ifba.inf008.core.domain.models.PageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageableResponse;
+import br.edu.ifba.inf008.core.infrastructure.repositories.Attribute;
+import br.edu.ifba.inf008.core.infrastructure.repositories.Specification;
 import br.edu.ifba.inf008.core.infrastructure.repositories.impl.HibernateRepository;
 import br.edu.ifba.inf008.plugins.books.domain.entities.Book;
 import br.edu.ifba.inf008.plugins.loans.application.extensions.reports.models.LoanedBookInformationModel;
+import br.edu.ifba.inf008.plugins.loans.domain.entities.ArchivedLoan;
 import br.edu.ifba.inf008.plugins.loans.domain.entities.Loan;
+import br.edu.ifba.inf008.plugins.loans.infrastructure.models.projection.LoanRow;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Repository class for managing Loan entities.
@@ -19,14 +31,110 @@ public class LoanRepository extends HibernateRepository<Loan, Long> {
      */
     private static final LoanRepository INSTANCE = new LoanRepository();
 
+    public static final Attribute<Loan, LocalDate> LOAN_DATE =
+            Attribute.of(Loan.class, "loanDate", LocalDate.class);
+    public static final Attribute<Loan, LocalDate> RETURN_DATE =
+            Attribute.of(Loan.class, "returnDate", LocalDate.class);
+
     protected LoanRepository() {
         super(Loan.class);
+
+        setQueryCacheRegion("loan-queries");
     }
 
     public static LoanRepository getInstance() {
         return INSTANCE;
     }
 
+    /**
+     * Matches the loans that are overdue on the given date: not returned and loaned more than
+     * {@link Loan#MAX_LOAN_DAYS} days before it. The condition is a range on the loan date, so it is
+     * served by the {@code (return_date, loan_date)} index.
+     *
+     * @param date the date to check
+     * @return the specification matching the overdue loans
+     */
+    public static Specification<Loan> overdueOn(LocalDate date) {
+        return Specification.isNull(RETURN_DATE)
+                .and(Specification.lessThan(LOAN_DATE, date.minusDays(Loan.MAX_LOAN_DAYS)));
+    }
+
+    /**
+     * Finds all loans with pagination support, fetching their users and books in the same query.
+     *
+     * @param pageRequest the pagination request containing page number, size and sort
+     * @return a pageable response containing the loans
+     */
+    public PageableResponse<Loan> findAllWithUserAndBook(PageRequest pageRequest) {
+        return findAllFetching(pageRequest, null, Loan.WITH_USER_AND_BOOK);
+    }
+
+    /**
+     * Streams the loans matching a specification, fetching their users and books in the same
+     * query instead of selecting them for every loan read by the stateless session.
+     *
+     * @param specification the specification to match, or null to select every loan
+     * @return a stream of loans matching the specification
+     */
+    @Override
+    public Stream<Loan> stream(Specification<Loan> specification) {
+        return streamFetching(specification, Loan.WITH_USER_AND_BOOK);
+    }
+
+    /**
+     * Finds the table rows of all loans with pagination support. Only the displayed columns are
+     * read, with the user and book names joined in the same query. The rows are displayed
+     * repeatedly, so they are cached in the query cache.
+     *
+     * @param pageRequest the pagination request containing page number, size and sort
+     * @return a pageable response containing the loan rows
+     */
+    public PageableResponse<LoanRow> findAllRows(PageRequest pageRequest) {
+        return findProjections(pageRequest.withCacheable(true), null, LoanRow.class);
+    }
+
+    /**
+     * Finds the loans that are overdue on the given date, fetching their users and books in the
+     * same query. Unless the request is sorted, the loans overdue the longest come first.
+     *
+     * @param pageRequest the pagination request containing page number, size and sort
+     * @param date        the date to check
+     * @return a pageable response containing the overdue loans
+     */
+    public PageableResponse<Loan> findAllOverdue(PageRequest pageRequest, LocalDate date) {
+        PageRequest orderedPageRequest = pageRequest.sort().isEmpty()
+                ? new PageRequest(pageRequest.page(), pageRequest.limit(),
+                List.of(LOAN_DATE.asc()), pageRequest.knownTotal(), pageRequest.cacheable())
+                : pageRequest;
+
+        return findAllFetching(orderedPageRequest, overdueOn(date),
+                Loan.WITH_USER_AND_BOOK);
+    }
+
+    /**
+     * Counts the loans that are overdue on the given date, grouped by user, in a single query.
+     *
+     * @param date the date to check
+     * @return a map from user ID to the number of their overdue loans
+     */
+    public Long2LongMap countOverdueGroupedByUserId(LocalDate date) {
+        return withSession(session -> {
+            Long2LongMap overdueLoans = new Long2LongOpenHashMap();
+
+            session.createQuery("""
+                                SELECT l.user.id, COUNT(l)
+                                FROM Loan l
+                                WHERE l.returnDate IS NULL AND l.loanDate < :dueBefore
+                                GROUP BY l.user.id
+                            """, Object[].class)
+                    .setParameter("dueBefore", date.minusDays(Loan.MAX_LOAN_DAYS))
+                    .getResultList()
+                    .forEach(row -> overdueLoans.put((long) (Long) row[0], (long) (Long) row[1]));
+
+            return overdueLoans;
+        });
+    }
+
     /**
      * Counts the number of loans for a specific book that have not been returned.
      *
@@ -34,11 +142,28 @@ public class LoanRepository extends HibernateRepository<Loan, Long> {
      * @return the count of loans that have not been returned
      */
     public Long countByBookIdAndNotReturned(Long bookId) {
-        try (var session = getSession()) {
+        return withSession(session -> {
             return session.createQuery(
                     "SELECT COUNT(l) FROM Loan l WHERE l.book.id = :bookId AND l.returnDate IS NULL",
                     Long.class).setParameter("bookId", bookId).uniqueResultOptional().orElse(0L);
-        }
+        });
+    }
+
+    /**
+     * Counts the loans that have not been returned, grouped by book.
+     *
+     * @return a map from book ID to the number of its copies currently on loan
+     */
+    public Map<Long, Long> countNotReturnedGroupedByBookId() {
+        return withSession(session -> {
+            return session.createQuery("""
+                                SELECT l.book.id, COUNT(l)
+                                FROM Loan l
+                                WHERE l.returnDate IS NULL
+                                GROUP BY l.book.id
+                            """, Object[].class).getResultList().stream()
+                    .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+        });
     }
 
     /**
@@ -49,16 +174,65 @@ public class LoanRepository extends HibernateRepository<Loan, Long> {
      * @return true if a loan exists, false otherwise
      */
     public boolean existsByUserIdAndBookIdAndNotReturned(Long userId, Long bookId) {
-        try (var session = getSession()) {
+        return withSession(session -> {
             return session.createQuery(
                             "SELECT COUNT(l) > 0 FROM Loan l WHERE l.user.id = :userId AND l.book.id = :bookId AND l.returnDate IS NULL",
                             Boolean.class).setParameter("userId", userId).setParameter("bookId", bookId)
                     .uniqueResultOptional().orElse(false);
+        });
+    }
+
+    /**
+     * Finds, in a single query, the books each of the given users has on loan, restricted to the
+     * given books.
+     *
+     * @param userIds the IDs of the users
+     * @param bookIds the IDs of the books
+     * @return a map from user ID to the IDs of the books they have not returned yet
+     */
+    public Map<Long, Set<Long>> findNotReturnedBookIdsByUserIds(Collection<Long> userIds,
+            Collection<Long> bookIds) {
+        if (userIds.isEmpty() || bookIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        return withSession(session -> {
+            return session.createQuery("""
+                                SELECT l.user.id, l.book.id
+                                FROM Loan l
+                                WHERE l.user.id IN :userIds
+                                    AND l.book.id IN :bookIds
+                                    AND l.returnDate IS NULL
+                            """, Object[].class).setParameter("userIds", userIds)
+                    .setParameter("bookIds", bookIds).getResultList().stream()
+                    .collect(Collectors.groupingBy(row -> (Long) row[0], HashMap::new,
+                            Collectors.mapping(row -> (Long) row[1], Collectors.toSet())));
+        });
+    }
+
+    /**
+     * Finds the IDs of the books of the given loans in a single query.
+     *
+     * @param loanIds the IDs of the loans
+     * @return the distinct IDs of the loaned books
+     */
+    public List<Long> findBookIdsByLoanIds(Collection<Long> loanIds) {
+        if (loanIds.isEmpty()) {
+            return List.of();
         }
+
+        return withSession(session -> {
+            return session.createQuery("""
+                                SELECT DISTINCT l.book.id
+                                FROM Loan l
+                                WHERE l.id IN :loanIds
+                            """, Long.class).setParameter("loanIds", loanIds).getResultList();
+        });
     }
 
     /**
-     * Finds all loans for a specific book that have not been returned, with pagination.
+     * Finds all loans for a specific book that have not been returned, with pagination. Their
+     * users and books are fetched in the same query.
      *
      * @param bookId the ID of the book
      * @param page the page number (0-based)
@@ -66,9 +240,11 @@ public class LoanRepository extends HibernateRepository<Loan, Long> {
      * @return a pageable response containing loans that have not been returned
      */
     public PageableResponse<Loan> findAllByBookIdAndNotReturned(Long bookId, int page, int size) {
-        try (var session = getSession()) {
+        return withSession(session -> {
             List<Loan> loans = session.createQuery("""
                                 FROM Loan l
+                                JOIN FETCH l.user
+                                JOIN FETCH l.book
                                 WHERE l.book.id = :bookId AND l.returnDate IS NULL
                             """, Loan.class).setParameter("bookId", bookId)
                     .setFirstResult(page * size).setMaxResults(size).getResultList();
@@ -80,61 +256,162 @@ public class LoanRepository extends HibernateRepository<Loan, Long> {
                     """, Long.class).setParameter("bookId", bookId).getSingleResult();
 
             return new PageableResponse<>(page, size, totalElements, loans);
-        }
+        });
     }
 
     /**
-     * Finds all loaned books information with pagination.
+     * Finds all loaned books information with pagination. The books and their copies on loan are
+     * read from the active loans counter kept on each book row, so the loans table is not scanned.
      *
      * @param page the page number (0-based)
      * @param size the number of items per page
      * @return a pageable response containing loaned book information
      */
     public PageableResponse<LoanedBookInformationModel> findLoanedBooks(int page, int size) {
-        try (var session = getSession()) {
-            List<Long> bookIds = session.createQuery("""
-                                SELECT DISTINCT b.id
+        return withSession(session -> {
+            List<LoanedBookInformationModel> data = cacheable(session.createQuery("""
+                                FROM Book b
+                                WHERE b.activeLoans > 0
+                                ORDER BY b.id
+                            """, Book.class)).setFirstResult(page * size).setMaxResults(size)
+                    .getResultList().stream().map(book -> {
+                        long totalCopies = book.getCopiesAvailable();
+                        long loanedCopies = book.getActiveLoans();
+                        return new LoanedBookInformationModel(book.getBookId(), book.getTitle(),
+                                totalCopies - loanedCopies, loanedCopies, totalCopies);
+                    }).toList();
+
+            long totalElements = cacheable(session.createQuery("""
+                        SELECT COUNT(b)
+                        FROM Book b
+                        WHERE b.activeLoans > 0
+                    """, Long.class)).getSingleResult();
+
+            return new PageableResponse<>(page, size, totalElements, data);
+        });
+    }
+
+    /**
+     * Moves up to the given number of loans returned before the cutoff date from the loans table to
+     * the loans archive, in a single transaction. The moved loans keep their identifiers, and the
+     * oldest ones are moved first. Loans that have not been returned are never archived, so the
+     * active loans counters are not affected.
+     * <p>
+     * Both statements declare the entity they write to, so Hibernate only invalidates the cached
+     * loans and archived loans instead of every second-level cache region and cached query.
+     *
+     * @param cutoff the date before which returned loans are archived
+     * @param limit  the maximum number of loans to move
+     * @return the number of loans moved to the archive
+     */
+    public int archiveReturnedBefore(LocalDate cutoff, int limit) {
+        return withTransaction(session -> {
+            List<Long> loanIds = session.createQuery("""
+                                SELECT l.id
                                 FROM Loan l
-                                JOIN l.book b
-                                WHERE l.returnDate IS NULL
-                            """, Long.class).setFirstResult(page * size).setMaxResults(size)
-                    .getResultList();
+                                WHERE l.returnDate < :cutoff
+                                ORDER BY l.id
+                            """, Long.class).setParameter("cutoff", cutoff)
+                    .setMaxResults(limit).getResultList();
 
-            if (bookIds.isEmpty()) {
-                return new PageableResponse<>(page, size, 0L, List.of());
+            if (loanIds.isEmpty()) {
+                return 0;
             }
 
-            List<Book> books = session.createQuery("""
-                        FROM Book b
-                        WHERE b.id IN :bookIds
-                    """, Book.class).setParameter("bookIds", bookIds).getResultList();
+            session.createNativeQuery("""
+                                INSERT INTO loans_archive
+                                    (loan_id, user_id, book_id, loan_date, return_date, archived_on)
+                                SELECT loan_id, user_id, book_id, loan_date, return_date, CURRENT_DATE
+                                FROM loans
+                                WHERE loan_id IN (:loanIds)
+                            """, Object.class)
+                    .addSynchronizedEntityClass(ArchivedLoan.class)
+                    .setParameterList("loanIds", loanIds)
+                    .executeUpdate();
 
-            Map<Long, Long> loanedCopiesMap = session.createQuery("""
-                                SELECT b.id, COUNT(l)
-                                FROM Loan l
-                                JOIN l.book b
-                                WHERE b.id IN :bookIds AND l.returnDate IS NULL
-                                GROUP BY b.id
-                            """, Object[].class).setParameter("bookIds", bookIds).getResultList().stream()
-                    .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+            return session.createNativeQuery("DELETE FROM loans WHERE loan_id IN (:loanIds)",
+                            Object.class)
+                    .addSynchronizedEntityClass(Loan.class)
+                    .setParameterList("loanIds", loanIds)
+                    .executeUpdate();
+        });
+    }
 
-            List<LoanedBookInformationModel> data = books.stream().map(book -> {
-                long totalCopies = book.getCopiesAvailable();
-                long loanedCopies = loanedCopiesMap.getOrDefault(book.getBookId(), 0L);
-                long availableCopies = totalCopies - loanedCopies;
-                return new LoanedBookInformationModel(book.getBookId(), book.getTitle(),
-                        availableCopies, loanedCopies, totalCopies);
-            }).toList();
+    /**
+     * Finds the whole loan history of a user, including the archived loans, most recent first.
+     * Unlike the other queries of this repository, this one reads the loans archive as well, so it
+     * should only be used when the history is explicitly requested.
+     *
+     * @param userId      the ID of the user
+     * @param pageRequest the pagination request containing page number and size; its sort is ignored
+     * @return a pageable response containing the rows of the loans of the user
+     */
+    public PageableResponse<LoanRow> findHistoryByUserId(Long userId, PageRequest pageRequest) {
+        return withSession(session -> {
+            List<Object[]> rows = session.createNativeQuery("""
+                                SELECT l.loan_id, u.name AS user_name, b.title AS book_title,
+                                       l.loan_date, l.return_date
+                                FROM loans l
+                                JOIN users u ON u.user_id = l.user_id
+                                JOIN books b ON b.book_id = l.book_id
+                                WHERE l.user_id = :userId
+                                UNION ALL
+                                SELECT a.loan_id, u.name, b.title, a.loan_date, a.return_date
+                                FROM loans_archive a
+                                JOIN users u ON u.user_id = a.user_id
+                                JOIN books b ON b.book_id = a.book_id
+                                WHERE a.user_id = :userId
+                                ORDER BY loan_date DESC, loan_id DESC
+                            """, Object[].class)
+                    .addScalar("loan_id", Long.class)
+                    .addScalar("user_name", String.class)
+                    .addScalar("book_title", String.class)
+                    .addScalar("loan_date", LocalDate.class)
+                    .addScalar("return_date", LocalDate.class)
+                    .setParameter("userId", userId)
+                    .setFirstResult(pageRequest.page() * pageRequest.limit())
+                    .setMaxResults(pageRequest.limit())
+                    .getResultList();
 
-            long totalElements = session.createQuery("""
-                        SELECT COUNT(DISTINCT b.id)
-                        FROM Loan l
-                        JOIN l.book b
-                        WHERE l.returnDate IS NULL
-                    """, Long.class).getSingleResult();
+            List<LoanRow> history = rows.stream().map(row -> new LoanRow((Long) row[0],
+                    (String) row[1], (String) row[2], (LocalDate) row[3],
+                    (LocalDate) row[4])).toList();
 
-            return new PageableResponse<>(page, size, totalElements, data);
-        }
+            long totalElements = session.createQuery(
+                            "SELECT COUNT(l) FROM Loan l WHERE l.user.id = :userId", Long.class)
+                    .setParameter("userId", userId).getSingleResult()
+                    + session.createQuery(
+                            "SELECT COUNT(a) FROM ArchivedLoan a WHERE a.user.id = :userId",
+                            Long.class)
+                    .setParameter("userId", userId).getSingleResult();
+
+            return new PageableResponse<>(pageRequest.page(), pageRequest.limit(), totalElements,
+                    history);
+        });
+    }
+
+    /**
+     * Finds the books whose active loans counter does not match the loans that have not been
+     * returned, counting the loans in a single grouped query.
+     *
+     * @return a map from book ID to its actual number of copies on loan, for mismatching books only
+     */
+    public Long2LongMap findActiveLoansMismatches() {
+        return withSession(session -> {
+            Long2LongMap mismatches = new Long2LongOpenHashMap();
+
+            session.createQuery("""
+                                SELECT b.id, COUNT(l)
+                                FROM Book b
+                                LEFT JOIN Loan l ON l.book = b AND l.returnDate IS NULL
+                                GROUP BY b.id, b.activeLoans
+                                HAVING b.activeLoans <> COUNT(l)
+                            """, Object[].class).getResultList()
+                    .forEach(row -> mismatches.put((long) (Long) row[0],
+                            ((Number) row[1]).longValue()));
+
+            return mismatches;
+        });
     }
 
 }
@@ -2,7 +2,7 @@ package br.edu.ifba.inf008.plugins.loans.ui.providers;
 
 import br.edu.ifba.inf008.core.ui.components.table.TableComponent;
 import br.edu.ifba.inf008.core.ui.components.table.interfaces.TableAction;
-import br.edu.ifba.inf008.plugins.loans.domain.entities.Loan;
+import br.edu.ifba.inf008.plugins.loans.infrastructure.models.projection.LoanRow;
 import br.edu.ifba.inf008.plugins.loans.ui.PluginIcons;
 import br.edu.ifba.inf008.plugins.loans.ui.views.ReturnBookLoanDialog;
 import java.util.List;
@@ -20,7 +20,7 @@ public class LoanTableActionsProvider {
      * @param tableComponent the table component to which the actions will be added
      * @return a list of actions for the loan table component
      */
-    public static List<TableAction<Loan>> getActions(TableComponent<Loan> tableComponent) {
+    public static List<TableAction<LoanRow>> getActions(TableComponent<LoanRow> tableComponent) {
         return List.of(new TableAction<>() {
             public String getLabel() {
                 return "Return";
@@ -30,15 +30,14 @@ public class LoanTableActionsProvider {
                 return PluginIcons.RETURN;
             }
 
-            public void onAction(Loan loan) {
+            public void onAction(LoanRow loan) {
                 ReturnBookLoanDialog dialog = new ReturnBookLoanDialog(loan);
 
-                dialog.setOnLoanReturned(_ -> tableComponent.reload());
                 dialog.showAndWait();
             }
 
-            public Predicate<Loan> getCondition() {
-                return (loan) -> loan.getReturnDate() == null;
+            public Predicate<LoanRow> getCondition() {
+                return (loan) -> loan.returnDate() == null;
             }
         });
     }
@@ -4,6 +4,7 @@ import br.edu.ifba.inf008.core.ICore;
 import br.edu.ifba.inf008.core.IUIController;
 import br.edu.ifba.inf008.plugins.books.domain.entities.Book;
 import br.edu.ifba.inf008.plugins.books.domain.exceptions.BookNotFoundException;
+import br.edu.ifba.inf008.plugins.books.infrastructure.managers.BookAvailabilityManager;
 import br.edu.ifba.inf008.plugins.books.infrastructure.repositories.BookRepository;
 import br.edu.ifba.inf008.plugins.loans.application.services.LoanService;
 import br.edu.ifba.inf008.plugins.loans.domain.entities.Loan;
@@ -14,6 +15,7 @@ import br.edu.ifba.inf008.plugins.loans.ui.CSS;
 import br.edu.ifba.inf008.plugins.users.domain.entities.User;
 import br.edu.ifba.inf008.plugins.users.domain.exceptions.UserNotFoundException;
 import br.edu.ifba.inf008.plugins.users.infrastructure.repositories.UserRepository;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
 import jakarta.validation.ConstraintViolationException;
 import java.util.List;
 import java.util.function.Consumer;
@@ -57,10 +59,13 @@ public class CreateLoanDialog extends Stage {
 
         List<User> users = UserRepository.getInstance().findAllNonDeactivated();
         List<Book> books = BookRepository.getInstance().findAllNonDeactivated();
+        Long2LongMap availableCopies = BookAvailabilityManager.getInstance()
+                .getAvailableCopies(books.stream().map(Book::getBookId).toList());
 
         userField = createSearchableComboBox(users, User::getName);
         bookField = createSearchableComboBox(books,
-                book -> book.getTitle() + " (" + book.getIsbn() + ")");
+                book -> book.getTitle() + " (" + book.getIsbn() + ") - "
+                        + availableCopies.get(book.getBookId().longValue()) + " available");
 
         userField.setPromptText("Select User");
         bookField.setPromptText("Select Book");
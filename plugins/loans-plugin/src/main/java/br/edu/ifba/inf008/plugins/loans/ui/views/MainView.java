@@ -3,9 +3,11 @@ package br.edu.ifba.inf008.plugins.loans.ui.views;
 import br.edu.ifba.inf008.core.IUIController;
 import br.edu.ifba.inf008.core.ui.Icons;
 import br.edu.ifba.inf008.core.ui.components.table.TableComponent;
+import br.edu.ifba.inf008.plugins.books.application.services.BookService;
 import br.edu.ifba.inf008.plugins.loans.application.services.LoanService;
-import br.edu.ifba.inf008.plugins.loans.domain.entities.Loan;
+import br.edu.ifba.inf008.plugins.loans.infrastructure.models.projection.LoanRow;
 import br.edu.ifba.inf008.plugins.loans.ui.providers.LoanTableActionsProvider;
+import br.edu.ifba.inf008.plugins.users.application.services.UserService;
 import java.util.function.Supplier;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
@@ -24,14 +26,21 @@ import javafx.scene.layout.VBox;
 public class MainView extends VBox {
 
     private final IUIController uiController;
-    private final TableComponent<Loan> tableComponent;
+    private final TableComponent<LoanRow> tableComponent;
 
     public MainView(IUIController uiController, LoanService loanService) {
         super(10);
         this.uiController = uiController;
         this.getStyleClass().add("lm-main-content");
 
-        this.tableComponent = new TableComponent<>(Loan.class, loanService::findAll);
+        this.tableComponent = TableComponent.withServerSideSorting(LoanRow.class,
+                loanService::findAllRows);
+
+        // The rows show the names of the users and the titles of the books as well
+        loanService.addChangeListener(tableComponent::invalidate);
+        BookService.getInstance().addChangeListener(tableComponent::invalidate);
+        UserService.getInstance().addChangeListener(tableComponent::invalidate);
+
         this.tableComponent.addActionColumn(LoanTableActionsProvider.getActions(tableComponent), 45,
                 15, 85);
 
@@ -74,8 +83,8 @@ public class MainView extends VBox {
     }
 
     /**
-     * Configures the action for the "Create Loan" button. Opens a dialog to create a new loan and
-     * reloads the table upon successful creation.
+     * Configures the action for the "Create Loan" button. Opens a dialog to create a new loan; the
+     * table is reloaded by its change listeners once the loan is created.
      *
      * @param createButton The button to configure.
      */
@@ -83,9 +92,6 @@ public class MainView extends VBox {
         createButton.setOnAction(e -> {
             CreateLoanDialog dialog = new CreateLoanDialog();
 
-            dialog.setOnLoanCreated((_) -> {
-                tableComponent.reload();
-            });
             dialog.showAndWait();
         });
     }
@@ -2,7 +2,7 @@ package br.edu.ifba.inf008.plugins.loans.ui.views;
 
 import br.edu.ifba.inf008.core.ui.views.GenericConfirmationDialogView;
 import br.edu.ifba.inf008.plugins.loans.application.services.LoanService;
-import br.edu.ifba.inf008.plugins.loans.domain.entities.Loan;
+import br.edu.ifba.inf008.plugins.loans.infrastructure.models.projection.LoanRow;
 import java.util.function.Consumer;
 
 /**
@@ -17,17 +17,17 @@ public class ReturnBookLoanDialog extends GenericConfirmationDialogView {
     /**
      * Callback to be executed when a loan is successfully returned.
      */
-    private Consumer<Loan> onLoanReturned;
+    private Consumer<LoanRow> onLoanReturned;
 
-    public ReturnBookLoanDialog(Loan loan) {
+    public ReturnBookLoanDialog(LoanRow loan) {
         super("Returning Book",
-                "Are you sure you want to return the loan from '" + loan.getUser().getName()
+                "Are you sure you want to return the loan from '" + loan.userName()
                         + "' of the book '"
-                        + loan.getBook().getTitle() + "'?");
+                        + loan.bookTitle() + "'?");
 
         setOnConfirmedClick(() -> {
             try {
-                loanService.markAsReturned(loan.getLoanId());
+                loanService.markAsReturned(loan.loanId());
 
                 if (onLoanReturned != null) {
                     onLoanReturned.accept(loan);
@@ -45,7 +45,7 @@ public class ReturnBookLoanDialog extends GenericConfirmationDialogView {
      *
      * @param onLoanReturned the callback to set
      */
-    public void setOnLoanReturned(Consumer<Loan> onLoanReturned) {
+    public void setOnLoanReturned(Consumer<LoanRow> onLoanReturned) {
         this.onLoanReturned = onLoanReturned;
     }
 
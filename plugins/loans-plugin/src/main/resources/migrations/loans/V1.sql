@@ -0,0 +1,6 @@
+-- Backfill the active loans counter of the books from the loans not yet returned
+UPDATE books
+SET active_loans = (SELECT COUNT(*)
+                    FROM loans
+                    WHERE loans.book_id = books.book_id
+                      AND loans.return_date IS NULL);
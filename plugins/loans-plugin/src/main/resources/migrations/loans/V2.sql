@@ -0,0 +1,3 @@
+-- Index the active loans of a book and of a user and book pair
+CREATE INDEX IF NOT EXISTS idx_loans_book_return ON loans (book_id, return_date);
+CREATE INDEX IF NOT EXISTS idx_loans_user_book_return ON loans (user_id, book_id, return_date);
@@ -0,0 +1,2 @@
+-- Index the loans not yet returned by loan date, to find overdue loans with a range seek
+CREATE INDEX IF NOT EXISTS idx_loans_return_loan_date ON loans (return_date, loan_date);
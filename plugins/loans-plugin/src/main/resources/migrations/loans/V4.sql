@@ -0,0 +1,14 @@
+-- Create the archive of returned loans, keeping the loans table down to active and recent loans
+CREATE TABLE IF NOT EXISTS loans_archive
+(
+    loan_id     BIGINT PRIMARY KEY,
+    user_id     BIGINT NOT NULL,
+    book_id     BIGINT NOT NULL,
+    loan_date   DATE   NOT NULL,
+    return_date DATE   NOT NULL,
+    archived_on DATE   NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE,
+    FOREIGN KEY (book_id) REFERENCES books (book_id) ON DELETE CASCADE
+);
+CREATE INDEX IF NOT EXISTS idx_loans_archive_user_loan_date ON loans_archive (user_id, loan_date);
+CREATE INDEX IF NOT EXISTS idx_loans_archive_book_loan_date ON loans_archive (book_id, loan_date);
@@ -0,0 +1,12 @@
+-- Create the id generators table if missing and seed the next loan ID past the loans and archive
+CREATE TABLE IF NOT EXISTS id_generators
+(
+    entity  VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_id BIGINT       NOT NULL
+);
+INSERT INTO id_generators (entity, next_id)
+SELECT 'loans', seed.next_id
+FROM (SELECT GREATEST(COALESCE(MAX(loan_id), 0),
+                      (SELECT COALESCE(MAX(loan_id), 0) FROM loans_archive)) + 1 AS next_id
+      FROM loans) seed
+WHERE NOT EXISTS (SELECT 1 FROM id_generators WHERE entity = 'loans');
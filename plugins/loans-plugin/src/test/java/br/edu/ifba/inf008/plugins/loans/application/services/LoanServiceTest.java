@@ -3,22 +3,37 @@ package br.edu.ifba.inf008.plugins.loans.application.services;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import br.edu.ifba.inf008.core.domain.models.BatchResult;
 import br.edu.ifba.inf008.plugins.books.domain.entities.Book;
 import br.edu.ifba.inf008.plugins.books.domain.exceptions.BookNotFoundException;
 import br.edu.ifba.inf008.plugins.books.infrastructure.managers.BookAvailabilityManager;
+import br.edu.ifba.inf008.plugins.books.infrastructure.providers.BookAvailabilityProvider;
+import br.edu.ifba.inf008.plugins.books.infrastructure.providers.impl.DefaultBookAvailabilityProvider;
 import br.edu.ifba.inf008.plugins.books.infrastructure.repositories.BookRepository;
 import br.edu.ifba.inf008.plugins.loans.domain.entities.Loan;
 import br.edu.ifba.inf008.plugins.loans.domain.exceptions.BookNotAvailableToLoanException;
 import br.edu.ifba.inf008.plugins.loans.domain.exceptions.LoanAlreadyReturnedException;
 import br.edu.ifba.inf008.plugins.loans.domain.exceptions.LoanNotFoundException;
 import br.edu.ifba.inf008.plugins.loans.domain.exceptions.UserAlreadyLoanedBookException;
+import br.edu.ifba.inf008.plugins.loans.infrastructure.jobs.ActiveLoansReconciliationJob;
 import br.edu.ifba.inf008.plugins.loans.infrastructure.models.request.CreateLoanRequest;
+import br.edu.ifba.inf008.plugins.loans.infrastructure.providers.LoanLedgerAvailabilityProvider;
 import br.edu.ifba.inf008.plugins.loans.infrastructure.repositories.LoanRepository;
 import br.edu.ifba.inf008.plugins.users.domain.entities.User;
 import br.edu.ifba.inf008.plugins.users.domain.exceptions.UserNotFoundException;
 import br.edu.ifba.inf008.plugins.users.infrastructure.repositories.UserRepository;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
 import jakarta.validation.ConstraintViolationException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.cfg.Configuration;
@@ -163,6 +178,33 @@ public class LoanServiceTest {
                     .isInstanceOf(BookNotAvailableToLoanException.class);
         }
 
+        @Test
+        void createLoan_ThrowsWhenAvailabilityProviderReportsNoCopies() {
+            User user = createUser("Carol White");
+            Book book = createBook("Moby Dick", 3);
+            CreateLoanRequest request = new CreateLoanRequest(user.getUserId(), book.getBookId());
+
+            bookAvailabilityManager.setProvider(new BookAvailabilityProvider() {
+                @Override
+                public Long provideAvailableCopies(Long bookId) {
+                    return 0L;
+                }
+
+                @Override
+                public Long2LongMap provideAvailableCopies(Collection<Long> bookIds) {
+                    return new Long2LongOpenHashMap();
+                }
+            });
+
+            try {
+                assertThatThrownBy(() -> loanService.create(request))
+                        .isInstanceOf(BookNotAvailableToLoanException.class);
+            } finally {
+                bookAvailabilityManager.setProvider(
+                        new DefaultBookAvailabilityProvider(bookRepository));
+            }
+        }
+
         @Test
         void createLoan_ThrowsWhenUserAlreadyLoanedBook() throws Exception {
             User user = createUser("Bob Brown");
@@ -238,6 +280,252 @@ public class LoanServiceTest {
         }
     }
 
+    @Nested
+    class BatchTests {
+
+        @Test
+        void createAll_CreatesValidLoansAndReportsFailures() {
+            User first = createUser("Batch First");
+            User second = createUser("Batch Second");
+            Book book = createBook("Single Copy", 1);
+            Book other = createBook("Plenty Of Copies", 5);
+
+            BatchResult<CreateLoanRequest, Loan> result = loanService.createAll(List.of(
+                    new CreateLoanRequest(first.getUserId(), book.getBookId()),
+                    new CreateLoanRequest(second.getUserId(), book.getBookId()),
+                    new CreateLoanRequest(first.getUserId(), other.getBookId()),
+                    new CreateLoanRequest(first.getUserId(), other.getBookId()),
+                    new CreateLoanRequest(first.getUserId(), 999L),
+                    new CreateLoanRequest(null, other.getBookId())));
+
+            assertThat(result.items()).extracting(BatchResult.Item::isSuccess)
+                    .containsExactly(true, false, true, false, false, false);
+            assertThat(result.failed()).extracting(item -> item.error().getClass())
+                    .containsExactly(BookNotAvailableToLoanException.class,
+                            UserAlreadyLoanedBookException.class, BookNotFoundException.class,
+                            ConstraintViolationException.class);
+
+            assertThat(result.succeeded()).hasSize(2)
+                    .allSatisfy(loan -> assertThat(loan.getLoanId()).isNotNull());
+            assertThat(bookRepository.findById(book.getBookId())).get()
+                    .extracting(Book::getActiveLoans).isEqualTo(1);
+            assertThat(bookRepository.findById(other.getBookId())).get()
+                    .extracting(Book::getActiveLoans).isEqualTo(1);
+        }
+
+        @Test
+        void createAll_FailsWhenAvailabilityProviderReportsNoCopies() {
+            User user = createUser("Batch Provider");
+            Book book = createBook("Provider Says None", 3);
+
+            bookAvailabilityManager.setProvider(new BookAvailabilityProvider() {
+                @Override
+                public Long provideAvailableCopies(Long bookId) {
+                    return 0L;
+                }
+
+                @Override
+                public Long2LongMap provideAvailableCopies(Collection<Long> bookIds) {
+                    return new Long2LongOpenHashMap();
+                }
+            });
+
+            try {
+                BatchResult<CreateLoanRequest, Loan> result = loanService.createAll(List.of(
+                        new CreateLoanRequest(user.getUserId(), book.getBookId())));
+
+                assertThat(result.failed()).extracting(item -> item.error().getClass())
+                        .containsExactly(BookNotAvailableToLoanException.class);
+                assertThat(bookRepository.findById(book.getBookId())).get()
+                        .extracting(Book::getActiveLoans).isEqualTo(0);
+            } finally {
+                bookAvailabilityManager.setProvider(
+                        new DefaultBookAvailabilityProvider(bookRepository));
+            }
+        }
+
+        @Test
+        void markAllAsReturned_ReturnsLoansAndReportsFailures() throws Exception {
+            User user = createUser("Return Bin");
+            Book book = createBook("Returned Twice", 2);
+            Book other = createBook("Returned Once", 2);
+
+            Loan first = loanService.create(
+                    new CreateLoanRequest(user.getUserId(), book.getBookId()));
+            Loan second = loanService.create(
+                    new CreateLoanRequest(user.getUserId(), other.getBookId()));
+
+            BatchResult<Long, Loan> result = loanService.markAllAsReturned(
+                    List.of(first.getLoanId(), second.getLoanId(), first.getLoanId(), 999L));
+
+            assertThat(result.items()).extracting(BatchResult.Item::isSuccess)
+                    .containsExactly(true, true, false, false);
+            assertThat(result.failed()).extracting(item -> item.error().getClass())
+                    .containsExactly(LoanAlreadyReturnedException.class,
+                            LoanNotFoundException.class);
+
+            assertThat(loanRepository.findById(first.getLoanId())).get()
+                    .extracting(Loan::getReturnDate).isEqualTo(LocalDate.now());
+            assertThat(bookRepository.findById(book.getBookId())).get()
+                    .extracting(Book::getActiveLoans).isEqualTo(0);
+            assertThat(bookRepository.findById(other.getBookId())).get()
+                    .extracting(Book::getActiveLoans).isEqualTo(0);
+        }
+    }
+
+    @Nested
+    class ConcurrencyTests {
+
+        @Test
+        void createLoan_OnlyOneConcurrentLoanGetsTheLastCopy() throws Exception {
+            Book book = createBook("The Last Copy", 1);
+            List<User> users = List.of(createUser("Desk One"), createUser("Desk Two"),
+                    createUser("Desk Three"), createUser("Desk Four"));
+
+            ExecutorService executor = Executors.newFixedThreadPool(users.size());
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+
+            try {
+                for (User user : users) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+
+                        try {
+                            loanService.create(
+                                    new CreateLoanRequest(user.getUserId(), book.getBookId()));
+
+                            return true;
+                        } catch (Exception e) {
+                            return false;
+                        }
+                    }));
+                }
+
+                start.countDown();
+
+                int successes = 0;
+                for (Future<Boolean> result : results) {
+                    if (result.get(30, TimeUnit.SECONDS)) {
+                        successes++;
+                    }
+                }
+
+                assertThat(successes).isEqualTo(1);
+                assertThat(loanRepository.countByBookIdAndNotReturned(book.getBookId()))
+                        .isEqualTo(1L);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    class ActiveLoansCounterTests {
+
+        @Test
+        void activeLoans_TracksLoansAndReturns() throws Exception {
+            User user = createUser("Frank Herbert");
+            Book book = createBook("Dune", 2);
+            Long bookId = book.getBookId();
+
+            assertThat(bookAvailabilityManager.getAvailableCopies(bookId)).isEqualTo(2);
+
+            Loan loan = loanService.create(new CreateLoanRequest(user.getUserId(), bookId));
+
+            assertThat(bookRepository.findById(bookId)).get()
+                    .extracting(Book::getActiveLoans).isEqualTo(1);
+            assertThat(bookAvailabilityManager.getAvailableCopies(bookId)).isEqualTo(1);
+
+            loanService.markAsReturned(loan.getLoanId());
+
+            assertThat(bookRepository.findById(bookId)).get()
+                    .extracting(Book::getActiveLoans).isEqualTo(0);
+            assertThat(bookAvailabilityManager.getAvailableCopies(bookId)).isEqualTo(2);
+        }
+
+        @Test
+        void reconcile_CorrectsCountersThatDriftedFromTheLoansTable() throws Exception {
+            User user = createUser("Ursula Le Guin");
+            Book drifted = createBook("The Dispossessed", 3);
+            Book consistent = createBook("The Left Hand of Darkness", 3);
+
+            loanService.create(new CreateLoanRequest(user.getUserId(), drifted.getBookId()));
+            loanService.create(new CreateLoanRequest(user.getUserId(), consistent.getBookId()));
+
+            try (Session session = sessionFactory.openSession()) {
+                session.beginTransaction();
+                session.createMutationQuery(
+                                "UPDATE Book b SET b.activeLoans = 0 WHERE b.id = :bookId")
+                        .setParameter("bookId", drifted.getBookId()).executeUpdate();
+                session.getTransaction().commit();
+            }
+
+            ActiveLoansReconciliationJob job =
+                    new ActiveLoansReconciliationJob(bookRepository, loanRepository);
+
+            assertThat(job.reconcile()).isEqualTo(1);
+            assertThat(bookRepository.findById(drifted.getBookId())).get()
+                    .extracting(Book::getActiveLoans).isEqualTo(1);
+            assertThat(job.reconcile()).isZero();
+        }
+    }
+
+    @Nested
+    class LedgerAvailabilityTests {
+
+        @Test
+        void ledger_TracksLoansAndReturns() throws Exception {
+            LoanLedgerAvailabilityProvider ledger =
+                    new LoanLedgerAvailabilityProvider(bookRepository);
+            bookAvailabilityManager.setProvider(ledger);
+
+            try {
+                User user = createUser("Frank Herbert");
+                Book book = createBook("Dune", 2);
+                Long bookId = book.getBookId();
+
+                ledger.reload();
+
+                assertThat(bookAvailabilityManager.getAvailableCopies(bookId)).isEqualTo(2);
+
+                Loan loan = loanService.create(new CreateLoanRequest(user.getUserId(), bookId));
+
+                assertThat(bookAvailabilityManager.getAvailableCopies(bookId)).isEqualTo(1);
+                assertThat(bookAvailabilityManager.getAvailableCopies(List.of(bookId)))
+                        .containsEntry(bookId, 1L);
+
+                loanService.markAsReturned(loan.getLoanId());
+
+                assertThat(bookAvailabilityManager.getAvailableCopies(bookId)).isEqualTo(2);
+            } finally {
+                bookAvailabilityManager.setProvider(
+                        new DefaultBookAvailabilityProvider(bookRepository));
+            }
+        }
+
+        @Test
+        void ledger_DoesNotCountLoanTwiceWhenReloadedBeforeNotification() throws Exception {
+            LoanLedgerAvailabilityProvider ledger =
+                    new LoanLedgerAvailabilityProvider(bookRepository);
+            User user = createUser("Octavia Butler");
+            Book book = createBook("Kindred", 3);
+            Long bookId = book.getBookId();
+
+            ledger.reload();
+
+            assertThat(ledger.provideAvailableCopies(bookId)).isEqualTo(3);
+
+            loanService.create(new CreateLoanRequest(user.getUserId(), bookId));
+
+            ledger.reload();
+            ledger.onCopyLoaned(bookId);
+
+            assertThat(ledger.provideAvailableCopies(bookId)).isEqualTo(2);
+            assertThat(ledger.provideAvailableCopies(List.of(bookId))).containsEntry(bookId, 2L);
+        }
+    }
+
     @Nested
     class ValidationTests {
 
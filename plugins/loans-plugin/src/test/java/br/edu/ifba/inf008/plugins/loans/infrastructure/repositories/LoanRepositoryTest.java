@@ -2,12 +2,26 @@ package br.edu.ifba.inf008.plugins.loans.infrastructure.repositories;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import br.edu.ifba.inf008.core.domain.models.PageRequest;
+import br.edu.ifba.inf008.core.domain.models.PageableResponse;
+import br.edu.ifba.inf008.core.domain.models.Sort;
+import br.edu.ifba.inf008.core.infrastructure.managers.MigrationManager;
+import br.edu.ifba.inf008.core.infrastructure.migrations.Migration;
 import br.edu.ifba.inf008.plugins.books.domain.entities.Book;
+import br.edu.ifba.inf008.plugins.loans.domain.entities.ArchivedLoan;
 import br.edu.ifba.inf008.plugins.loans.domain.entities.Loan;
+import br.edu.ifba.inf008.plugins.loans.infrastructure.models.projection.LoanRow;
 import br.edu.ifba.inf008.plugins.users.domain.entities.User;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import java.sql.ResultSet;
+import java.sql.Statement;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 import org.hibernate.cfg.Configuration;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -25,7 +39,9 @@ class LoanRepositoryTest {
     void setup() {
         sessionFactory = new Configuration()
                 .configure("hibernate-test.cfg.xml")
+                .setProperty("hibernate.generate_statistics", "true")
                 .addAnnotatedClass(Loan.class)
+                .addAnnotatedClass(ArchivedLoan.class)
                 .addAnnotatedClass(User.class)
                 .addAnnotatedClass(Book.class)
                 .buildSessionFactory();
@@ -35,6 +51,11 @@ class LoanRepositoryTest {
             public Session getSession() {
                 return sessionFactory.openSession();
             }
+
+            @Override
+            public StatelessSession getStatelessSession() {
+                return sessionFactory.openStatelessSession();
+            }
         };
     }
 
@@ -42,6 +63,7 @@ class LoanRepositoryTest {
     void cleanDatabase() {
         try (Session session = loanRepository.getSession()) {
             session.beginTransaction();
+            session.createQuery("DELETE FROM ArchivedLoan").executeUpdate();
             session.createQuery("DELETE FROM Loan").executeUpdate();
             session.createQuery("DELETE FROM Book").executeUpdate();
             session.createQuery("DELETE FROM User").executeUpdate();
@@ -153,4 +175,335 @@ class LoanRepositoryTest {
             assertThat(exists).isFalse();
         }
     }
+
+    @Test
+    void stream_ShouldFetchUsersAndBooksInTheSameQuery() {
+        try (Session session = loanRepository.getSession()) {
+            session.beginTransaction();
+
+            for (int i = 0; i < 3; i++) {
+                Book book = new Book();
+                book.setTitle("Book " + i);
+                book.setAuthor("Author");
+                book.setIsbn("555000000" + i);
+                book.setPublishedYear(2020);
+                book.setCopiesAvailable(1);
+                session.persist(book);
+
+                User user = new User();
+                user.setName("User " + i);
+                user.setEmail("user" + i + "@library.org");
+                session.persist(user);
+
+                session.persist(new Loan(user, book, LocalDate.of(2024, 1, 1), null));
+            }
+
+            session.getTransaction().commit();
+        }
+
+        sessionFactory.getStatistics().clear();
+
+        List<String> loans;
+
+        try (Stream<Loan> stream = loanRepository.stream()) {
+            loans = stream.map(loan -> loan.getUser().getName() + " - " + loan.getBook().getTitle())
+                    .toList();
+        }
+
+        assertThat(loans).containsExactlyInAnyOrder("User 0 - Book 0", "User 1 - Book 1",
+                "User 2 - Book 2");
+        assertThat(sessionFactory.getStatistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findAllOverdue_ShouldPageLoansPastTheirDueDateOldestFirst() {
+        LocalDate today = LocalDate.of(2025, 8, 1);
+        User user = new User();
+        User otherUser = new User();
+
+        try (Session session = loanRepository.getSession()) {
+            session.beginTransaction();
+
+            Book book = new Book();
+            book.setTitle("Overdue Book");
+            book.setAuthor("Author");
+            book.setIsbn("5555555555");
+            book.setPublishedYear(2017);
+            book.setCopiesAvailable(5);
+            session.persist(book);
+
+            user.setName("Late");
+            user.setEmail("late@library.org");
+            session.persist(user);
+
+            otherUser.setName("Later");
+            otherUser.setEmail("later@library.org");
+            session.persist(otherUser);
+
+            LocalDate dueToday = today.minusDays(Loan.MAX_LOAN_DAYS);
+
+            session.persist(new Loan(user, book, dueToday.minusDays(10), null));
+            session.persist(new Loan(user, book, dueToday.minusDays(1), null));
+            session.persist(new Loan(otherUser, book, dueToday.minusDays(3), null));
+            session.persist(new Loan(user, book, dueToday, null));
+            session.persist(new Loan(user, book, dueToday.minusDays(20), dueToday));
+
+            session.getTransaction().commit();
+        }
+
+        var page = loanRepository.findAllOverdue(PageRequest.of(0, 10), today);
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(Loan::getLoanDate).containsExactly(
+                today.minusDays(Loan.MAX_LOAN_DAYS + 10),
+                today.minusDays(Loan.MAX_LOAN_DAYS + 3),
+                today.minusDays(Loan.MAX_LOAN_DAYS + 1));
+        assertThat(page.getContent()).allMatch(loan -> loan.isOverdueOn(today));
+
+        Long2LongMap overdueByUser = loanRepository.countOverdueGroupedByUserId(today);
+
+        assertThat(overdueByUser.get(user.getUserId().longValue())).isEqualTo(2L);
+        assertThat(overdueByUser.get(otherUser.getUserId().longValue())).isEqualTo(1L);
+    }
+
+    @Test
+    void findAllWithUserAndBook_ShouldFetchThePageInASingleQuery() {
+        try (Session session = loanRepository.getSession()) {
+            session.beginTransaction();
+
+            for (int i = 0; i < 3; i++) {
+                Book book = new Book();
+                book.setTitle("Book " + i);
+                book.setAuthor("Author");
+                book.setIsbn("666666666" + i);
+                book.setPublishedYear(2018);
+                book.setCopiesAvailable(1);
+                session.persist(book);
+
+                User user = new User();
+                user.setName("Reader " + i);
+                user.setEmail("reader" + i + "@library.org");
+                session.persist(user);
+
+                session.persist(new Loan(user, book, LocalDate.now(), null));
+            }
+
+            session.getTransaction().commit();
+        }
+
+        sessionFactory.getStatistics().clear();
+
+        var page = loanRepository.findAllWithUserAndBook(PageRequest.of(0, 10));
+
+        assertThat(sessionFactory.getStatistics().getPrepareStatementCount()).isEqualTo(1);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(loan -> loan.getUser().getName())
+                .containsExactly("Reader 0", "Reader 1", "Reader 2");
+        assertThat(page.getContent()).extracting(loan -> loan.getBook().getTitle())
+                .containsExactly("Book 0", "Book 1", "Book 2");
+    }
+
+    @Test
+    void findAllRows_ShouldProjectTheDisplayedColumnsWithoutLoadingEntities() {
+        try (Session session = loanRepository.getSession()) {
+            session.beginTransaction();
+
+            String[] names = {"Carol", "Alice", "Bob"};
+
+            for (int i = 0; i < names.length; i++) {
+                Book book = new Book();
+                book.setTitle("Title " + names[i]);
+                book.setAuthor("Author");
+                book.setIsbn("777777777" + i);
+                book.setPublishedYear(2019);
+                book.setCopiesAvailable(1);
+                session.persist(book);
+
+                User user = new User();
+                user.setName(names[i]);
+                user.setEmail(names[i].toLowerCase() + "@library.org");
+                session.persist(user);
+
+                session.persist(new Loan(user, book, LocalDate.now(),
+                        i == 0 ? LocalDate.now() : null));
+            }
+
+            session.getTransaction().commit();
+        }
+
+        sessionFactory.getStatistics().clear();
+
+        PageableResponse<LoanRow> page = loanRepository.findAllRows(
+                PageRequest.of(0, 10, List.of(Sort.asc("user.name"))));
+
+        assertThat(sessionFactory.getStatistics().getPrepareStatementCount()).isEqualTo(1);
+        assertThat(sessionFactory.getStatistics().getEntityLoadCount()).isZero();
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(LoanRow::userName)
+                .containsExactly("Alice", "Bob", "Carol");
+        assertThat(page.getContent()).extracting(LoanRow::bookTitle)
+                .containsExactly("Title Alice", "Title Bob", "Title Carol");
+        assertThat(page.getContent()).extracting(LoanRow::getStatus)
+                .containsExactly("Loaned", "Loaned", "Returned on time");
+    }
+
+    @Test
+    void archiveReturnedBefore_ShouldMoveOldReturnedLoansAndKeepThemInTheHistory() {
+        LocalDate today = LocalDate.now();
+        User user = new User();
+
+        try (Session session = loanRepository.getSession()) {
+            session.beginTransaction();
+
+            Book book = new Book();
+            book.setTitle("Archived Book");
+            book.setAuthor("Author");
+            book.setIsbn("8888888888");
+            book.setPublishedYear(2015);
+            book.setCopiesAvailable(3);
+            session.persist(book);
+
+            user.setName("Dora");
+            user.setEmail("dora@library.org");
+            session.persist(user);
+
+            session.persist(new Loan(user, book, LocalDate.of(2024, 1, 1),
+                    LocalDate.of(2024, 1, 5)));
+            session.persist(new Loan(user, book, today.minusDays(10), today.minusDays(2)));
+            session.persist(new Loan(user, book, today, null));
+
+            session.getTransaction().commit();
+        }
+
+        LocalDate cutoff = today.minusDays(30);
+
+        assertThat(loanRepository.archiveReturnedBefore(cutoff, 10)).isEqualTo(1);
+        assertThat(loanRepository.archiveReturnedBefore(cutoff, 10)).isZero();
+        assertThat(loanRepository.findAll(PageRequest.of(0, 10)).getTotalElements()).isEqualTo(2);
+
+        PageableResponse<LoanRow> history = loanRepository.findHistoryByUserId(user.getUserId(),
+                PageRequest.of(0, 10));
+
+        assertThat(history.getTotalElements()).isEqualTo(3);
+        assertThat(history.getContent()).extracting(LoanRow::loanDate)
+                .containsExactly(today, today.minusDays(10), LocalDate.of(2024, 1, 1));
+        assertThat(history.getContent()).extracting(LoanRow::bookTitle)
+                .containsOnly("Archived Book");
+    }
+
+    @Test
+    void archiveReturnedBefore_ShouldKeepUnrelatedCacheRegions() {
+        try (SessionFactory cachedSessionFactory = new Configuration()
+                .configure("hibernate-test.cfg.xml")
+                .setProperty("hibernate.connection.url",
+                        "jdbc:h2:mem:archivecachedb;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.cache.use_second_level_cache", "true")
+                .setProperty("hibernate.cache.region.factory_class", "jcache")
+                .setProperty("hibernate.javax.cache.provider",
+                        "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider")
+                .setProperty("hibernate.javax.cache.missing_cache_strategy", "create")
+                .setProperty("hibernate.generate_statistics", "true")
+                .addAnnotatedClass(Loan.class)
+                .addAnnotatedClass(ArchivedLoan.class)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Book.class)
+                .buildSessionFactory()) {
+            LoanRepository cachedRepository = new LoanRepository() {
+                @Override
+                public Session getSession() {
+                    return cachedSessionFactory.openSession();
+                }
+            };
+
+            Book book = new Book();
+
+            try (Session session = cachedRepository.getSession()) {
+                session.beginTransaction();
+
+                book.setTitle("Cached Book");
+                book.setAuthor("Author");
+                book.setIsbn("7777777777");
+                book.setPublishedYear(2016);
+                book.setCopiesAvailable(1);
+                session.persist(book);
+
+                User user = new User();
+                user.setName("Eve");
+                user.setEmail("eve@library.org");
+                session.persist(user);
+
+                session.persist(new Loan(user, book, LocalDate.of(2024, 1, 1),
+                        LocalDate.of(2024, 1, 5)));
+
+                session.getTransaction().commit();
+            }
+
+            try (Session session = cachedRepository.getSession()) {
+                session.get(Book.class, book.getBookId());
+            }
+
+            assertThat(cachedRepository.archiveReturnedBefore(LocalDate.now(), 10)).isEqualTo(1);
+
+            cachedSessionFactory.getStatistics().clear();
+
+            try (Session session = cachedRepository.getSession()) {
+                session.get(Book.class, book.getBookId());
+            }
+
+            assertThat(cachedSessionFactory.getStatistics()
+                    .getDomainDataRegionStatistics("books").getHitCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void migrate_ShouldCreateAndSeedIdGeneratorsPastExistingRows() {
+        try (SessionFactory migratedSessionFactory = new Configuration()
+                .configure("hibernate-test.cfg.xml")
+                .setProperty("hibernate.connection.url",
+                        "jdbc:h2:mem:idgeneratorsdb;DB_CLOSE_DELAY=-1")
+                .addAnnotatedClass(Loan.class)
+                .addAnnotatedClass(ArchivedLoan.class)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Book.class)
+                .buildSessionFactory();
+                Session session = migratedSessionFactory.openSession()) {
+            ClassLoader classLoader = getClass().getClassLoader();
+            List<Migration> migrations = new ArrayList<>();
+
+            migrations.addAll(Migration.load("books", classLoader));
+            migrations.addAll(Migration.load("users", classLoader));
+            migrations.addAll(Migration.load("loans", classLoader));
+
+            session.doWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP TABLE id_generators");
+                    statement.execute("INSERT INTO books (book_id, title, author, isbn,"
+                            + " published_year, copies_available, active_loans)"
+                            + " VALUES (120, 'Seeded', 'Author', '1212121212', 2020, 1, 0)");
+                    statement.execute("INSERT INTO users (user_id, name, email)"
+                            + " VALUES (45, 'Seeded', 'seeded@library.org')");
+                    statement.execute("INSERT INTO loans (loan_id, user_id, book_id, loan_date)"
+                            + " VALUES (300, 45, 120, CURRENT_DATE)");
+                    statement.execute("INSERT INTO loans_archive (loan_id, user_id, book_id,"
+                            + " loan_date, return_date, archived_on)"
+                            + " VALUES (700, 45, 120, CURRENT_DATE, CURRENT_DATE, CURRENT_DATE)");
+                }
+
+                MigrationManager.migrate(connection, migrations);
+
+                try (Statement statement = connection.createStatement();
+                        ResultSet nextIds = statement.executeQuery(
+                                "SELECT entity, next_id FROM id_generators ORDER BY entity")) {
+                    List<String> rows = new ArrayList<>();
+
+                    while (nextIds.next()) {
+                        rows.add(nextIds.getString(1) + "=" + nextIds.getLong(2));
+                    }
+
+                    assertThat(rows).containsExactly("books=121", "loans=701", "users=46");
+                }
+            });
+        }
+    }
+
 }
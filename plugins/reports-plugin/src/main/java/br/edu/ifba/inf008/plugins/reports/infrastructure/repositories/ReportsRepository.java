@@ -1,13 +1,20 @@
 package br.edu.ifba.inf008.plugins.reports.infrastructure.repositories;
 
+import br.edu.ifba.inf008.core.domain.models.KeysetPageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageableResponse;
+import br.edu.ifba.inf008.core.domain.models.Sort;
+import br.edu.ifba.inf008.core.infrastructure.repositories.Attribute;
 import br.edu.ifba.inf008.core.infrastructure.repositories.Repository;
+import br.edu.ifba.inf008.core.infrastructure.repositories.Specification;
 import br.edu.ifba.inf008.plugins.reports.domain.entities.Report;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class ReportsRepository implements Repository<Report, String> {
 
@@ -39,6 +46,16 @@ public class ReportsRepository implements Repository<Report, String> {
         return List.copyOf(delegate.values());
     }
 
+    @Override
+    public Stream<Report> stream() {
+        return findAll().stream();
+    }
+
+    @Override
+    public void forEach(Consumer<Report> action) {
+        findAll().forEach(action);
+    }
+
     @Override
     public Report save(Report entity) {
         delete(entity);
@@ -46,6 +63,11 @@ public class ReportsRepository implements Repository<Report, String> {
         return delegate.put(entity.getId(), entity);
     }
 
+    @Override
+    public List<Report> saveAll(Collection<Report> entities) {
+        return entities.stream().map(this::save).toList();
+    }
+
     @Override
     public void delete(Report entity) {
         if (entity != null) {
@@ -53,6 +75,11 @@ public class ReportsRepository implements Repository<Report, String> {
         }
     }
 
+    @Override
+    public void deleteAll(Collection<Report> entities) {
+        entities.forEach(this::delete);
+    }
+
     /**
      * Methods that would never be used in this repository.
      */
@@ -78,4 +105,70 @@ public class ReportsRepository implements Repository<Report, String> {
         return null;
     }
 
+    @Override
+    public Stream<Report> stream(String fieldName, Object value) {
+        return Stream.empty();
+    }
+
+    @Override
+    public PageableResponse<Report> findAll(KeysetPageRequest pageRequest) {
+        return null;
+    }
+
+    @Override
+    public PageableResponse<Report> findAll(KeysetPageRequest pageRequest, String fieldName,
+            Object value) {
+        return null;
+    }
+
+    @Override
+    public Optional<Report> findOne(Specification<Report> specification) {
+        return Optional.empty();
+    }
+
+    @Override
+    public List<Report> findAll(Specification<Report> specification, Sort... sort) {
+        return List.of();
+    }
+
+    @Override
+    public <V> List<V> findValues(Specification<Report> specification,
+            Attribute<Report, V> projection, Sort... sort) {
+        return List.of();
+    }
+
+    @Override
+    public long count(Specification<Report> specification) {
+        return 0;
+    }
+
+    @Override
+    public PageableResponse<Report> findAll(PageRequest pageRequest,
+            Specification<Report> specification) {
+        return null;
+    }
+
+    @Override
+    public PageableResponse<Report> findAll(KeysetPageRequest pageRequest,
+            Specification<Report> specification) {
+        return null;
+    }
+
+    @Override
+    public <R> PageableResponse<R> findProjections(PageRequest pageRequest,
+            Specification<Report> specification, Class<R> projection) {
+        return null;
+    }
+
+    @Override
+    public <R> PageableResponse<R> findProjections(KeysetPageRequest pageRequest,
+            Specification<Report> specification, Class<R> projection) {
+        return null;
+    }
+
+    @Override
+    public Stream<Report> stream(Specification<Report> specification) {
+        return Stream.empty();
+    }
+
 }
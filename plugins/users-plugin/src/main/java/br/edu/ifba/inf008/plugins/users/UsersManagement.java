@@ -5,6 +5,7 @@ import br.edu.ifba.inf008.core.IPlugin;
 import br.edu.ifba.inf008.core.IUIController;
 import br.edu.ifba.inf008.core.domain.annotations.Plugin;
 import br.edu.ifba.inf008.core.infrastructure.managers.HibernateManager;
+import br.edu.ifba.inf008.core.infrastructure.managers.MigrationManager;
 import br.edu.ifba.inf008.core.ui.models.TabInformation;
 import br.edu.ifba.inf008.plugins.users.application.services.UserService;
 import br.edu.ifba.inf008.plugins.users.domain.entities.User;
@@ -20,6 +21,7 @@ public class UsersManagement implements IPlugin {
     @Override
     public boolean init() {
         HibernateManager.registerEntityClass(User.class);
+        MigrationManager.registerMigrations("users", UsersManagement.class.getClassLoader());
 
         userService = UserService.getInstance();
 
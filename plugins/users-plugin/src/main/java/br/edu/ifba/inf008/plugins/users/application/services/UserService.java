@@ -1,16 +1,21 @@
 package br.edu.ifba.inf008.plugins.users.application.services;
 
+import br.edu.ifba.inf008.core.domain.models.KeysetPageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageableResponse;
 import br.edu.ifba.inf008.core.infrastructure.components.BeanValidatorComponent;
+import br.edu.ifba.inf008.core.infrastructure.components.ChangeNotifierComponent;
+import br.edu.ifba.inf008.core.infrastructure.managers.UnitOfWork;
 import br.edu.ifba.inf008.plugins.users.domain.entities.User;
 import br.edu.ifba.inf008.plugins.users.domain.exceptions.EmailAlreadyExistingException;
 import br.edu.ifba.inf008.plugins.users.domain.exceptions.UserNotFoundException;
+import br.edu.ifba.inf008.plugins.users.infrastructure.models.projection.UserRow;
 import br.edu.ifba.inf008.plugins.users.infrastructure.models.request.CreateUserRequest;
 import br.edu.ifba.inf008.plugins.users.infrastructure.models.request.EditUserRequest;
 import br.edu.ifba.inf008.plugins.users.infrastructure.repositories.UserRepository;
 import jakarta.validation.ConstraintViolationException;
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 /**
  * Service class for managing users. Provides methods to create, edit, delete, and find users.
@@ -20,6 +25,7 @@ public class UserService {
     private static final UserService instance = new UserService(UserRepository.getInstance());
 
     private final UserRepository userRepository;
+    private final ChangeNotifierComponent changeNotifier = new ChangeNotifierComponent();
 
     public UserService(UserRepository userRepository) {
         this.userRepository = userRepository;
@@ -34,6 +40,16 @@ public class UserService {
         return instance;
     }
 
+    /**
+     * Adds a listener notified after every committed write to users, such as a table caching
+     * their pages.
+     *
+     * @param listener the listener to add
+     */
+    public void addChangeListener(Runnable listener) {
+        changeNotifier.addListener(listener);
+    }
+
     /**
      * Creates a new user.
      *
@@ -49,14 +65,21 @@ public class UserService {
         String name = request.name();
         String email = request.email();
 
-        ensureEmailIsUnique(email, null);
+        try (UnitOfWork unitOfWork = userRepository.beginUnitOfWork()) {
+            ensureEmailIsUnique(email, null);
+
+            var user = new User();
+
+            user.setName(name);
+            user.setEmail(email);
 
-        var user = new User();
+            User savedUser = userRepository.save(user);
 
-        user.setName(name);
-        user.setEmail(email);
+            unitOfWork.afterCommit(changeNotifier::notifyListeners);
+            unitOfWork.commit();
 
-        return userRepository.save(user);
+            return savedUser;
+        }
     }
 
     /**
@@ -67,18 +90,23 @@ public class UserService {
      * @throws UserNotFoundException if the user does not exist or is already deactivated
      */
     public void delete(Long userId) throws UserNotFoundException {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
+        try (UnitOfWork unitOfWork = userRepository.beginUnitOfWork()) {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new UserNotFoundException(userId));
 
-        if (user.getDeactivatedAt() != null) {
-            throw new UserNotFoundException(userId);
-        }
+            if (user.getDeactivatedAt() != null) {
+                throw new UserNotFoundException(userId);
+            }
 
-        user.setEmail(user.getEmail() + "#"
-                + user.getUserId()); // Save email with user ID to avoid conflicts
-        user.setDeactivatedAt(LocalDateTime.now());
+            user.setEmail(user.getEmail() + "#"
+                    + user.getUserId()); // Save email with user ID to avoid conflicts
+            user.setDeactivatedAt(LocalDateTime.now());
 
-        userRepository.save(user);
+            userRepository.save(user);
+
+            unitOfWork.afterCommit(changeNotifier::notifyListeners);
+            unitOfWork.commit();
+        }
     }
 
     /**
@@ -97,15 +125,20 @@ public class UserService {
         String name = request.name();
         String email = request.email();
 
-        User existingUser = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
+        try (UnitOfWork unitOfWork = userRepository.beginUnitOfWork()) {
+            User existingUser = userRepository.findById(userId)
+                    .orElseThrow(() -> new UserNotFoundException(userId));
 
-        ensureEmailIsUnique(email, existingUser.getUserId());
+            ensureEmailIsUnique(email, existingUser.getUserId());
 
-        existingUser.setName(name);
-        existingUser.setEmail(email);
+            existingUser.setName(name);
+            existingUser.setEmail(email);
 
-        userRepository.save(existingUser);
+            userRepository.save(existingUser);
+
+            unitOfWork.afterCommit(changeNotifier::notifyListeners);
+            unitOfWork.commit();
+        }
     }
 
     /**
@@ -119,6 +152,37 @@ public class UserService {
         return userRepository.findAllNonDeactivated(PageRequest.of(page, size));
     }
 
+    /**
+     * Finds all users that are not deactivated (logical/soft delete) using keyset pagination.
+     *
+     * @param pageRequest the keyset pagination request containing the cursor and size
+     * @return a pageable response containing users and the adjacent page cursors
+     */
+    public PageableResponse<User> findAll(KeysetPageRequest pageRequest) {
+        return userRepository.findAllNonDeactivated(pageRequest);
+    }
+
+    /**
+     * Finds the table rows of the users that are not deactivated (logical/soft delete) using keyset
+     * pagination, without hydrating the user entities.
+     *
+     * @param pageRequest the keyset pagination request containing the cursor and size
+     * @return a pageable response containing user rows and the adjacent page cursors
+     */
+    public PageableResponse<UserRow> findAllRows(KeysetPageRequest pageRequest) {
+        return userRepository.findNonDeactivatedRows(pageRequest);
+    }
+
+    /**
+     * Finds a user by their ID.
+     *
+     * @param userId the ID of the user
+     * @return an Optional containing the user if found, or empty if not found
+     */
+    public Optional<User> findById(Long userId) {
+        return userRepository.findById(userId);
+    }
+
     /**
      * Ensures that the given email is unique across all users, excluding a specific user ID.
      *
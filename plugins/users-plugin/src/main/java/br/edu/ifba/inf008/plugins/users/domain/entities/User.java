@@ -4,16 +4,22 @@ import br.edu.ifba.inf008.core.domain.interfaces.Nameable;
 import br.edu.ifba.inf008.core.ui.components.table.annotations.TableColumnSize;
 import br.edu.ifba.inf008.core.ui.components.table.annotations.TableIgnore;
 import br.edu.ifba.inf008.core.ui.components.table.annotations.TableLabel;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.time.LocalDateTime;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User implements Nameable {
 
     /**
@@ -21,7 +27,10 @@ public class User implements Nameable {
      */
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id_generator")
+    @TableGenerator(name = "users_id_generator", table = "id_generators",
+            pkColumnName = "entity", valueColumnName = "next_id", pkColumnValue = "users",
+            allocationSize = 50)
     @Column(name = "user_id", nullable = false, unique = true)
     @TableLabel("#")
     @TableColumnSize(50)
@@ -0,0 +1,23 @@
+package br.edu.ifba.inf008.plugins.users.infrastructure.models.projection;
+
+import br.edu.ifba.inf008.core.ui.components.table.annotations.TableColumnSize;
+import br.edu.ifba.inf008.core.ui.components.table.annotations.TableLabel;
+
+/**
+ * Projection of a user holding only the columns displayed in the users table, so listing users
+ * does not hydrate whole entities.
+ */
+public record UserRow(
+        @TableLabel("#")
+        @TableColumnSize(50)
+        Long userId,
+
+        @TableColumnSize(250)
+        String name,
+
+        @TableLabel("E-mail")
+        @TableColumnSize(250)
+        String email
+) {
+
+}
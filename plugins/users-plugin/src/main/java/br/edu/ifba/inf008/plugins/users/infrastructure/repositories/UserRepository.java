@@ -1,9 +1,14 @@
 package br.edu.ifba.inf008.plugins.users.infrastructure.repositories;
 
+import br.edu.ifba.inf008.core.domain.models.KeysetPageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageableResponse;
+import br.edu.ifba.inf008.core.infrastructure.repositories.Attribute;
+import br.edu.ifba.inf008.core.infrastructure.repositories.Specification;
 import br.edu.ifba.inf008.core.infrastructure.repositories.impl.HibernateRepository;
 import br.edu.ifba.inf008.plugins.users.domain.entities.User;
+import br.edu.ifba.inf008.plugins.users.infrastructure.models.projection.UserRow;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,8 +22,21 @@ public class UserRepository extends HibernateRepository<User, Long> {
      */
     private static final UserRepository INSTANCE = new UserRepository();
 
+    public static final Attribute<User, LocalDateTime> DEACTIVATED_AT =
+            Attribute.of(User.class, "deactivatedAt", LocalDateTime.class);
+    public static final Attribute<User, String> EMAIL =
+            Attribute.of(User.class, "email", String.class);
+
+    /**
+     * Matches the users that are not deactivated.
+     */
+    public static final Specification<User> NON_DEACTIVATED =
+            Specification.isNull(DEACTIVATED_AT);
+
     protected UserRepository() {
         super(User.class);
+
+        setQueryCacheRegion("user-queries");
     }
 
     public static UserRepository getInstance() {
@@ -41,7 +59,7 @@ public class UserRepository extends HibernateRepository<User, Long> {
      * @return a response containing users that are not deactivated
      */
     public List<User> findAllNonDeactivated() {
-        return findAll("deactivatedAt", null);
+        return findAll(NON_DEACTIVATED);
     }
 
     /**
@@ -51,7 +69,29 @@ public class UserRepository extends HibernateRepository<User, Long> {
      * @return a pageable response containing users that are not deactivated
      */
     public PageableResponse<User> findAllNonDeactivated(PageRequest pageRequest) {
-        return findAll(pageRequest, "deactivatedAt", null);
+        return findAll(pageRequest, NON_DEACTIVATED);
+    }
+
+    /**
+     * Finds all users that are not deactivated using keyset pagination.
+     *
+     * @param pageRequest the keyset pagination request containing the cursor and size
+     * @return a pageable response containing users that are not deactivated
+     */
+    public PageableResponse<User> findAllNonDeactivated(KeysetPageRequest pageRequest) {
+        return findAll(pageRequest, NON_DEACTIVATED);
+    }
+
+    /**
+     * Finds the table rows of the users that are not deactivated using keyset pagination, reading
+     * only the displayed columns. The rows are displayed repeatedly, so they are cached in the
+     * query cache.
+     *
+     * @param pageRequest the keyset pagination request containing the cursor and size
+     * @return a pageable response containing the rows of users that are not deactivated
+     */
+    public PageableResponse<UserRow> findNonDeactivatedRows(KeysetPageRequest pageRequest) {
+        return findProjections(pageRequest.withCacheable(true), NON_DEACTIVATED, UserRow.class);
     }
 
     /**
@@ -61,7 +101,7 @@ public class UserRepository extends HibernateRepository<User, Long> {
      * @return an Optional containing the User if found, or empty if not found
      */
     public Optional<User> findByEmail(String email) {
-        return findOne("email", email);
+        return findOne(Specification.equal(EMAIL, email));
     }
 
 }
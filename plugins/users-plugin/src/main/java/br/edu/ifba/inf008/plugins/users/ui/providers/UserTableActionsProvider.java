@@ -2,12 +2,15 @@ package br.edu.ifba.inf008.plugins.users.ui.providers;
 
 import br.edu.ifba.inf008.core.ui.components.table.TableComponent;
 import br.edu.ifba.inf008.core.ui.components.table.interfaces.TableAction;
+import br.edu.ifba.inf008.plugins.users.application.services.UserService;
 import br.edu.ifba.inf008.plugins.users.domain.entities.User;
+import br.edu.ifba.inf008.plugins.users.infrastructure.models.projection.UserRow;
 import br.edu.ifba.inf008.plugins.users.ui.PluginIcons;
 import br.edu.ifba.inf008.plugins.users.ui.views.DeleteUserDialog;
 import br.edu.ifba.inf008.plugins.users.ui.views.EditUserDialog;
 import br.edu.ifba.inf008.plugins.users.ui.views.ViewUserDialog;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
@@ -22,7 +25,7 @@ public class UserTableActionsProvider {
      * @param tableComponent the table component to which the actions will be added
      * @return a list of actions for the user table component
      */
-    public static List<TableAction<User>> getActions(TableComponent<User> tableComponent) {
+    public static List<TableAction<UserRow>> getActions(TableComponent<UserRow> tableComponent) {
         return List.of(new TableAction<>() {
             public String getLabel() {
                 return "View";
@@ -32,14 +35,16 @@ public class UserTableActionsProvider {
                 return PluginIcons.VIEW;
             }
 
-            public void onAction(User user) {
-                ViewUserDialog viewUserDialog = new ViewUserDialog(user);
+            public void onAction(UserRow row) {
+                withUser(row, user -> {
+                    ViewUserDialog viewUserDialog = new ViewUserDialog(user);
 
-                viewUserDialog.showAndWait();
+                    viewUserDialog.showAndWait();
+                });
             }
 
-            public Predicate<User> getCondition() {
-                return (user) -> user.getDeactivatedAt() == null;
+            public Predicate<UserRow> getCondition() {
+                return (_) -> true;
             }
         }, new TableAction<>() {
             public String getLabel() {
@@ -50,14 +55,15 @@ public class UserTableActionsProvider {
                 return PluginIcons.EDIT;
             }
 
-            public void onAction(User user) {
-                EditUserDialog editUserDialog = new EditUserDialog(user);
+            public void onAction(UserRow row) {
+                withUser(row, user -> {
+                    EditUserDialog editUserDialog = new EditUserDialog(user);
 
-                editUserDialog.setOnUserEdited(tableComponent::reload);
-                editUserDialog.showAndWait();
+                    editUserDialog.showAndWait();
+                });
             }
 
-            public Predicate<User> getCondition() {
+            public Predicate<UserRow> getCondition() {
                 return (_) -> true;
             }
         }, new TableAction<>() {
@@ -69,17 +75,30 @@ public class UserTableActionsProvider {
                 return PluginIcons.DELETE;
             }
 
-            public void onAction(User user) {
-                DeleteUserDialog deleteUserDialog = new DeleteUserDialog(user);
+            public void onAction(UserRow row) {
+                withUser(row, user -> {
+                    DeleteUserDialog deleteUserDialog = new DeleteUserDialog(user);
 
-                deleteUserDialog.setOnUserDeleted((_) -> tableComponent.reload());
-                deleteUserDialog.showAndWait();
+                    deleteUserDialog.showAndWait();
+                });
             }
 
-            public Predicate<User> getCondition() {
-                return (user) -> user.getDeactivatedAt() == null;
+            public Predicate<UserRow> getCondition() {
+                return (_) -> true;
             }
         });
     }
 
+    /**
+     * Loads the user of a table row and runs the given action with it. Rows only hold the displayed
+     * columns, so the entity is read when an action needs it; nothing happens if it no longer
+     * exists.
+     *
+     * @param row    the table row of the user
+     * @param action the action to run with the loaded user
+     */
+    private static void withUser(UserRow row, Consumer<User> action) {
+        UserService.getInstance().findById(row.userId()).ifPresent(action);
+    }
+
 }
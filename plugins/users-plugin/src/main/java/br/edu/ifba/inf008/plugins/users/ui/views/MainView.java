@@ -4,7 +4,7 @@ import br.edu.ifba.inf008.core.IUIController;
 import br.edu.ifba.inf008.core.ui.Icons;
 import br.edu.ifba.inf008.core.ui.components.table.TableComponent;
 import br.edu.ifba.inf008.plugins.users.application.services.UserService;
-import br.edu.ifba.inf008.plugins.users.domain.entities.User;
+import br.edu.ifba.inf008.plugins.users.infrastructure.models.projection.UserRow;
 import br.edu.ifba.inf008.plugins.users.ui.providers.UserTableActionsProvider;
 import java.util.function.Supplier;
 import javafx.geometry.Pos;
@@ -24,14 +24,16 @@ import javafx.scene.layout.VBox;
 public class MainView extends VBox {
 
     private final IUIController uiController;
-    private final TableComponent<User> tableComponent;
+    private final TableComponent<UserRow> tableComponent;
 
     public MainView(IUIController uiController, UserService userService) {
         super(8);
         this.uiController = uiController;
         this.getStyleClass().add("um-main-content");
 
-        this.tableComponent = new TableComponent<>(User.class, userService::findAll);
+        this.tableComponent = TableComponent.withKeysetPagination(UserRow.class,
+                userService::findAllRows);
+        userService.addChangeListener(tableComponent::invalidate);
         this.tableComponent.addActionColumn(UserTableActionsProvider.getActions(tableComponent));
         initialize();
     }
@@ -72,15 +74,14 @@ public class MainView extends VBox {
     }
 
     /**
-     * Configures the action for the "Create User" button. Opens a dialog to create a new user and
-     * reloads the table upon successful creation.
+     * Configures the action for the "Create User" button. Opens a dialog to create a new user; the
+     * table is reloaded by its change listener once the user is created.
      *
      * @param createButton The button to configure.
      */
     private void configureCreateButton(Button createButton) {
         createButton.setOnAction(e -> {
             CreateUserDialog dialog = new CreateUserDialog();
-            dialog.setOnUserCreated(_ -> tableComponent.reload());
             dialog.showAndWait();
         });
     }
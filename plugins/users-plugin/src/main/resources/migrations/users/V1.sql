@@ -0,0 +1,2 @@
+-- Index the soft delete column used by every user listing
+CREATE INDEX IF NOT EXISTS idx_users_deactivated_at ON users (deactivated_at);
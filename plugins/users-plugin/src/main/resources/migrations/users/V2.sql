@@ -0,0 +1,10 @@
+-- Create the id generators table if missing and seed the next user ID past the existing users
+CREATE TABLE IF NOT EXISTS id_generators
+(
+    entity  VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_id BIGINT       NOT NULL
+);
+INSERT INTO id_generators (entity, next_id)
+SELECT 'users', seed.next_id
+FROM (SELECT COALESCE(MAX(user_id), 0) + 1 AS next_id FROM users) seed
+WHERE NOT EXISTS (SELECT 1 FROM id_generators WHERE entity = 'users');
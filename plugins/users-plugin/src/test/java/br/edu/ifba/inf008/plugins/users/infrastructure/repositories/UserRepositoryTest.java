@@ -5,9 +5,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import br.edu.ifba.inf008.core.domain.models.PageRequest;
 import br.edu.ifba.inf008.core.domain.models.PageableResponse;
 import br.edu.ifba.inf008.plugins.users.domain.entities.User;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 import org.hibernate.cfg.Configuration;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -33,6 +37,11 @@ class UserRepositoryTest {
             public Session getSession() {
                 return sessionFactory.openSession();
             }
+
+            @Override
+            public StatelessSession getStatelessSession() {
+                return sessionFactory.openStatelessSession();
+            }
         };
     }
 
@@ -98,4 +107,69 @@ class UserRepositoryTest {
                 .containsExactly("active@example.com");
     }
 
+    @Test
+    void insertAllAndDeleteAll_ShouldWriteEveryUser() {
+        List<User> users = new ArrayList<>();
+
+        for (int i = 0; i < 120; i++) {
+            User user = new User();
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@example.com");
+            users.add(user);
+        }
+
+        List<User> inserted = userRepository.insertAll(users);
+
+        assertThat(inserted).hasSize(120)
+                .allSatisfy(user -> assertThat(user.getUserId()).isNotNull());
+        assertThat(userRepository.findAll()).hasSize(120);
+
+        userRepository.deleteAll(inserted.subList(0, 100));
+
+        assertThat(userRepository.findAll()).hasSize(20);
+    }
+
+    @Test
+    void saveAll_ShouldUpdateExistingUsers() {
+        User user = new User();
+        user.setName("Carol");
+        user.setEmail("carol@example.com");
+
+        User saved = userRepository.save(user);
+        saved.setName("Carol Updated");
+
+        User another = new User();
+        another.setName("Dave");
+        another.setEmail("dave@example.com");
+
+        userRepository.saveAll(List.of(saved, another));
+
+        assertThat(userRepository.findAll()).extracting(User::getName)
+                .containsExactlyInAnyOrder("Carol Updated", "Dave");
+    }
+
+    @Test
+    void streamAndForEach_ShouldVisitEveryUser() {
+        List<User> users = new ArrayList<>();
+
+        for (int i = 0; i < 30; i++) {
+            User user = new User();
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setDeactivatedAt(i % 3 == 0 ? LocalDateTime.now() : null);
+            users.add(user);
+        }
+
+        userRepository.insertAll(users);
+
+        List<String> visited = new ArrayList<>();
+        userRepository.forEach(user -> visited.add(user.getEmail()));
+
+        assertThat(visited).hasSize(30);
+
+        try (var active = userRepository.stream("deactivatedAt", null)) {
+            assertThat(active.count()).isEqualTo(20);
+        }
+    }
+
 }